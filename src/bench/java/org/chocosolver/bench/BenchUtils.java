@@ -0,0 +1,203 @@
+package org.chocosolver.bench;
+
+import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.samples.hcp.HCP_Utils;
+import org.chocosolver.samples.tsp.TSP_Utils;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.util.objects.graphs.DirectedGraph;
+import org.chocosolver.util.objects.graphs.UndirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.chocosolver.utils.GraphGenerator;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Graph generation, instance loading and propagation utilities shared by benchmarks.
+ * Bundled instances are read from the test sources, benchmarks must be run from the project root
+ * (or with -Dbench.samples=path/to/samples).
+ *
+ * @since 18/10/2026.
+ */
+public class BenchUtils {
+
+	public static final String SAMPLES = System.getProperty("bench.samples", "src/test/java/org/chocosolver/samples");
+
+	public static final long SEED = 0;
+
+	//***********************************************************************************
+	// GRAPH GENERATION
+	//***********************************************************************************
+
+	/**
+	 * @return a random undirected graph containing a hamiltonian cycle (hence connected)
+	 */
+	public static UndirectedGraph randomUndirectedUB(GraphModel model, int n, double density, SetType type) {
+		boolean[][] m = GraphGenerator.arcBasedGenerator(n, density, GraphGenerator.InitialProperty.HamiltonianCircuit, new Random(SEED));
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < i; j++) {
+				m[i][j] = m[j][i] = m[i][j] || m[j][i];
+			}
+		}
+		return GraphGenerator.makeUndirectedGraph(model, n, type, IntStream.range(0, n).toArray(), m);
+	}
+
+	/**
+	 * @return a random directed graph containing a hamiltonian circuit
+	 */
+	public static DirectedGraph randomDirectedUB(GraphModel model, int n, double density, SetType type) {
+		boolean[][] m = GraphGenerator.arcBasedGenerator(n, density, GraphGenerator.InitialProperty.HamiltonianCircuit, new Random(SEED));
+		return GraphGenerator.makeDirectedGraph(model, n, type, IntStream.range(0, n).toArray(), m);
+	}
+
+	/**
+	 * Draws nbBatches random batches of potential arcs of g (without repetition within a batch,
+	 * each edge of an undirected graph is considered once)
+	 *
+	 * @return an array of batches, each batch being {from_1, to_1, from_2, to_2, ...}
+	 */
+	public static int[][] randomArcBatches(GraphVar g, int nbBatches, int batchSize) {
+		int n = g.getNbMaxNodes();
+		int m = 0;
+		for (int i = 0; i < n; i++) {
+			m += g.getPotSuccOrNeighOf(i).size();
+		}
+		int[] from = new int[m];
+		int[] to = new int[m];
+		m = 0;
+		for (int i = 0; i < n; i++) {
+			for (int j : g.getPotSuccOrNeighOf(i)) {
+				if (g.isDirected() || i <= j) {
+					from[m] = i;
+					to[m++] = j;
+				}
+			}
+		}
+		batchSize = Math.min(batchSize, m);
+		Random rd = new Random(SEED);
+		int[][] batches = new int[nbBatches][2 * batchSize];
+		for (int[] batch : batches) {
+			for (int k = 0; k < batchSize; k++) {
+				int r = k + rd.nextInt(m - k);
+				swap(from, k, r);
+				swap(to, k, r);
+				batch[2 * k] = from[k];
+				batch[2 * k + 1] = to[k];
+			}
+		}
+		return batches;
+	}
+
+	private static void swap(int[] t, int a, int b) {
+		int tmp = t[a];
+		t[a] = t[b];
+		t[b] = tmp;
+	}
+
+	//***********************************************************************************
+	// PROPAGATION
+	//***********************************************************************************
+
+	/**
+	 * Propagates until a fix point is reached or a failure occurs
+	 *
+	 * @return true iff no failure occurred
+	 */
+	public static boolean propagate(Solver solver) {
+		try {
+			solver.propagate();
+			return true;
+		} catch (ContradictionException e) {
+			solver.getEngine().flush();
+			return false;
+		}
+	}
+
+	//***********************************************************************************
+	// INSTANCES
+	//***********************************************************************************
+
+	/**
+	 * @param name TSPLIB instance name in samples/tsp (e.g. bier127)
+	 * @return the cost matrix of the instance
+	 */
+	public static int[][] loadTSP(String name) {
+		return TSP_Utils.parseInstance(SAMPLES + "/tsp/" + name + ".tsp", Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param name TSPLIB hcp instance name in samples/hcp (e.g. alb1000)
+	 * @return the adjacency matrix of the instance
+	 */
+	public static boolean[][] loadHCP(String name) {
+		return HCP_Utils.parseTSPLIBInstance(SAMPLES + "/hcp/" + name + ".hcp");
+	}
+
+	/**
+	 * Parses a degree-constrained minimum spanning tree instance in samples/dcmstp (e.g. r123_300_1),
+	 * see DCMST#parse_T_DE_DR(File)
+	 *
+	 * @return {dMax, dist} where dMax is given as a single row and dist[i][j] = -1 if there is no edge (i,j)
+	 */
+	public static int[][][] loadDCMST(String name) {
+		try (BufferedReader buf = new BufferedReader(new FileReader(new File(SAMPLES + "/dcmstp/" + name)))) {
+			int n = Integer.parseInt(buf.readLine().trim());
+			int[] dMax = new int[n];
+			int[][] dist = new int[n][n];
+			for (int i = 0; i < n; i++) {
+				String[] numbers = buf.readLine().split(" ");
+				dMax[i] = Integer.parseInt(numbers[1]);
+				for (int j = 0; j < n; j++) {
+					dist[i][j] = -1;
+				}
+			}
+			for (String line = buf.readLine(); line != null; line = buf.readLine()) {
+				String[] numbers = line.split(" ");
+				int from = Integer.parseInt(numbers[0]) - 1;
+				int to = Integer.parseInt(numbers[1]) - 1;
+				dist[from][to] = dist[to][from] = Integer.parseInt(numbers[2]);
+			}
+			return new int[][][]{{dMax}, dist};
+		} catch (IOException e) {
+			throw new IllegalStateException("cannot read instance " + name, e);
+		}
+	}
+
+	/**
+	 * Edges of a degree-constrained minimum spanning tree instance which may belong to a solution
+	 * (edges between two leaves are excluded), restricted to the nearest cheapest edges of each node
+	 *
+	 * @param dMax    maximum degree of each node
+	 * @param costs   cost matrix, with -1 if there is no edge
+	 * @param nearest number of cheapest edges kept per node (0 to keep all edges)
+	 * @return the adjacency matrix of the selected edges
+	 */
+	public static boolean[][] nearestEdges(int[] dMax, int[][] costs, int nearest) {
+		int n = costs.length;
+		boolean[][] edges = new boolean[n][n];
+		int[] sorted = new int[n];
+		for (int i = 0; i < n; i++) {
+			int size = 0;
+			for (int j = 0; j < n; j++) {
+				if (j != i && costs[i][j] != -1 && !(dMax[i] == 1 && dMax[j] == 1)) {
+					sorted[size++] = costs[i][j];
+				}
+			}
+			Arrays.sort(sorted, 0, size);
+			int threshold = nearest == 0 || size <= nearest ? Integer.MAX_VALUE : sorted[nearest - 1];
+			for (int j = 0; j < n; j++) {
+				if (j != i && costs[i][j] != -1 && !(dMax[i] == 1 && dMax[j] == 1) && costs[i][j] <= threshold) {
+					edges[i][j] = edges[j][i] = true;
+				}
+			}
+		}
+		return edges;
+	}
+}
@@ -0,0 +1,53 @@
+package org.chocosolver.bench;
+
+import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
+import org.chocosolver.util.objects.graphs.UndirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Fix point time of PropConnected (connected) and PropNbCC (nbConnectedComponents) after arc removals,
+ * on random graphs. Half of the nodes are mandatory.
+ *
+ * @since 18/10/2026.
+ */
+public class ConnectivityBenchmark extends FixpointBenchmark {
+
+	@Param({"connected", "nbCC"})
+	public String constraint;
+
+	@Param({"100", "1000"})
+	public int n;
+
+	@Param({"0.01", "0.05", "0.2"})
+	public double density;
+
+	@Override
+	protected GraphVar buildModel(GraphModel model) {
+		UndirectedGraph GLB = new UndirectedGraph(model, n, SetType.BITSET, false);
+		for (int i = 0; i < n; i += 2) {
+			GLB.addNode(i);
+		}
+		UndirectedGraph GUB = BenchUtils.randomUndirectedUB(model, n, density, SetType.BIPARTITESET);
+		UndirectedGraphVar g = model.graphVar("G", GLB, GUB);
+		switch (constraint) {
+			case "connected":
+				model.connected(g).post();
+				break;
+			case "nbCC":
+				model.nbConnectedComponents(g, model.intVar("nbCC", 1, 3)).post();
+				break;
+			default:
+				throw new UnsupportedOperationException("unknown constraint " + constraint);
+		}
+		return g;
+	}
+
+	@Benchmark
+	public boolean removeArcs() {
+		return modifyAndPropagate(false);
+	}
+}
@@ -0,0 +1,51 @@
+package org.chocosolver.bench;
+
+import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
+import org.chocosolver.util.objects.graphs.UndirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Fix point time of the cycle constraint (PropCycle, PropConnected and degree propagators) after arc removals,
+ * on random graphs and on the alb1000 hamiltonian cycle instance.
+ * A graph is either "random-n-density" or the name of an instance of samples/hcp.
+ *
+ * @since 18/10/2026.
+ */
+public class CycleBenchmark extends FixpointBenchmark {
+
+	@Param({"random-100-0.2", "random-1000-0.01", "random-1000-0.05", "alb1000"})
+	public String graph;
+
+	@Override
+	protected GraphVar buildModel(GraphModel model) {
+		UndirectedGraph GUB;
+		if (graph.startsWith("random-")) {
+			String[] params = graph.split("-");
+			GUB = BenchUtils.randomUndirectedUB(model, Integer.parseInt(params[1]), Double.parseDouble(params[2]), SetType.BIPARTITESET);
+		} else {
+			boolean[][] matrix = BenchUtils.loadHCP(graph);
+			GUB = new UndirectedGraph(model, matrix.length, SetType.BIPARTITESET, true);
+			for (int i = 0; i < matrix.length; i++) {
+				for (int j = i + 1; j < matrix.length; j++) {
+					if (matrix[i][j]) {
+						GUB.addEdge(i, j);
+					}
+				}
+			}
+		}
+		int n = GUB.getNbMaxNodes();
+		UndirectedGraph GLB = new UndirectedGraph(model, n, SetType.LINKED_LIST, true);
+		UndirectedGraphVar g = model.graphVar("G", GLB, GUB);
+		model.cycle(g).post();
+		return g;
+	}
+
+	@Benchmark
+	public boolean removeArcs() {
+		return modifyAndPropagate(false);
+	}
+}
@@ -0,0 +1,128 @@
+package org.chocosolver.bench;
+
+import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.variables.DirectedGraphVar;
+import org.chocosolver.graphsolver.variables.GraphEventType;
+import org.chocosolver.graphsolver.variables.delta.GraphDelta;
+import org.chocosolver.graphsolver.variables.delta.GraphDeltaMonitor;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.util.objects.graphs.DirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.chocosolver.util.procedure.PairProcedure;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recording and replay costs of the delta of a graph variable, as observed by incremental propagators
+ * (PropTransitivity, PropCycle, PropACyclic, etc.) through GraphDeltaMonitor#forEachArc.
+ * Half of the recorded arcs are caused by the first monitoring propagator, which must skip them.
+ * Memory per recorded arc is measured by recordFresh with the GC profiler : -Djmh.args="DeltaBenchmark -prof gc"
+ * (see gc.alloc.rate.norm, in bytes per operation, to be divided by batchSize).
+ *
+ * @since 18/10/2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeltaBenchmark {
+
+	private static final int N = 128;
+
+	@Param({"100", "10000"})
+	public int batchSize;
+
+	@Param({"1", "8"})
+	public int nbMonitors;
+
+	private IEnvironment environment;
+	private DirectedGraphVar g;
+	private ICause[] propagators;
+	private GraphDeltaMonitor[] monitors;
+	private int[] batch;
+	private long sum;
+	private PairProcedure sumArcs;
+
+	@Setup(Level.Trial)
+	public void setup() throws ContradictionException {
+		GraphModel model = new GraphModel();
+		environment = model.getEnvironment();
+		DirectedGraph GLB = new DirectedGraph(model, N, SetType.LINKED_LIST, true);
+		DirectedGraph GUB = new DirectedGraph(model, N, SetType.BITSET, true);
+		for (int i = 0; i < N; i++) {
+			for (int j = 0; j < N; j++) {
+				GUB.addArc(i, j);
+			}
+		}
+		g = model.digraphVar("G", GLB, GUB);
+		propagators = new ICause[nbMonitors];
+		monitors = new GraphDeltaMonitor[nbMonitors];
+		for (int k = 0; k < nbMonitors; k++) {
+			propagators[k] = new ICause() {
+			};
+			monitors[k] = g.monitorDelta(propagators[k]);
+		}
+		batch = new int[2 * batchSize];
+		for (int k = 0; k < batchSize; k++) {
+			batch[2 * k] = k / N;
+			batch[2 * k + 1] = k % N;
+		}
+		sumArcs = (i, j) -> sum += i + j;
+		// delta replayed by the replay benchmark
+		environment.worldPush();
+		record();
+	}
+
+	private void record() throws ContradictionException {
+		for (int k = 0; k < batchSize; k++) {
+			g.removeArc(batch[2 * k], batch[2 * k + 1], k % 2 == 0 ? propagators[0] : Cause.Null);
+		}
+	}
+
+	//***********************************************************************************
+	// BENCHMARKS
+	//***********************************************************************************
+
+	@Benchmark
+	public long recordAndReplay() throws ContradictionException {
+		environment.worldPush();
+		record();
+		sum = 0;
+		for (GraphDeltaMonitor monitor : monitors) {
+			monitor.freeze();
+			monitor.forEachArc(sumArcs, GraphEventType.REMOVE_ARC);
+			monitor.unfreeze();
+		}
+		environment.worldPop();
+		return sum;
+	}
+
+	@Benchmark
+	public long replay() throws ContradictionException {
+		sum = 0;
+		for (ICause propagator : propagators) {
+			// a fresh monitor sees the whole delta of the current world
+			GraphDeltaMonitor monitor = new GraphDeltaMonitor(g.getDelta(), propagator);
+			monitor.freeze();
+			monitor.forEachArc(sumArcs, GraphEventType.REMOVE_ARC);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public GraphDelta recordFresh() {
+		GraphDelta delta = new GraphDelta(environment);
+		for (int k = 0; k < batchSize; k++) {
+			ICause cause = k % 2 == 0 ? propagators[0] : Cause.Null;
+			delta.add(batch[2 * k], GraphDelta.AR_TAIL, cause);
+			delta.add(batch[2 * k + 1], GraphDelta.AR_HEAD, cause);
+		}
+		return delta;
+	}
+}
@@ -0,0 +1,92 @@
+package org.chocosolver.bench;
+
+import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fix point time of a model over a graph variable, after a batch of random modifications (as a search decision would do).
+ * The root propagation is performed once, then each invocation pushes a world, removes (or enforces) a batch
+ * of potential arcs, propagates and pops the world. Batches are drawn among the arcs remaining after root propagation.
+ *
+ * @since 18/10/2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class FixpointBenchmark {
+
+	private static final int NB_BATCHES = 64;
+
+	@Param({"10"})
+	public int batchSize;
+
+	protected IEnvironment environment;
+	protected Solver solver;
+	protected GraphVar g;
+	private int[][] batches;
+	private int current;
+
+	/**
+	 * Creates the graph variable and posts the constraints to benchmark
+	 *
+	 * @return the graph variable whose arcs are modified between two fix points
+	 */
+	protected abstract GraphVar buildModel(GraphModel model);
+
+	@Setup(Level.Trial)
+	public void setup() {
+		GraphModel model = new GraphModel();
+		environment = model.getEnvironment();
+		solver = model.getSolver();
+		g = buildModel(model);
+		environment.worldPush();
+		if (!BenchUtils.propagate(solver)) {
+			throw new IllegalStateException("the benchmarked model fails at root node");
+		}
+		batches = BenchUtils.randomArcBatches(g, NB_BATCHES, batchSize);
+		environment.worldPush();
+	}
+
+	private int[] nextBatch() {
+		current = (current + 1) % NB_BATCHES;
+		return batches[current];
+	}
+
+	//***********************************************************************************
+	// BENCHMARKS
+	//***********************************************************************************
+
+	/**
+	 * @return true iff the fix point has been reached without failure
+	 */
+	protected boolean modifyAndPropagate(boolean enforce) {
+		int[] batch = nextBatch();
+		environment.worldPush();
+		boolean ok;
+		try {
+			for (int k = 0; k < batch.length; k += 2) {
+				if (enforce) {
+					g.enforceArc(batch[k], batch[k + 1], Cause.Null);
+				} else {
+					g.removeArc(batch[k], batch[k + 1], Cause.Null);
+				}
+			}
+			ok = BenchUtils.propagate(solver);
+		} catch (ContradictionException e) {
+			solver.getEngine().flush();
+			ok = false;
+		}
+		environment.worldPop();
+		return ok;
+	}
+}
@@ -0,0 +1,108 @@
+package org.chocosolver.bench;
+
+import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.variables.GraphEventType;
+import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
+import org.chocosolver.graphsolver.variables.delta.GraphDeltaMonitor;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.util.objects.graphs.UndirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.chocosolver.util.procedure.PairProcedure;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of elementary graph variable operations : arc removal, arc enforcing and delta iteration.
+ * Each operation processes a batch of random potential arcs in a new world, which is then popped.
+ *
+ * @since 18/10/2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphVarBenchmark {
+
+	private static final int NB_BATCHES = 64;
+
+	@Param({"100", "1000"})
+	public int n;
+
+	@Param({"0.05", "0.2", "0.5"})
+	public double density;
+
+	@Param({"100"})
+	public int batchSize;
+
+	private IEnvironment environment;
+	private UndirectedGraphVar g;
+	private GraphDeltaMonitor gdm;
+	private int[][] batches;
+	private int current;
+	private int count;
+	private PairProcedure counter;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		GraphModel model = new GraphModel();
+		environment = model.getEnvironment();
+		UndirectedGraph GLB = new UndirectedGraph(model, n, SetType.BITSET, true);
+		UndirectedGraph GUB = BenchUtils.randomUndirectedUB(model, n, density, SetType.BIPARTITESET);
+		g = model.graphVar("G", GLB, GUB);
+		gdm = g.monitorDelta(new ICause() {});
+		batches = BenchUtils.randomArcBatches(g, NB_BATCHES, batchSize);
+		counter = (i, j) -> count++;
+		environment.worldPush();
+	}
+
+	private int[] nextBatch() {
+		current = (current + 1) % NB_BATCHES;
+		return batches[current];
+	}
+
+	//***********************************************************************************
+	// BENCHMARKS
+	//***********************************************************************************
+
+	@Benchmark
+	public void removeArc(Blackhole bh) throws ContradictionException {
+		int[] batch = nextBatch();
+		environment.worldPush();
+		for (int k = 0; k < batch.length; k += 2) {
+			bh.consume(g.removeArc(batch[k], batch[k + 1], Cause.Null));
+		}
+		environment.worldPop();
+	}
+
+	@Benchmark
+	public void enforceArc(Blackhole bh) throws ContradictionException {
+		int[] batch = nextBatch();
+		environment.worldPush();
+		for (int k = 0; k < batch.length; k += 2) {
+			bh.consume(g.enforceArc(batch[k], batch[k + 1], Cause.Null));
+		}
+		environment.worldPop();
+	}
+
+	@Benchmark
+	public int deltaForEachArc() throws ContradictionException {
+		int[] batch = nextBatch();
+		environment.worldPush();
+		for (int k = 0; k < batch.length; k += 2) {
+			g.removeArc(batch[k], batch[k + 1], Cause.Null);
+		}
+		count = 0;
+		gdm.freeze();
+		gdm.forEachArc(counter, GraphEventType.REMOVE_ARC);
+		gdm.unfreeze();
+		environment.worldPop();
+		return count;
+	}
+}
@@ -0,0 +1,111 @@
+package org.chocosolver.bench;
+
+import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.cstrs.cost.trees.lagrangian.PropGenericLagrDCMST;
+import org.chocosolver.graphsolver.cstrs.cost.tsp.heap.HeapType;
+import org.chocosolver.graphsolver.cstrs.cost.tsp.lagrangian.PropLagrOneTree;
+import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.graphs.UndirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Root propagation time of the Lagrangian relaxations, for each heap used by Prim's algorithm (see HeapType) :
+ * - PropLagrOneTree on a TSPLIB instance of samples/tsp, where the graph is complete (dense)
+ * - PropGenericLagrDCMST on r123 instances of samples/dcmstp, restricted to the 10 nearest edges of each node (sparse)
+ * The model is built before each invocation, only the initial fix point is measured.
+ *
+ * @since 18/10/2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeapBenchmark {
+
+	/**
+	 * TSP instance name and known optimal value, used as initial upper bound (as in TSP_exact)
+	 */
+	private static final String TSP = "bier127";
+	private static final int TSP_OPT = 118282;
+
+	private static final int NEAREST = 10;
+
+	@Param({"FAST_BINARY", "BINARY", "QUATERNARY", "PAIRING", "ARRAY"})
+	public HeapType heap;
+
+	@Param({"bier127", "r123_300_1", "r123_600_1"})
+	public String instance;
+
+	private int[][] costs;
+	private int[] dMax;
+	private boolean[][] edges;
+	private Solver solver;
+
+	@Setup(Level.Trial)
+	public void load() {
+		if (instance.equals(TSP)) {
+			costs = BenchUtils.loadTSP(instance);
+		} else {
+			int[][][] data = BenchUtils.loadDCMST(instance);
+			dMax = data[0][0];
+			costs = data[1];
+			edges = BenchUtils.nearestEdges(dMax, costs, NEAREST);
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void buildModel() {
+		int n = costs.length;
+		GraphModel model = new GraphModel();
+		UndirectedGraph GLB = new UndirectedGraph(model, n, SetType.LINKED_LIST, true);
+		UndirectedGraph GUB = new UndirectedGraph(model, n, SetType.BIPARTITESET, true);
+		if (dMax == null) {
+			for (int i = 0; i < n; i++) {
+				for (int j = i + 1; j < n; j++) {
+					GUB.addEdge(i, j);
+				}
+			}
+			UndirectedGraphVar g = model.graphVar("G", GLB, GUB);
+			IntVar cost = model.intVar("obj", 0, TSP_OPT, true);
+			model.tsp(g, cost, costs, 0).post();
+			PropLagrOneTree hk = new PropLagrOneTree(g, cost, costs);
+			hk.setHeapType(heap);
+			new Constraint("HK", hk).post();
+		} else {
+			int max = 0;
+			for (int i = 0; i < n; i++) {
+				for (int j = i + 1; j < n; j++) {
+					if (edges[i][j]) {
+						GUB.addEdge(i, j);
+						max = Math.max(max, costs[i][j]);
+					}
+				}
+			}
+			UndirectedGraphVar g = model.graphVar("G", GLB, GUB);
+			IntVar[] degrees = model.degrees(g);
+			for (int i = 0; i < n; i++) {
+				model.arithm(degrees[i], "<=", dMax[i]).post();
+			}
+			IntVar cost = model.intVar("obj", 0, (n - 1) * max, true);
+			model.dcmst(g, degrees, cost, costs, 0).post();
+			PropGenericLagrDCMST hk = new PropGenericLagrDCMST(g, cost, degrees, costs, false);
+			hk.setHeapType(heap);
+			new Constraint("HK", hk).post();
+		}
+		solver = model.getSolver();
+		model.getEnvironment().worldPush();
+	}
+
+	@Benchmark
+	public boolean rootPropagation() {
+		return BenchUtils.propagate(solver);
+	}
+}
@@ -0,0 +1,94 @@
+package org.chocosolver.bench;
+
+import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.graphs.UndirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Root propagation time of the Lagrangian relaxations on bundled instances :
+ * - PropLagrOneTree (tsp constraint) on TSPLIB instances of samples/tsp
+ * - KruskalMSTGAC (within the dcmst constraint) on r123 instances of samples/dcmstp
+ * The model is built before each invocation, only the initial fix point is measured.
+ *
+ * @since 18/10/2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstanceBenchmark {
+
+	/**
+	 * TSP instance name and known optimal value, used as initial upper bound (as in TSP_exact)
+	 */
+	private static final String TSP = "bier127";
+	private static final int TSP_OPT = 118282;
+
+	@Param({"bier127", "r123_100_1", "r123_300_1", "r123_600_1"})
+	public String instance;
+
+	private int[][] costs;
+	private int[] dMax;
+	private Solver solver;
+
+	@Setup(Level.Trial)
+	public void load() {
+		if (instance.equals(TSP)) {
+			costs = BenchUtils.loadTSP(instance);
+		} else {
+			int[][][] data = BenchUtils.loadDCMST(instance);
+			dMax = data[0][0];
+			costs = data[1];
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void buildModel() {
+		int n = costs.length;
+		GraphModel model = new GraphModel();
+		UndirectedGraph GLB = new UndirectedGraph(model, n, SetType.LINKED_LIST, true);
+		UndirectedGraph GUB = new UndirectedGraph(model, n, SetType.BIPARTITESET, true);
+		if (dMax == null) {
+			for (int i = 0; i < n; i++) {
+				for (int j = i + 1; j < n; j++) {
+					GUB.addEdge(i, j);
+				}
+			}
+			UndirectedGraphVar g = model.graphVar("G", GLB, GUB);
+			IntVar cost = model.intVar("obj", 0, TSP_OPT, true);
+			model.tsp(g, cost, costs, 1).post();
+		} else {
+			int max = 0;
+			for (int i = 0; i < n; i++) {
+				for (int j = i + 1; j < n; j++) {
+					if (costs[i][j] != -1 && !(dMax[i] == 1 && dMax[j] == 1)) {
+						GUB.addEdge(i, j);
+						max = Math.max(max, costs[i][j]);
+					}
+				}
+			}
+			UndirectedGraphVar g = model.graphVar("G", GLB, GUB);
+			IntVar[] degrees = model.degrees(g);
+			for (int i = 0; i < n; i++) {
+				model.arithm(degrees[i], "<=", dMax[i]).post();
+			}
+			IntVar cost = model.intVar("obj", 0, (n - 1) * max, true);
+			model.dcmst(g, degrees, cost, costs, 1).post();
+		}
+		solver = model.getSolver();
+		model.getEnvironment().worldPush();
+	}
+
+	@Benchmark
+	public boolean rootPropagation() {
+		return BenchUtils.propagate(solver);
+	}
+}
@@ -0,0 +1,75 @@
+package org.chocosolver.bench;
+
+import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.cstrs.cost.trees.lagrangian.PropGenericLagrDCMST;
+import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.graphs.UndirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory footprint of the Lagrangian relaxation of the dcmst constraint (PropGenericLagrDCMST, with its Prim and
+ * Kruskal tree finders), whose data is indexed by the edges of the initial upper bound (see EdgeIndex).
+ * The upper bound keeps, for each node, its nearest cheapest edges (all edges if nearest is 0),
+ * to show how memory scales with the number of edges.
+ * Memory is measured as the allocation of buildRelaxation, run with the GC profiler :
+ * -Djmh.args="LagrangianMemoryBenchmark -prof gc" (see gc.alloc.rate.norm, in bytes per operation).
+ *
+ * @since 18/10/2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LagrangianMemoryBenchmark {
+
+	@Param({"r123_600_1"})
+	public String instance;
+
+	@Param({"0", "10"})
+	public int nearest;
+
+	private int[][] costs;
+	private boolean[][] edges;
+	private UndirectedGraphVar g;
+	private IntVar cost;
+	private IntVar[] degrees;
+
+	@Setup(Level.Trial)
+	public void load() {
+		int[][][] data = BenchUtils.loadDCMST(instance);
+		int[] dMax = data[0][0];
+		costs = data[1];
+		edges = BenchUtils.nearestEdges(dMax, costs, nearest);
+	}
+
+	@Setup(Level.Invocation)
+	public void buildModel() {
+		int n = costs.length;
+		GraphModel model = new GraphModel();
+		UndirectedGraph GLB = new UndirectedGraph(model, n, SetType.LINKED_LIST, true);
+		UndirectedGraph GUB = new UndirectedGraph(model, n, SetType.BIPARTITESET, true);
+		int max = 0;
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				if (edges[i][j]) {
+					GUB.addEdge(i, j);
+					max = Math.max(max, costs[i][j]);
+				}
+			}
+		}
+		g = model.graphVar("G", GLB, GUB);
+		degrees = model.degrees(g);
+		cost = model.intVar("obj", 0, (n - 1) * max, true);
+	}
+
+	@Benchmark
+	public PropGenericLagrDCMST buildRelaxation() {
+		return new PropGenericLagrDCMST(g, cost, degrees, costs, false);
+	}
+}
@@ -0,0 +1,102 @@
+package org.chocosolver.bench;
+
+import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.search.GraphDecision;
+import org.chocosolver.graphsolver.search.strategy.GraphSearch;
+import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.util.objects.graphs.UndirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decision time of GraphSearch on a complete graph, without any constraint.
+ * Each invocation dives down to a given depth, each decision being followed by a batch of random arc removals
+ * (as propagation would do), then backtracks to the root.
+ *
+ * @since 18/10/2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+
+	private static final int NB_BATCHES = 64;
+
+	@Param({"200", "1000"})
+	public int n;
+
+	@Param({"1", "5", "8"})
+	public int policy;
+
+	@Param({"100"})
+	public int depth;
+
+	@Param({"5"})
+	public int batchSize;
+
+	private IEnvironment environment;
+	private UndirectedGraphVar g;
+	private GraphSearch search;
+	private int[][] batches;
+	private int current;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		GraphModel model = new GraphModel();
+		environment = model.getEnvironment();
+		Random rd = new Random(BenchUtils.SEED);
+		int[][] costs = new int[n][n];
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				costs[i][j] = costs[j][i] = rd.nextInt(1000);
+			}
+		}
+		UndirectedGraph GLB = new UndirectedGraph(model, n, SetType.LINKED_LIST, true);
+		UndirectedGraph GUB = new UndirectedGraph(model, n, SetType.BIPARTITESET, true);
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				GUB.addEdge(i, j);
+			}
+		}
+		g = model.graphVar("G", GLB, GUB);
+		search = new GraphSearch(g, costs).configure(policy, false);
+		batches = BenchUtils.randomArcBatches(g, NB_BATCHES, batchSize);
+		environment.worldPush();
+	}
+
+	//***********************************************************************************
+	// BENCHMARKS
+	//***********************************************************************************
+
+	@Benchmark
+	public int dive() throws ContradictionException {
+		int base = environment.getWorldIndex();
+		int sum = 0;
+		for (int d = 0; d < depth; d++) {
+			environment.worldPush();
+			GraphDecision decision = search.getDecision();
+			if (decision == null) {
+				break;
+			}
+			decision.apply();
+			sum++;
+			int[] batch = batches[current = (current + 1) % NB_BATCHES];
+			for (int k = 0; k < batch.length; k += 2) {
+				if (!g.getMandNeighOf(batch[k]).contains(batch[k + 1])) {
+					g.removeArc(batch[k], batch[k + 1], Cause.Null);
+				}
+			}
+		}
+		environment.worldPopUntil(base);
+		return sum;
+	}
+}
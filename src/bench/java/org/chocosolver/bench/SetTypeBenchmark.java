@@ -0,0 +1,105 @@
+package org.chocosolver.bench;
+
+import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.variables.GraphSetTypePolicy;
+import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory and iteration costs of the data structures used for graph variable bounds
+ * (see GraphSetTypePolicy and CSRUndirectedGraph), on random graphs with a given average degree.
+ * Memory is measured as the allocation of buildUB, run with the GC profiler : -Djmh.args="SetTypeBenchmark -prof gc"
+ * (see gc.alloc.rate.norm, in bytes per operation).
+ *
+ * @since 18/10/2026.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SetTypeBenchmark {
+
+	@Param({"1000", "10000"})
+	public int n;
+
+	@Param({"4", "64"})
+	public int averageDegree;
+
+	/**
+	 * SetType of the upper bound, or CSR for a CSR-backed variable (see IGraphVarFactory#csrGraphVar)
+	 */
+	@Param({"BITSET", "LINKED_LIST", "BIPARTITESET", "CSR"})
+	public String setType;
+
+	private int[][] edges;
+	private int[] queries, neighbors;
+	private UndirectedGraphVar g;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Random rd = new Random(BenchUtils.SEED);
+		edges = new int[n * averageDegree / 2][];
+		for (int k = 0; k < edges.length; k++) {
+			edges[k] = new int[]{rd.nextInt(n), rd.nextInt(n)};
+		}
+		queries = new int[2048];
+		for (int k = 0; k < queries.length; k++) {
+			queries[k] = rd.nextInt(n);
+		}
+		g = buildUB();
+		neighbors = new int[n];
+	}
+
+	//***********************************************************************************
+	// BENCHMARKS
+	//***********************************************************************************
+
+	@Benchmark
+	public UndirectedGraphVar buildUB() {
+		GraphModel model = new GraphModel();
+		if (setType.equals("CSR")) {
+			return model.csrGraphVar("G", n, false, edges);
+		}
+		return model.graphVar("G", n, false, edges, GraphSetTypePolicy.fixed(SetType.LINKED_LIST, SetType.valueOf(setType)));
+	}
+
+	@Benchmark
+	public long iterateNeighbors() {
+		long sum = 0;
+		for (int i = 0; i < n; i++) {
+			for (int j : g.getPotNeighOf(i)) {
+				sum += j;
+			}
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long copyNeighbors() {
+		long sum = 0;
+		for (int i = 0; i < n; i++) {
+			int size = g.copyPotSuccOrNeigh(i, neighbors);
+			for (int k = 0; k < size; k++) {
+				sum += neighbors[k];
+			}
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int edgeExists() {
+		int count = 0;
+		for (int k = 0; k < queries.length; k += 2) {
+			if (g.getUB().edgeExists(queries[k], queries[k + 1])) {
+				count++;
+			}
+		}
+		return count;
+	}
+}
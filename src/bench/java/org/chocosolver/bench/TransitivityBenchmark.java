@@ -0,0 +1,48 @@
+package org.chocosolver.bench;
+
+import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.cstrs.basic.PropTransitivity;
+import org.chocosolver.graphsolver.variables.DirectedGraphVar;
+import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.util.objects.graphs.DirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Fix point time of PropTransitivity after arc removals or enforcing, on random directed graphs,
+ * with both filtering modes
+ *
+ * @since 18/10/2026.
+ */
+public class TransitivityBenchmark extends FixpointBenchmark {
+
+	@Param({"100", "300"})
+	public int n;
+
+	@Param({"0.05", "0.2"})
+	public double density;
+
+	@Param({"false", "true"})
+	public boolean wordParallel;
+
+	@Override
+	protected GraphVar buildModel(GraphModel model) {
+		DirectedGraph GLB = new DirectedGraph(model, n, SetType.BITSET, false);
+		DirectedGraph GUB = BenchUtils.randomDirectedUB(model, n, density, SetType.BITSET);
+		DirectedGraphVar g = model.digraphVar("G", GLB, GUB);
+		new Constraint("transitivity", new PropTransitivity<>(g, wordParallel)).post();
+		return g;
+	}
+
+	@Benchmark
+	public boolean removeArcs() {
+		return modifyAndPropagate(false);
+	}
+
+	@Benchmark
+	public boolean enforceArcs() {
+		return modifyAndPropagate(true);
+	}
+}
@@ -0,0 +1,147 @@
+package org.chocosolver.graphsolver;
+
+import org.chocosolver.graphsolver.variables.GraphSolution;
+import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.RealVar;
+import org.chocosolver.solver.variables.SetVar;
+import org.chocosolver.solver.variables.Variable;
+
+/**
+ * Solution which also stores graph variables, as compact GraphSolution objects, in O(n+m) time and memory per variable.
+ * Other variables are stored as in choco-solver's Solution.
+ * To record every solution, plug it as a solution monitor :
+ * <pre>solver.plugMonitor((IMonitorSolution) solution::record);</pre>
+ *
+ * @since 18/10/2026.
+ */
+public class GraphModelSolution extends Solution {
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	private final Model model;
+	private Variable[] varsToStore;
+	private GraphVar[] graphVars;
+	private GraphSolution[] graphSolutions;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	/**
+	 * @param model       a model
+	 * @param varsToStore variables to store, all variables of the model (when the first solution is recorded) if empty
+	 */
+	public GraphModelSolution(Model model, Variable... varsToStore) {
+		super(model, varsToStore);
+		this.model = model;
+		this.varsToStore = varsToStore;
+	}
+
+	//***********************************************************************************
+	// METHODS
+	//***********************************************************************************
+
+	@Override
+	public GraphModelSolution record() {
+		super.record();
+		if (graphVars == null) {
+			if (varsToStore.length == 0) {
+				varsToStore = model.getVars();
+			}
+			int nb = 0;
+			for (Variable v : varsToStore) {
+				if ((v.getTypeAndKind() & Variable.KIND) == GraphVar.GRAPH) {
+					nb++;
+				}
+			}
+			graphVars = new GraphVar[nb];
+			graphSolutions = new GraphSolution[nb];
+			nb = 0;
+			for (Variable v : varsToStore) {
+				if ((v.getTypeAndKind() & Variable.KIND) == GraphVar.GRAPH) {
+					graphVars[nb] = (GraphVar) v;
+					graphSolutions[nb++] = new GraphSolution((GraphVar) v);
+				}
+			}
+		}
+		for (int k = 0; k < graphVars.length; k++) {
+			graphSolutions[k].record(graphVars[k]);
+		}
+		return this;
+	}
+
+	/**
+	 * Restores graph variables (only modifying elements whose status differs from the solution),
+	 * then other variables, and propagates.
+	 *
+	 * @throws ContradictionException if the solution is not in the current domain
+	 */
+	@Override
+	public void restore() throws ContradictionException {
+		if (graphVars != null) {
+			for (int k = 0; k < graphVars.length; k++) {
+				graphVars[k].instantiateTo(graphSolutions[k], this);
+			}
+		}
+		super.restore();
+	}
+
+	/**
+	 * @return the value of g in this solution, or null if g is not stored
+	 */
+	public GraphSolution getGraphSolution(GraphVar g) {
+		if (graphVars != null) {
+			for (int k = 0; k < graphVars.length; k++) {
+				if (graphVars[k] == g) {
+					return graphSolutions[k];
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public boolean exists() {
+		return super.exists() || (graphSolutions != null && graphSolutions.length > 0 && graphSolutions[0].exists());
+	}
+
+	@Override
+	public GraphModelSolution copySolution() {
+		GraphModelSolution copy = new GraphModelSolution(model, varsToStore);
+		if (super.exists()) {
+			for (Variable v : varsToStore) {
+				if ((v.getTypeAndKind() & Variable.TYPE) == Variable.CSTE) {
+					continue;
+				}
+				switch (v.getTypeAndKind() & Variable.KIND) {
+					case Variable.INT:
+					case Variable.BOOL:
+						copy.setIntVal((IntVar) v, getIntVal((IntVar) v));
+						break;
+					case Variable.REAL:
+						copy.setRealBounds((RealVar) v, getRealBounds((RealVar) v));
+						break;
+					case Variable.SET:
+						copy.setSetVal((SetVar) v, getSetVal((SetVar) v));
+						break;
+					default:
+						break;
+				}
+			}
+		}
+		if (graphVars != null) {
+			copy.graphVars = graphVars;
+			copy.graphSolutions = new GraphSolution[graphSolutions.length];
+			for (int k = 0; k < graphSolutions.length; k++) {
+				copy.graphSolutions[k] = graphSolutions[k].copy();
+			}
+		}
+		return copy;
+	}
+}
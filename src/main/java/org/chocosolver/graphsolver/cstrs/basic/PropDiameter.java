@@ -27,19 +27,29 @@
 
 package org.chocosolver.graphsolver.cstrs.basic;
 
-import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.graphsolver.util.BitParallelBFS;
+import org.chocosolver.graphsolver.variables.GraphEventType;
 import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.graphsolver.variables.delta.GraphDeltaMonitor;
+import org.chocosolver.memory.IStateInt;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.setDataStructures.ISet;
-
-import java.util.BitSet;
+import org.chocosolver.util.procedure.PairProcedure;
 
 /**
  * Propagator for the diameter constraint
+ * <p>
+ * Distances between nodes of the envelope are computed by a bit-parallel BFS (64 sources at once)
+ * and kept from one propagation to the next: as arcs can only be removed from the envelope,
+ * the distances from a source only change when an arc of one of its shortest paths
+ * (an arc (i,j) such that dist(j) = dist(i)+1) is removed. Only such sources are explored again.
+ * Distance rows are not restored upon backtrack : each row is tagged with the version at which it has been computed,
+ * and only version[s] is trailed. Backtracking thus makes valid again a row that has only been invalidated,
+ * while a row computed again since is invalidated, and is computed again lazily, at the next propagation.
  *
  * @author Jean-Guillaume Fages
  */
@@ -51,9 +61,15 @@ public class PropDiameter extends Propagator<GraphVar> {
 
 	private GraphVar g;
 	private IntVar diameter;
-	private BitSet visited;
-	private TIntArrayList set, nextSet;
-
+	private final int n;
+	private final BitParallelBFS bfs;
+	private final GraphDeltaMonitor gdm;
+	private final PairProcedure arcRemoved;
+	// dist[s] is valid iff version[s] equals the version at which it has been computed, which is trailed
+	private final int[][] dist;
+	private final int[] ecc, computedVersion, sources;
+	private final IStateInt[] version;
+	private int nbComputations;
 
 	//***********************************************************************************
 	// CONSTRUCTORS
@@ -63,9 +79,28 @@ public class PropDiameter extends Propagator<GraphVar> {
 		super(new GraphVar[]{graph}, PropagatorPriority.LINEAR, false);
 		this.g = graph;
 		this.diameter = maxDiam;
-		visited = new BitSet(g.getNbMaxNodes());
-		set = new TIntArrayList();
-		nextSet = new TIntArrayList();
+		this.n = g.getNbMaxNodes();
+		this.bfs = new BitParallelBFS(g, false);
+		this.gdm = g.monitorDelta(this);
+		this.dist = new int[n][];
+		this.ecc = new int[n];
+		this.computedVersion = new int[n];
+		this.sources = new int[n];
+		this.version = new IStateInt[n];
+		for (int s = 0; s < n; s++) {
+			computedVersion[s] = -1;
+			version[s] = g.getEnvironment().makeInt(0);
+		}
+		this.arcRemoved = (i, j) -> {
+			for (int s = 0; s < n; s++) {
+				if (isValid(s)) {
+					int[] d = dist[s];
+					if ((d[i] >= 0 && d[j] == d[i] + 1) || (!g.isDirected() && d[j] >= 0 && d[i] == d[j] + 1)) {
+						version[s].set(-1);
+					}
+				}
+			}
+		};
 	}
 
 	//***********************************************************************************
@@ -74,50 +109,49 @@ public class PropDiameter extends Propagator<GraphVar> {
 
 	@Override
 	public void propagate(int evtmask) throws ContradictionException {
-		int max = -1;
+		// sources whose shortest paths have been cut
+		gdm.freeze();
+		gdm.forEachArc(arcRemoved, GraphEventType.REMOVE_ARC);
+		gdm.unfreeze();
+		int nbSources = 0;
 		for (int i : g.getPotentialNodes()) {
-			if (g.getMandatoryNodes().contains(i)) {
-				diameter.updateLowerBound(depthBFS(i, true), this);
+			if (!isValid(i)) {
+				sources[nbSources++] = i;
 			}
-			max = Math.max(max, depthBFS(i, false));
 		}
-		diameter.updateUpperBound(max, this);
-	}
-
-	private int depthBFS(int root, boolean min) {
-		nextSet.clear();
-		set.clear();
-		visited.clear();
-		int i = root;
-		set.add(i);
-		visited.set(i);
-		ISet nei;
-		int depth = 0;
-		int nbMand = g.getMandatoryNodes().size();
-		int count = 1;
-		while (!set.isEmpty()) {
-			for (i = set.size() - 1; i >= 0; i--) {
-				nei = g.getPotSuccOrNeighOf(set.get(i));
-				for (int j : nei) {
-					if (!visited.get(j)) {
-						visited.set(j);
-						nextSet.add(j);
-						if (min && g.getMandatoryNodes().contains(j)) {
-							count++;
-							if (count == nbMand) {
-								return depth + 1;
-							}
-						}
+		if (nbSources > 0) {
+			bfs.computeDistances(sources, nbSources, dist, ecc);
+			nbComputations++;
+			for (int k = 0; k < nbSources; k++) {
+				version[sources[k]].set(nbComputations);
+				computedVersion[sources[k]] = nbComputations;
+			}
+		}
+		ISet mNodes = g.getMandatoryNodes();
+		int nbMand = mNodes.size();
+		int max = -1;
+		for (int i : g.getPotentialNodes()) {
+			int nbLayers = ecc[i] + 1;
+			if (mNodes.contains(i)) {
+				// distance to the farthest mandatory node, if every mandatory node is reached
+				int[] d = dist[i];
+				int mandDepth = 0;
+				int count = 0;
+				for (int j : mNodes) {
+					if (d[j] >= 0) {
+						mandDepth = Math.max(mandDepth, d[j]);
+						count++;
 					}
 				}
+				diameter.updateLowerBound(nbMand > 1 && count == nbMand ? mandDepth : nbLayers, this);
 			}
-			depth++;
-			TIntArrayList tmp = nextSet;
-			nextSet = set;
-			set = tmp;
-			nextSet.clear();
+			max = Math.max(max, nbLayers);
 		}
-		return depth;
+		diameter.updateUpperBound(max, this);
+	}
+
+	private boolean isValid(int s) {
+		return computedVersion[s] >= 0 && version[s].get() == computedVersion[s];
 	}
 
 	//***********************************************************************************
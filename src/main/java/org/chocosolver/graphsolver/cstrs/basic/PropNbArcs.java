@@ -68,18 +68,7 @@ public class PropNbArcs extends Propagator<Variable> {
 
 	@Override
 	public void propagate(int evtmask) throws ContradictionException {
-		int nbK = 0;
-		int nbE = 0;
-		ISet env = g.getPotentialNodes();
-		for (int i : env) {
-			nbE += g.getPotSuccOrNeighOf(i).size();
-			nbK += g.getMandSuccOrNeighOf(i).size();
-		}
-		if (!g.isDirected()) {
-			nbK /= 2;
-			nbE /= 2;
-		}
-		filter(nbK, nbE);
+		filter(g.getNbMandArcs(), g.getNbPotArcs());
 	}
 
 	private void filter(int nbK, int nbE) throws ContradictionException {
@@ -126,17 +115,8 @@ public class PropNbArcs extends Propagator<Variable> {
 
 	@Override
 	public ESat isEntailed() {
-		int nbK = 0;
-		int nbE = 0;
-		ISet env = g.getPotentialNodes();
-		for (int i : env) {
-			nbE += g.getUB().getSuccOrNeighOf(i).size();
-			nbK += g.getLB().getSuccOrNeighOf(i).size();
-		}
-		if (!g.isDirected()) {
-			nbK /= 2;
-			nbE /= 2;
-		}
+		int nbK = g.getNbMandArcs();
+		int nbE = g.getNbPotArcs();
 		if (nbK > k.getUB() || nbE < k.getLB()) {
 			return ESat.FALSE;
 		}
@@ -31,15 +31,27 @@ import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.graphsolver.variables.GraphEventType;
 import org.chocosolver.graphsolver.variables.GraphVar;
 import org.chocosolver.graphsolver.variables.delta.GraphDeltaMonitor;
+import org.chocosolver.memory.IStateInt;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.SetType;
 import org.chocosolver.util.procedure.PairProcedure;
 
+import java.util.Arrays;
+
 /**
  * Propagator that ensures that the relation of the graph is transitive : (a,b) + (b,c) implies (a,c)
+ * <p>
+ * Two filtering modes are available:
+ * - arc by arc, through membership tests on neighbor sets (for sparse representations of the bounds);
+ * - word-parallel, where bounds are copied into bitset rows (successors and predecessors)
+ * and the consequences of an arc (i,j) are computed 64 nodes at once, e.g. the arcs to enforce from i
+ * are the bits of mand(j) & ~mand(i). Rows are updated from the delta of the graph variable,
+ * and copied again (lazily) after a backtrack.
+ * The word-parallel mode is used by default when the upper bound is stored in bitsets.
  *
  * @author Jean-Guillaume Fages
  */
@@ -53,12 +65,30 @@ public class PropTransitivity<V extends GraphVar> extends Propagator<V> {
 	private GraphDeltaMonitor gdm;
 	private PairProcedure arcEnforced, arcRemoved;
 	private TIntArrayList eF, eT, rF, rT;
+	// word-parallel mode
+	private final boolean wordParallel;
+	private BitRows mand, pot, mandPred, potPred;
+	private int stamp;
+	// rows are valid iff rowsVersion (which is trailed) equals nbRowsVersions
+	private IStateInt rowsVersion;
+	private int nbRowsVersions;
 
 	//***********************************************************************************
 	// CONSTRUCTORS
 	//***********************************************************************************
 
+	/**
+	 * Transitivity propagator, word-parallel iff the upper bound of graph is stored in bitsets
+	 */
 	public PropTransitivity(V graph) {
+		this(graph, graph.getUB().getType() == SetType.BITSET);
+	}
+
+	/**
+	 * @param graph        a graph variable
+	 * @param wordParallel true to filter with bitset rows (n*n/16 bytes), false to filter arc by arc
+	 */
+	public PropTransitivity(V graph, boolean wordParallel) {
 		super((V[]) new GraphVar[]{graph}, PropagatorPriority.LINEAR, true);
 		g = graph;
 		gdm = g.monitorDelta(this);
@@ -69,6 +99,14 @@ public class PropTransitivity<V extends GraphVar> extends Propagator<V> {
 		rT = new TIntArrayList(n);
 		arcEnforced = this::arcEnforced;
 		arcRemoved = this::arcRemoved;
+		this.wordParallel = wordParallel;
+		if (wordParallel) {
+			mand = new BitRows(n, true, true);
+			pot = new BitRows(n, false, true);
+			mandPred = g.isDirected() ? new BitRows(n, true, false) : mand;
+			potPred = g.isDirected() ? new BitRows(n, false, false) : pot;
+			rowsVersion = g.getEnvironment().makeInt(0);
+		}
 	}
 
 	//***********************************************************************************
@@ -78,6 +116,23 @@ public class PropTransitivity<V extends GraphVar> extends Propagator<V> {
 	@Override
 	public void propagate(int evtmask) throws ContradictionException {
 		int n = g.getNbMaxNodes();
+		if (wordParallel) {
+			// consequences of non-arcs are deduced from mandatory arcs
+			stamp++;
+			rowsVersion.set(++nbRowsVersions);
+			eF.clear();
+			eT.clear();
+			rF.clear();
+			rT.clear();
+			for (int i : g.getPotentialNodes()) {
+				for (int j : g.getMandSuccOrNeighOf(i)) {
+					arcEnforced(i, j);
+				}
+			}
+			filterRows();
+			gdm.unfreeze();
+			return;
+		}
 		for (int i : g.getPotentialNodes()) {
 			for (int j = 0; j < n; j++) {
 				if (g.getMandSuccOrNeighOf(i).contains(j)) {
@@ -98,9 +153,20 @@ public class PropTransitivity<V extends GraphVar> extends Propagator<V> {
 		rF.clear();
 		eT.clear();
 		eF.clear();
+		if (wordParallel) {
+			// rows are kept up to date through the delta, unless a backtrack occurred since the last propagation
+			if (rowsVersion.get() != nbRowsVersions) {
+				stamp++;
+			}
+			rowsVersion.set(++nbRowsVersions);
+		}
 		gdm.forEachArc(arcEnforced, GraphEventType.ADD_ARC);
 		gdm.forEachArc(arcRemoved, GraphEventType.REMOVE_ARC);
-		filter();
+		if (wordParallel) {
+			filterRows();
+		} else {
+			filter();
+		}
 		gdm.unfreeze();
 	}
 
@@ -158,11 +224,19 @@ public class PropTransitivity<V extends GraphVar> extends Propagator<V> {
 	private void arcEnforced(int x, int y) {
 		eF.add(x);
 		eT.add(y);
+		if (wordParallel) {
+			mand.set(x, y);
+			mandPred.set(y, x);
+		}
 	}
 
 	private void arcRemoved(int x, int y) {
 		rF.add(x);
 		rT.add(y);
+		if (wordParallel) {
+			pot.clear(x, y);
+			potPred.clear(y, x);
+		}
 	}
 
 	// --- Arc enforcings
@@ -216,4 +290,140 @@ public class PropTransitivity<V extends GraphVar> extends Propagator<V> {
 			}
 		}
 	}
+
+	//***********************************************************************************
+	// WORD-PARALLEL FILTERING
+	//***********************************************************************************
+
+	private void filterRows() throws ContradictionException {
+		while (!eF.isEmpty() || !rF.isEmpty()) {
+			if (!eF.isEmpty()) {
+				int last = eF.size() - 1;
+				enforcedRows(eF.removeAt(last), eT.removeAt(last));
+			} else {
+				int last = rF.size() - 1;
+				removedRows(rF.removeAt(last), rT.removeAt(last));
+			}
+		}
+	}
+
+	private void enforcedRows(int i, int j) throws ContradictionException {
+		if (i == j) {
+			return;
+		}
+		long[] mi = mand.get(i);
+		long[] mj = mand.get(j);
+		long[] mpi = mandPred.get(i);
+		long[] mpj = mandPred.get(j);
+		long[] pi = pot.get(i);
+		long[] pj = pot.get(j);
+		long[] ppi = potPred.get(i);
+		long[] ppj = potPred.get(j);
+		for (int w = 0; w < mi.length; w++) {
+			long bi = w == i >>> 6 ? 1L << i : 0;
+			long bj = w == j >>> 6 ? 1L << j : 0;
+			// (i,j) + (j,k) implies (i,k)
+			for (long add = mj[w] & ~mi[w] & ~bi; add != 0; add &= add - 1) {
+				enforce(i, (w << 6) + Long.numberOfTrailingZeros(add));
+			}
+			// (k,i) + (i,j) implies (k,j)
+			for (long add = mpi[w] & ~mpj[w] & ~bj; add != 0; add &= add - 1) {
+				enforce((w << 6) + Long.numberOfTrailingZeros(add), j);
+			}
+			// (i,j) and no (i,k) imply no (j,k)
+			for (long rem = pj[w] & ~pi[w] & ~(bi | bj); rem != 0; rem &= rem - 1) {
+				remove(j, (w << 6) + Long.numberOfTrailingZeros(rem));
+			}
+			// (i,j) and no (k,j) imply no (k,i)
+			for (long rem = ppi[w] & ~ppj[w] & ~(bi | bj); rem != 0; rem &= rem - 1) {
+				remove((w << 6) + Long.numberOfTrailingZeros(rem), i);
+			}
+		}
+	}
+
+	private void removedRows(int i, int j) throws ContradictionException {
+		if (i == j) {
+			return;
+		}
+		// rows of the upper bound are only copied if needed
+		if (!g.getMandSuccOrNeighOf(i).isEmpty()) {
+			long[] mi = mand.get(i);
+			long[] ppj = potPred.get(j);
+			for (int w = 0; w < mi.length; w++) {
+				// (i,k) and no (i,j) imply no (k,j)
+				for (long rem = mi[w] & ppj[w]; rem != 0; rem &= rem - 1) {
+					remove((w << 6) + Long.numberOfTrailingZeros(rem), j);
+				}
+			}
+		}
+		if (!g.getMandPredOrNeighOf(j).isEmpty()) {
+			long[] mpj = mandPred.get(j);
+			long[] pi = pot.get(i);
+			for (int w = 0; w < mpj.length; w++) {
+				// (k,j) and no (i,j) imply no (i,k)
+				for (long rem = mpj[w] & pi[w]; rem != 0; rem &= rem - 1) {
+					remove(i, (w << 6) + Long.numberOfTrailingZeros(rem));
+				}
+			}
+		}
+	}
+
+	private void enforce(int from, int to) throws ContradictionException {
+		if (g.enforceArc(from, to, this)) {
+			arcEnforced(from, to);
+		}
+	}
+
+	private void remove(int from, int to) throws ContradictionException {
+		if (g.removeArc(from, to, this)) {
+			arcRemoved(from, to);
+		}
+	}
+
+	/**
+	 * Successors or predecessors of nodes in a bound of g, as bitset rows.
+	 * A row is copied from g the first time it is accessed during a propagation.
+	 */
+	private class BitRows {
+
+		private final long[][] rows;
+		private final int[] stamps;
+		private final boolean lb, succ;
+
+		private BitRows(int n, boolean lb, boolean succ) {
+			this.rows = new long[n][];
+			this.stamps = new int[n];
+			this.lb = lb;
+			this.succ = succ;
+		}
+
+		private long[] get(int i) {
+			if (rows[i] == null) {
+				rows[i] = new long[(g.getNbMaxNodes() + 63) >>> 6];
+			}
+			long[] row = rows[i];
+			if (stamps[i] != stamp) {
+				stamps[i] = stamp;
+				Arrays.fill(row, 0);
+				ISet set = succ ? (lb ? g.getMandSuccOrNeighOf(i) : g.getPotSuccOrNeighOf(i))
+						: (lb ? g.getMandPredOrNeighOf(i) : g.getPotPredOrNeighOf(i));
+				for (int k : set) {
+					row[k >>> 6] |= 1L << k;
+				}
+			}
+			return row;
+		}
+
+		private void set(int i, int k) {
+			if (stamps[i] == stamp) {
+				rows[i][k >>> 6] |= 1L << k;
+			}
+		}
+
+		private void clear(int i, int k) {
+			if (stamps[i] == stamp) {
+				rows[i][k >>> 6] &= ~(1L << k);
+			}
+		}
+	}
 }
@@ -27,7 +27,7 @@
 
 package org.chocosolver.graphsolver.cstrs.connectivity;
 
-import org.chocosolver.graphsolver.util.UGVarConnectivityHelper;
+import org.chocosolver.graphsolver.util.GraphAnalysisCache;
 import org.chocosolver.graphsolver.variables.GraphEventType;
 import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
 import org.chocosolver.solver.constraints.Propagator;
@@ -48,7 +48,6 @@ public class PropBiconnected extends Propagator<UndirectedGraphVar> {
 	//***********************************************************************************
 
 	private final UndirectedGraphVar g;
-	private final UGVarConnectivityHelper helper;
 
 	//***********************************************************************************
 	// CONSTRUCTORS
@@ -57,7 +56,6 @@ public class PropBiconnected extends Propagator<UndirectedGraphVar> {
 	public PropBiconnected(UndirectedGraphVar graph) {
 		super(new UndirectedGraphVar[]{graph}, PropagatorPriority.LINEAR, false);
 		this.g = graph;
-		helper = new UGVarConnectivityHelper(g);
 	}
 
 	//***********************************************************************************
@@ -66,11 +64,17 @@ public class PropBiconnected extends Propagator<UndirectedGraphVar> {
 
 	@Override
 	public void propagate(int evtmask) throws ContradictionException {
-		if (g.getPotentialNodes().size() == g.getMandatoryNodes().size() && !helper.isBiconnected()) {
+		if (g.getPotentialNodes().size() == g.getMandatoryNodes().size() && !isBiconnected()) {
 			fails();
 		}
 	}
 
+	private boolean isBiconnected() {
+		GraphAnalysisCache cache = g.getAnalysisCache();
+		return cache.getConnectedComponents(false).getNBCC() <= 1
+				&& cache.getArticulationPointsAndBridges().getArticulationPoints().isEmpty();
+	}
+
 	//***********************************************************************************
 	// INFO
 	//***********************************************************************************
@@ -85,7 +89,7 @@ public class PropBiconnected extends Propagator<UndirectedGraphVar> {
 		if (g.getPotentialNodes().size() == g.getMandatoryNodes().size()) {
 			return ESat.UNDEFINED;
 		}
-		if (!helper.isBiconnected()) {
+		if (!isBiconnected()) {
 			return ESat.FALSE;
 		}
 		if (g.isInstantiated()) {
@@ -36,6 +36,8 @@ import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+import org.chocosolver.util.objects.setDataStructures.SetFactory;
 
 import java.util.BitSet;
 
@@ -56,6 +58,7 @@ public class PropConnected extends Propagator<UndirectedGraphVar> {
 	private final int n;
 	private final UndirectedGraphVar g;
 	private final BitSet visited;
+	private final ISet unreachable;
 	private final UGVarConnectivityHelper helper;
 
 	//***********************************************************************************
@@ -67,6 +70,7 @@ public class PropConnected extends Propagator<UndirectedGraphVar> {
 		this.g = graph;
 		this.n = graph.getNbMaxNodes();
 		this.visited = new BitSet(n);
+		this.unreachable = SetFactory.makeBitSet(0);
 		this.helper = new UGVarConnectivityHelper(g);
 	}
 
@@ -94,23 +98,27 @@ public class PropConnected extends Propagator<UndirectedGraphVar> {
 			visited.clear();
 			int root = g.getMandatoryNodes().iterator().next();
 			helper.exploreFrom(root, visited);
+			unreachable.clear();
 			for (int o = visited.nextClearBit(0); o < n; o = visited.nextClearBit(o + 1)) {
-				g.removeNode(o, this);
+				unreachable.add(o);
 			}
+			g.removeNodes(unreachable, this);
 
 			if (g.getMandatoryNodes().size() > 1) {
 
-				helper.findMandatoryArticulationPointsAndBridges();
+				// shared with other propagators, only recomputed when the graph has changed (see GraphAnalysisCache)
+				UGVarConnectivityHelper apb = g.getAnalysisCache().getArticulationPointsAndBridges();
 
 				// 2 --- enforce articulation points that link two mandatory nodes
-				for(int ap:helper.getArticulationPoints()){
-					g.enforceNode(ap, this);
+				ISetIterator aps = apb.getArticulationPoints().iterator();
+				while (aps.hasNext()) {
+					g.enforceNode(aps.nextInt(), this);
 				}
 
 				// 3 --- enforce isthma that link two mandatory nodes (current version is bugged)
 				ISet mNodes = g.getMandatoryNodes();
-				TIntArrayList brI = helper.getBridgeFrom();
-				TIntArrayList brJ = helper.getBridgeTo();
+				TIntArrayList brI = apb.getBridgeFrom();
+				TIntArrayList brJ = apb.getBridgeTo();
 				for(int k=0; k<brI.size(); k++){
 					int i = brI.get(k);
 					int j = brJ.get(k);
@@ -132,13 +140,12 @@ public class PropConnected extends Propagator<UndirectedGraphVar> {
 		if (g.getMandatoryNodes().size() < 2) {
 			return ESat.UNDEFINED;
 		}
-		// BFS from a mandatory node
-		visited.clear();
-		int root = g.getMandatoryNodes().iterator().next();
-		helper.exploreFrom(root, visited);
-		// every mandatory node is reached?
-		for (int i : g.getMandatoryNodes()) {
-			if (!visited.get(i)) {
+		// every mandatory node belongs to the same connected component of the envelope?
+		int[] ccOf = g.getAnalysisCache().getConnectedComponents(false).getNodeCC();
+		int cc = ccOf[g.getMandatoryNodes().iterator().next()];
+		ISetIterator iter = g.getMandatoryNodes().iterator();
+		while (iter.hasNext()) {
+			if (ccOf[iter.nextInt()] != cc) {
 				return ESat.FALSE;
 			}
 		}
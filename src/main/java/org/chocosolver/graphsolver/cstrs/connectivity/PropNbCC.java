@@ -28,6 +28,7 @@
 package org.chocosolver.graphsolver.cstrs.connectivity;
 
 import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.graphsolver.util.ConnectivityFinder;
 import org.chocosolver.graphsolver.util.UGVarConnectivityHelper;
 import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
 import org.chocosolver.solver.constraints.Propagator;
@@ -37,6 +38,7 @@ import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.SetFactory;
 
 import java.util.BitSet;
 
@@ -55,9 +57,9 @@ public class PropNbCC extends Propagator<Variable> {
 
 	private final UndirectedGraphVar g;
 	private final IntVar k;
-	private final UGVarConnectivityHelper helper;
-	private final BitSet visitedMin, visitedMax;
-	private final int[] fifo, ccOf;
+	private ConnectivityFinder lbCCFinder, ubCCFinder;
+	private final BitSet mandatoryUBCC;
+	private final ISet unreachable;
 
 	//***********************************************************************************
 	// CONSTRUCTORS
@@ -67,11 +69,8 @@ public class PropNbCC extends Propagator<Variable> {
 		super(new Variable[]{graph, k}, PropagatorPriority.LINEAR, false);
 		this.g = graph;
 		this.k = k;
-		this.helper = new UGVarConnectivityHelper(g);
-		this.visitedMin = new BitSet(g.getNbMaxNodes());
-		this.visitedMax = new BitSet(g.getNbMaxNodes());
-		this.fifo = new int[g.getNbMaxNodes()];
-		this.ccOf = new int[g.getNbMaxNodes()];
+		this.mandatoryUBCC = new BitSet(g.getNbMaxNodes());
+		this.unreachable = SetFactory.makeBitSet(0);
 	}
 
 	//***********************************************************************************
@@ -84,7 +83,7 @@ public class PropNbCC extends Propagator<Variable> {
 		// trivial case
 		k.updateBounds(0, g.getPotentialNodes().size(), this);
 		if (k.getUB() == 0) {
-			for (int i : g.getPotentialNodes()) g.removeNode(i, this);
+			g.removeNodes(g.getPotentialNodes(), this);
 			return;
 		}
 
@@ -101,15 +100,18 @@ public class PropNbCC extends Propagator<Variable> {
 			if (k.getUB() == min) {
 
 				// 1 --- remove unreachable nodes
-				int n = g.getNbMaxNodes();
-				for (int o = visitedMin.nextClearBit(0); o < n; o = visitedMin.nextClearBit(o + 1)) {
-					g.removeNode(o, this);
+				unreachable.clear();
+				for (int cc = mandatoryUBCC.nextClearBit(0); cc < ubCCFinder.getNBCC(); cc = mandatoryUBCC.nextClearBit(cc + 1)) {
+					for (int o = ubCCFinder.getCCFirstNode()[cc]; o != -1; o = ubCCFinder.getCCNextNode()[o]) {
+						unreachable.add(o);
+					}
 				}
+				g.removeNodes(unreachable, this);
 
 				ISet mNodes = g.getMandatoryNodes();
 				if (mNodes.size() >= 2) {
 
-					helper.findMandatoryArticulationPointsAndBridges();
+					UGVarConnectivityHelper helper = g.getAnalysisCache().getArticulationPointsAndBridges();
 
 					// 2 --- enforce articulation points that link two mandatory nodes
 					for (int ap : helper.getArticulationPoints()) {
@@ -134,15 +136,14 @@ public class PropNbCC extends Propagator<Variable> {
 				ISet mNodes = g.getMandatoryNodes();
 				for(int i:g.getPotentialNodes()){
 					if(!mNodes.contains(i)){
-						for(int j:g.getPotNeighOf(i)){
-							g.removeArc(i,j,this);
-						}
+						g.removeArcs(i,g.getPotNeighOf(i),this);
 						g.enforceNode(i,this);
 					}
 				}
 				// --- remove edges between mandatory nodes that would merge 2 CC
 				// note that it can happen that 2 mandatory node already belong to the same CC
 				// if so the edge should not be filtered
+				int[] ccOf = lbCCFinder.getNodeCC();
 				for(int i:g.getPotentialNodes()){
 					for(int j:g.getPotNeighOf(i)){
 						if(ccOf[i] != ccOf[j]) {
@@ -155,47 +156,19 @@ public class PropNbCC extends Propagator<Variable> {
 	}
 
 	private int minCC() {
-		int min = 0;
-		visitedMin.clear();
-		for (int i : g.getMandatoryNodes().toArray()) {
-			if (!visitedMin.get(i)) {
-				helper.exploreFrom(i, visitedMin);
-				min++;
-			}
+		ubCCFinder = g.getAnalysisCache().getConnectedComponents(false);
+		int[] ccOf = ubCCFinder.getNodeCC();
+		mandatoryUBCC.clear();
+		for (int i : g.getMandatoryNodes()) {
+			mandatoryUBCC.set(ccOf[i]);
 		}
-		return min;
+		return mandatoryUBCC.cardinality();
 	}
 
 	private int maxCC() {
-		int nbK = 0;
-		visitedMax.clear();
-		for(int i:g.getMandatoryNodes().toArray()) {
-			if(!visitedMax.get(i)) {
-				exploreLBFrom(i, visitedMax);
-				nbK++;
-			}
-		}
+		lbCCFinder = g.getAnalysisCache().getConnectedComponents(true);
 		int delta = g.getPotentialNodes().size() - g.getMandatoryNodes().size();
-		return nbK + delta;
-	}
-
-	private void exploreLBFrom(int root, BitSet visited) {
-		int first = 0;
-		int last = 0;
-		int i = root;
-		fifo[last++] = i;
-		visited.set(i);
-		ccOf[i] = root; // mark cc of explored node
-		while (first < last) {
-			i = fifo[first++];
-			for (int j : g.getMandNeighOf(i)) { // mandatory edges only
-				if (!visited.get(j)) {
-					visited.set(j);
-					ccOf[j] = root; // mark cc of explored node
-					fifo[last++] = j;
-				}
-			}
-		}
+		return lbCCFinder.getNBCC() + delta;
 	}
 
 	//***********************************************************************************
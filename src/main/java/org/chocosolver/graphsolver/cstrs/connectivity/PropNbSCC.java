@@ -61,8 +61,6 @@ public class PropNbSCC extends Propagator<Variable> {
 		super(new Variable[]{graph, k}, PropagatorPriority.LINEAR, false);
 		this.g = graph;
 		this.k = k;
-		envCCFinder = new StrongConnectivityFinder(g.getUB());
-		kerCCFinder = new StrongConnectivityFinder(g.getLB());
 	}
 
 	//***********************************************************************************
@@ -110,7 +108,7 @@ public class PropNbSCC extends Propagator<Variable> {
 	}
 
 	public int minCC() {
-		envCCFinder.findAllSCC();
+		envCCFinder = g.getAnalysisCache().getStronglyConnectedComponents(false);
 		int ccs = envCCFinder.getNbSCC();
 		int minCC = 0;
 		for (int cc = 0; cc < ccs; cc++) {
@@ -125,7 +123,7 @@ public class PropNbSCC extends Propagator<Variable> {
 	}
 
 	public int maxCC() {
-		kerCCFinder.findAllSCC();
+		kerCCFinder = g.getAnalysisCache().getStronglyConnectedComponents(true);
 		int nbK = kerCCFinder.getNbSCC();
 		int delta = g.getPotentialNodes().size() - g.getMandatoryNodes().size();
 		return nbK + delta;
@@ -35,8 +35,6 @@ public class PropSizeMaxCC extends Propagator<Variable> {
 		super(new Variable[]{graph, sizeMaxCC}, PropagatorPriority.QUADRATIC, false);
 		this.g = graph;
 		this.sizeMaxCC = sizeMaxCC;
-		this.GLBCCFinder = new ConnectivityFinder(g.getLB());
-		this.GUBCCFinder = new ConnectivityFinder(g.getUB());
 	}
 
 	/* Methods */
@@ -49,8 +47,8 @@ public class PropSizeMaxCC extends Propagator<Variable> {
 	@Override
 	public void propagate(int evtmask) throws ContradictionException {
 		// Find CCs and their sizes
-		this.GLBCCFinder.findAllCC();
-		this.GUBCCFinder.findAllCC();
+		this.GLBCCFinder = g.getAnalysisCache().getConnectedComponents(true);
+		this.GUBCCFinder = g.getAnalysisCache().getConnectedComponents(false);
 		int nbCC_GLB = GLBCCFinder.getNBCC();
 		// Retrieve MAX_NCC(g) lower and upper bounds from g
 		int maxNCC_LB = GLBCCFinder.getSizeMaxCC();
@@ -82,16 +80,12 @@ public class PropSizeMaxCC extends Propagator<Variable> {
 			// a.
 			if (sizeMaxCC.getUB() == 1) {
 				for (int i : g.getPotentialNodes()) {
-					for (int j : g.getPotNeighOf(i)) {
-						g.removeArc(i, j, this);
-					}
+					g.removeArcs(i, g.getPotNeighOf(i), this);
 				}
 			}
 			// b.
 			if (sizeMaxCC.getUB() == 0) {
-				for (int i : g.getPotentialNodes()) {
-					g.removeNode(i, this);
-				}
+				g.removeNodes(g.getPotentialNodes(), this);
 			}
 			for (int cc = 0; cc < nbCC_GLB; cc++) {
 				int[] sizeCC = GLBCCFinder.getSizeCC();
@@ -122,7 +116,7 @@ public class PropSizeMaxCC extends Propagator<Variable> {
 			}
 			// e.
 			if (recomputeMaxNCC_UB) {
-				this.GUBCCFinder.findAllCC();
+				this.GUBCCFinder = g.getAnalysisCache().getConnectedComponents(false);
 				maxNCC_UB = GUBCCFinder.getSizeMaxCC();
 				if (maxNCC_UB < sizeMaxCC.getLB()) {
 					fails();
@@ -207,8 +201,8 @@ public class PropSizeMaxCC extends Propagator<Variable> {
 	@Override
 	public ESat isEntailed() {
 		// Find CCs and their sizes
-		this.GLBCCFinder.findAllCC();
-		this.GUBCCFinder.findAllCC();
+		this.GLBCCFinder = g.getAnalysisCache().getConnectedComponents(true);
+		this.GUBCCFinder = g.getAnalysisCache().getConnectedComponents(false);
 		// Retrieve MAX_NCC(g) lower and upper bounds from g
 		int maxNCC_LB = GLBCCFinder.getSizeMaxCC();
 		int maxNCC_UB = GUBCCFinder.getSizeMaxCC();
@@ -1,5 +1,6 @@
 package org.chocosolver.graphsolver.cstrs.connectivity;
 
+import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.graphsolver.util.ConnectivityFinder;
 import org.chocosolver.graphsolver.variables.GraphEventType;
 import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
@@ -9,15 +10,15 @@ import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.util.ESat;
+import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.SetFactory;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.BitSet;
 
 /**
  * Propagator ensuring that the number of vertices of the smallest connected is equal to sizeMinCC
  * (cf. MIN_NCC graph property http://www.emn.fr/x-info/sdemasse/gccat/sec2.2.2.4.html#uid940).
+ * Propagation relies on preallocated data structures only (no allocation in steady state).
  *
  * @author Dimitri Justeau-Allaire
  */
@@ -29,14 +30,27 @@ public class PropSizeMinCC extends Propagator<Variable> {
 	private IntVar sizeMinCC;
 	private ConnectivityFinder GLBCCFinder, GUBCCFinder;
 
+	/* Preallocated data structures */
+
+	private BitSet GUBMandatoryCCs; // GUB CCs containing at least one GLB node
+	private BitSet ccNodes; // nodes of the current GLB CC
+	private BitSet outNeighbors; // potential neighbors of the current GLB CC that are outside the CC
+	private TIntArrayList frontierFrom, frontierTo; // potential edges from the current GLB CC to outside the CC
+	private ISet toRemove; // nodes of GUB CCs that are too small
+
 	/* Constructor */
 
 	public PropSizeMinCC(UndirectedGraphVar graph, IntVar sizeMinCC) {
 		super(new Variable[]{graph, sizeMinCC}, PropagatorPriority.QUADRATIC, false);
 		this.g = graph;
 		this.sizeMinCC = sizeMinCC;
-		this.GLBCCFinder = new ConnectivityFinder(g.getLB());
-		this.GUBCCFinder = new ConnectivityFinder(g.getUB());
+		int n = g.getNbMaxNodes();
+		this.GUBMandatoryCCs = new BitSet(n);
+		this.ccNodes = new BitSet(n);
+		this.outNeighbors = new BitSet(n);
+		this.frontierFrom = new TIntArrayList(n);
+		this.frontierTo = new TIntArrayList(n);
+		this.toRemove = SetFactory.makeBitSet(0);
 	}
 
 	/* Methods */
@@ -50,7 +64,7 @@ public class PropSizeMinCC extends Propagator<Variable> {
 	 * @param nbNodesT The number of T-vertices.
 	 * @param nbNodesU The number of U-vertices.
 	 * @return The lower bound of the graph variable MIN_NCC property.
-	 * Beware that this.GLBCCFinder.findAllCC() and this.GLBCCFinder.findCCSizes() must be called before.
+	 * Beware that this.GLBCCFinder must be up-to-date.
 	 */
 	private int getLBMinNCC(int nbNodesT, int nbNodesU) {
 		if (nbNodesT == 0) {
@@ -67,11 +81,15 @@ public class PropSizeMinCC extends Propagator<Variable> {
 	/**
 	 * @param nbNodesT The number of T-vertices.
 	 * @return The upper bound of the graph variable MIN_NCC property.
-	 * Beware that this.GUBCCFinder.findAllCC() and this.GUBCCFinder.findCCSizes() must be called before.
+	 * Beware that this.GUBCCFinder and this.GUBMandatoryCCs must be up-to-date.
 	 */
 	private int getUBMinNCC(int nbNodesT) {
 		if (nbNodesT > 0) {
-			return getGUBMandatoryCCs().stream().mapToInt(cc -> GUBCCFinder.getSizeCC()[cc]).min().getAsInt();
+			int min = Integer.MAX_VALUE;
+			for (int cc = GUBMandatoryCCs.nextSetBit(0); cc >= 0; cc = GUBMandatoryCCs.nextSetBit(cc + 1)) {
+				min = Math.min(min, GUBCCFinder.getSizeCC()[cc]);
+			}
+			return min;
 		} else {
 			return this.GUBCCFinder.getSizeMaxCC();
 		}
@@ -80,12 +98,13 @@ public class PropSizeMinCC extends Propagator<Variable> {
 	@Override
 	public void propagate(int evtmask) throws ContradictionException {
 		// Find CCs and their sizes
-		this.GLBCCFinder.findAllCC();
-		this.GUBCCFinder.findAllCC();
+		this.GLBCCFinder = g.getAnalysisCache().getConnectedComponents(true);
+		this.GUBCCFinder = g.getAnalysisCache().getConnectedComponents(false);
 		// Compute |V_T|, |V_U| and |V_TU|
 		int nbNodesT = g.getMandatoryNodes().size();
 		int nbNodesTU = g.getPotentialNodes().size();
 		int nbNodesU = nbNodesTU - nbNodesT;
+		findGUBMandatoryCCs();
 		// Compute MIN_NCC(g) lower and upper bounds from g
 		int minNCC_LB = getLBMinNCC(nbNodesT, nbNodesU);
 		int minNCC_UB = getUBMinNCC(nbNodesT);
@@ -111,21 +130,24 @@ public class PropSizeMinCC extends Propagator<Variable> {
 			sizeMinCC.updateUpperBound(minNCC_UB, this);
 		}
 		// 7.
-		for (int cc : getGUBOptionalCCs()) {
+		int nbGUBCC = GUBCCFinder.getNBCC();
+		toRemove.clear();
+		for (int cc = GUBMandatoryCCs.nextClearBit(0); cc < nbGUBCC; cc = GUBMandatoryCCs.nextClearBit(cc + 1)) {
 			if (GUBCCFinder.getSizeCC()[cc] < sizeMinCC.getLB()) {
 				int i = GUBCCFinder.getCCFirstNode()[cc];
 				while (i != -1) {
-					g.removeNode(i, this);
+					toRemove.add(i);
 					i = GUBCCFinder.getCCNextNode()[i];
 				}
 			}
 		}
+		g.removeNodes(toRemove, this);
 		// 8.
 		boolean recomputeMinNCC_LB = false;
-		Set<Integer> GUBMandatoryCCs = getGUBMandatoryCCs();
+		findGUBMandatoryCCs();
 		if (minNCC_LB < sizeMinCC.getLB()) {
 			// a
-			for (int cc : GUBMandatoryCCs) {
+			for (int cc = GUBMandatoryCCs.nextSetBit(0); cc >= 0; cc = GUBMandatoryCCs.nextSetBit(cc + 1)) {
 				if (GUBCCFinder.getSizeCC()[cc] == sizeMinCC.getLB()) {
 					int i = GUBCCFinder.getCCFirstNode()[cc];
 					while (i != -1) {
@@ -138,24 +160,19 @@ public class PropSizeMinCC extends Propagator<Variable> {
 			// b.
 			for (int cc = 0; cc < GLBCCFinder.getNBCC(); cc++) {
 				if (GLBCCFinder.getSizeCC()[cc] < sizeMinCC.getLB()) {
-					Map<Integer, Set<Integer>> ccPotentialNeighbors = getGLBCCPotentialNeighbors(cc);
-					if (ccPotentialNeighbors.size() == 1) {
-						int i = ccPotentialNeighbors.keySet().iterator().next();
-						Set<Integer> outNeighbors = ccPotentialNeighbors.get(i);
-						if (outNeighbors.size() == 1) {
-							int j = outNeighbors.iterator().next();
+					int nbFrontierNodes = findGLBCCPotentialNeighbors(cc);
+					if (nbFrontierNodes == 1) {
+						if (frontierTo.size() == 1) {
+							int i = frontierFrom.getQuick(0);
+							int j = frontierTo.getQuick(0);
 							g.enforceNode(j, this);
 							g.enforceArc(i, j, this);
 							recomputeMinNCC_LB = true;
 						}
 					}
-					if (ccPotentialNeighbors.size() > 1) {
-						Set<Integer> outNeighbors = new HashSet<>();
-						for (Set<Integer> i : ccPotentialNeighbors.values()) {
-							outNeighbors.addAll(i);
-						}
-						if (outNeighbors.size() == 1) {
-							int j = outNeighbors.iterator().next();
+					if (nbFrontierNodes > 1) {
+						if (outNeighbors.cardinality() == 1) {
+							int j = outNeighbors.nextSetBit(0);
 							g.enforceNode(j, this);
 							recomputeMinNCC_LB = true;
 						}
@@ -166,7 +183,7 @@ public class PropSizeMinCC extends Propagator<Variable> {
 		// 9.
 		if (recomputeMinNCC_LB) {
 			// Recompute minNCC_LB
-			this.GLBCCFinder.findAllCC();
+			this.GLBCCFinder = g.getAnalysisCache().getConnectedComponents(true);
 			nbNodesT = g.getMandatoryNodes().size();
 			nbNodesU = nbNodesTU - nbNodesT;
 			minNCC_LB = getLBMinNCC(nbNodesT, nbNodesU);
@@ -182,9 +199,7 @@ public class PropSizeMinCC extends Propagator<Variable> {
 		if (minNCC_UB > sizeMinCC.getUB()) {
 			// a.
 			if (sizeMinCC.getUB() == 0) {
-				for (int i : g.getPotentialNodes()) {
-					g.removeNode(i, this);
-				}
+				g.removeNodes(g.getPotentialNodes(), this);
 			}
 			// b.
 			if (sizeMinCC.getUB() == 1 && nbNodesU == 1 && GLBCCFinder.getSizeMinCC() > 1) {
@@ -224,121 +239,82 @@ public class PropSizeMinCC extends Propagator<Variable> {
 		}
 		// 11.
 		if (nbCandidates == 1 && nbNodesU == 0) {
-			Map<Integer, Set<Integer>> ccNeighbors = getGLBCCPotentialNeighbors(candidate1);
-			for (int i : ccNeighbors.keySet()) {
-				for (int j : ccNeighbors.get(i)) {
-					g.removeArc(i, j, this);
-				}
+			findGLBCCPotentialNeighbors(candidate1);
+			for (int k = 0; k < frontierFrom.size(); k++) {
+				g.removeArc(frontierFrom.getQuick(k), frontierTo.getQuick(k), this);
 			}
 		}
 		// 12.
 		if (nbCandidates == 2 && nbNodesU == 0 && (s1 + s2 > sizeMinCC.getUB())) {
-			Map<Integer, Set<Integer>> cc1Neighbors = getGLBCCPotentialNeighbors(candidate1);
-			for (int i : cc1Neighbors.keySet()) {
-				for (int j : cc1Neighbors.get(i)) {
-					if (GLBCCFinder.getNodeCC()[j] == candidate2) {
-						g.removeArc(i, j, this);
-					}
+			findGLBCCPotentialNeighbors(candidate1);
+			for (int k = 0; k < frontierFrom.size(); k++) {
+				int j = frontierTo.getQuick(k);
+				if (GLBCCFinder.getNodeCC()[j] == candidate2) {
+					g.removeArc(frontierFrom.getQuick(k), j, this);
 				}
 			}
 		}
 	}
 
 	/**
-	 * @return The indices of the mandatory GUB CCs (i.e. containing at least one node in GLB).
+	 * Computes the indices of the mandatory GUB CCs (i.e. containing at least one node in GLB) into GUBMandatoryCCs.
+	 * Other GUB CCs are optional.
+	 * Beware that this.GUBCCFinder must be up-to-date.
 	 */
-	private Set<Integer> getGUBMandatoryCCs() {
-		Set<Integer> mandatoryCCs = new HashSet<>();
-		for (int cc = 0; cc < this.GUBCCFinder.getNBCC(); cc++) {
-			int i = GUBCCFinder.getCCFirstNode()[cc];
-			while (i != -1) {
-				if (g.getLB().getNodes().contains(i)) {
-					mandatoryCCs.add(cc);
-					break;
-				}
-				i = GUBCCFinder.getCCNextNode()[i];
-			}
+	private void findGUBMandatoryCCs() {
+		GUBMandatoryCCs.clear();
+		int[] nodeCC = GUBCCFinder.getNodeCC();
+		for (int i : g.getMandatoryNodes()) {
+			GUBMandatoryCCs.set(nodeCC[i]);
 		}
-		return mandatoryCCs;
-	}
-
-	/**
-	 * @return The indices of the optional GUB CCs (i.e. not containing any node in GLB).
-	 */
-	private Set<Integer> getGUBOptionalCCs() {
-		Set<Integer> optionalCCs = new HashSet<>();
-		for (int cc = 0; cc < this.GUBCCFinder.getNBCC(); cc++) {
-			int currentNode = GUBCCFinder.getCCFirstNode()[cc];
-			boolean addCC = true;
-			while (currentNode != -1) {
-				if (g.getLB().getNodes().contains(currentNode)) {
-					addCC = false;
-					break;
-				}
-				currentNode = GUBCCFinder.getCCNextNode()[currentNode];
-			}
-			if (addCC) {
-				optionalCCs.add(cc);
-			}
-		}
-		return optionalCCs;
-	}
-
-	/**
-	 * Retrieve the nodes of a GLB CC.
-	 *
-	 * @param cc The GLB CC index.
-	 * @return The set of nodes of the GLB CC cc.
-	 */
-	private Set<Integer> getGLBCCNodes(int cc) {
-		Set<Integer> ccNodes = new HashSet<>();
-		for (int i = GLBCCFinder.getCCFirstNode()[cc]; i >= 0; i = GLBCCFinder.getCCNextNode()[i]) {
-			ccNodes.add(i);
-		}
-		return ccNodes;
 	}
 
 	/**
 	 * Retrieve the potential CC neighbors (i.e. in GUB and not in the CC) of a GLB CC.
+	 * Potential edges from a node of the CC to a node outside the CC are stored in (frontierFrom, frontierTo)
+	 * and the (distinct) nodes outside the CC are stored in outNeighbors.
 	 *
 	 * @param cc The GLB CC index.
-	 * @return A map with frontier nodes of the CC as keys (Integer), and their potential neighbors that are
-	 * outside the CC (Set<Integer>). Only the frontier nodes that have at least one potential neighbor outside the
-	 * CC are stored in the map.
-	 * {
-	 * frontierNode1: {out-CC potential neighbors},
-	 * frontierNode3: {...},
-	 * ...
-	 * }
+	 * @return The number of frontier nodes of the CC, i.e. nodes of the CC having at least one potential neighbor
+	 * outside the CC.
 	 */
-	private Map<Integer, Set<Integer>> getGLBCCPotentialNeighbors(int cc) {
-		Map<Integer, Set<Integer>> ccPotentialNeighbors = new HashMap<>();
+	private int findGLBCCPotentialNeighbors(int cc) {
+		frontierFrom.resetQuick();
+		frontierTo.resetQuick();
+		outNeighbors.clear();
+		ccNodes.clear();
 		// Retrieve all nodes of CC
-		Set<Integer> ccNodes = getGLBCCNodes(cc);
+		for (int i = GLBCCFinder.getCCFirstNode()[cc]; i >= 0; i = GLBCCFinder.getCCNextNode()[i]) {
+			ccNodes.set(i);
+		}
 		// Retrieve neighbors of the nodes of CC that are outside the CC
-		for (int i : ccNodes) {
-			Set<Integer> outNeighbors = new HashSet<>();
+		int nbFrontierNodes = 0;
+		for (int i = GLBCCFinder.getCCFirstNode()[cc]; i >= 0; i = GLBCCFinder.getCCNextNode()[i]) {
+			int size = frontierTo.size();
 			for (int j : g.getPotNeighOf(i)) {
-				if (!ccNodes.contains(j)) {
-					outNeighbors.add(j);
+				if (!ccNodes.get(j)) {
+					frontierFrom.add(i);
+					frontierTo.add(j);
+					outNeighbors.set(j);
 				}
 			}
-			if (outNeighbors.size() > 0) {
-				ccPotentialNeighbors.put(i, outNeighbors);
+			if (frontierTo.size() > size) {
+				nbFrontierNodes++;
 			}
 		}
-		return ccPotentialNeighbors;
+		return nbFrontierNodes;
 	}
 
 	@Override
 	public ESat isEntailed() {
 		// Find CCs and their sizes
-		this.GLBCCFinder.findAllCC();
-		this.GUBCCFinder.findAllCC();
+		this.GLBCCFinder = g.getAnalysisCache().getConnectedComponents(true);
+		this.GUBCCFinder = g.getAnalysisCache().getConnectedComponents(false);
 		// Compute |V_T|, |V_U| and |V_TU|
 		int nbNodesT = g.getMandatoryNodes().size();
 		int nbNodesTU = g.getPotentialNodes().size();
 		int nbNodesU = nbNodesTU - nbNodesT;
+		findGUBMandatoryCCs();
 		// Compute MIN_NCC(g) lower bound from g
 		int minNCC_LB = getLBMinNCC(nbNodesT, nbNodesU);
 		// Compute MIN_NCC(g) upper bound from g
@@ -28,6 +28,7 @@
 package org.chocosolver.graphsolver.cstrs.cost.trees.lagrangian;
 
 import org.chocosolver.graphsolver.cstrs.cost.GraphLagrangianRelaxation;
+import org.chocosolver.graphsolver.util.EdgeIndex;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.util.objects.graphs.UndirectedGraph;
 import org.chocosolver.util.objects.setDataStructures.SetType;
@@ -42,6 +43,7 @@ public abstract class AbstractTreeFinder {
 	// INPUT
 	protected UndirectedGraph g;    // graph
 	protected int n;                // number of nodes
+	protected final EdgeIndex edges; // edges of g (or of a supergraph)
 	// OUTPUT
 	protected UndirectedGraph Tree;
 	protected double treeCost;
@@ -52,8 +54,13 @@ public abstract class AbstractTreeFinder {
 	// CONSTRUCTORS
 	//***********************************************************************************
 
-	public AbstractTreeFinder(int nbNodes, GraphLagrangianRelaxation propagator) {
-		n = nbNodes;
+	/**
+	 * @param edges      index of every edge the graph may contain, edge costs are given in this order
+	 * @param propagator the Lagrangian relaxation using this finder
+	 */
+	public AbstractTreeFinder(EdgeIndex edges, GraphLagrangianRelaxation propagator) {
+		n = edges.getNbNodes();
+		this.edges = edges;
 		Tree = new UndirectedGraph(n, SetType.LINKED_LIST, false);
 		propHK = propagator;
 	}
@@ -62,7 +69,13 @@ public abstract class AbstractTreeFinder {
 	// METHODS
 	//***********************************************************************************
 
-	public abstract void computeMST(double[][] costMatrix, UndirectedGraph graph) throws ContradictionException;
+	/**
+	 * Computes a minimum spanning tree of graph
+	 *
+	 * @param edgeCosts cost of each edge, indexed by the edge index
+	 * @param graph     current graph, whose edges must be indexed
+	 */
+	public abstract void computeMST(double[] edgeCosts, UndirectedGraph graph) throws ContradictionException;
 
 	public abstract void performPruning(double UB) throws ContradictionException;
 
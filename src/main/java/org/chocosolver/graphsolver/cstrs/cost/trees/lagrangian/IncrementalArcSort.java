@@ -0,0 +1,153 @@
+package org.chocosolver.graphsolver.cstrs.cost.trees.lagrangian;
+
+import org.chocosolver.graphsolver.util.EdgeIndex;
+import org.chocosolver.util.sort.ArraySort;
+import org.chocosolver.util.sort.IntComparator;
+
+import java.util.Arrays;
+
+/**
+ * Sorts edges by increasing costs, reusing the order of the previous call.
+ * Within a Lagrangian relaxation, only multipliers change between two calls : the cost of edge (i,j) shifts by
+ * the variation of the multipliers of i and j, so that the previous order is nearly sorted.
+ * Edges which were already sorted are repaired by insertion sort (linear for nearly sorted arrays),
+ * other edges (e.g. restored by a backtrack) are sorted apart and merged.
+ * If the insertion sort moves edges too much, it is replaced by a merge sort.
+ *
+ * @since 18/10/2026.
+ */
+public class IncrementalArcSort {
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	// maximum number of shifts per edge of the insertion sort, before switching to a merge sort
+	private static final int MAX_SHIFTS_PER_ARC = 4;
+
+	private final int[] previous, added;
+	private int previousSize;
+	// mark[e] == stamp iff e is to be sorted, mark[e] == -stamp iff e is in the previous order as well
+	private final int[] mark;
+	private int stamp;
+	private double[] costs;
+	private final ArraySort sorter;
+	private final IntComparator comparator;
+	private boolean incremental;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	/**
+	 * @param edges index of the edges to sort
+	 */
+	public IncrementalArcSort(EdgeIndex edges) {
+		int m = edges.getNbEdges();
+		previous = new int[m];
+		added = new int[m];
+		mark = new int[m];
+		incremental = true;
+		sorter = new ArraySort(m, false, true);
+		comparator = (i1, i2) -> {
+			if (costs[i1] < costs[i2])
+				return -1;
+			else if (costs[i1] > costs[i2])
+				return 1;
+			else return 0;
+		};
+	}
+
+	//***********************************************************************************
+	// METHODS
+	//***********************************************************************************
+
+	/**
+	 * Sorts arcs[0..size-1] by increasing costs
+	 *
+	 * @param arcs  distinct edge indices
+	 * @param size  number of edges to sort
+	 * @param costs cost of each edge, by edge index
+	 */
+	public void sort(int[] arcs, int size, double[] costs) {
+		this.costs = costs;
+		if (!incremental) {
+			sorter.sort(arcs, size, comparator);
+			return;
+		}
+		if (stamp == Integer.MAX_VALUE) {
+			Arrays.fill(mark, 0);
+			stamp = 0;
+		}
+		stamp++;
+		for (int k = 0; k < size; k++) {
+			mark[arcs[k]] = stamp;
+		}
+		// edges of the previous order still to be sorted, in the previous order
+		int nbKept = 0;
+		for (int k = 0; k < previousSize; k++) {
+			int e = previous[k];
+			if (mark[e] == stamp) {
+				mark[e] = -stamp;
+				previous[nbKept++] = e;
+			}
+		}
+		int nbAdded = 0;
+		for (int k = 0; k < size; k++) {
+			if (mark[arcs[k]] == stamp) {
+				added[nbAdded++] = arcs[k];
+			}
+		}
+		if (!insertionSort(previous, nbKept, (long) MAX_SHIFTS_PER_ARC * nbKept)) {
+			sorter.sort(previous, nbKept, comparator);
+		}
+		if (nbAdded > 0) {
+			sorter.sort(added, nbAdded, comparator);
+		}
+		// merge
+		int a = 0;
+		int b = 0;
+		for (int k = 0; k < size; k++) {
+			if (b == nbAdded || (a < nbKept && costs[previous[a]] <= costs[added[b]])) {
+				arcs[k] = previous[a++];
+			} else {
+				arcs[k] = added[b++];
+			}
+		}
+		System.arraycopy(arcs, 0, previous, 0, size);
+		previousSize = size;
+	}
+
+	/**
+	 * @return true iff t[0..size-1] has been sorted within maxShifts shifts
+	 */
+	private boolean insertionSort(int[] t, int size, long maxShifts) {
+		long shifts = 0;
+		for (int k = 1; k < size; k++) {
+			int e = t[k];
+			double c = costs[e];
+			int l = k - 1;
+			if (costs[t[l]] <= c) {
+				continue;
+			}
+			while (l >= 0 && costs[t[l]] > c) {
+				t[l + 1] = t[l];
+				l--;
+			}
+			t[l + 1] = e;
+			shifts += k - 1 - l;
+			if (shifts > maxShifts) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param b true (default) to reuse the previous order, false to sort from scratch at each call
+	 */
+	public void setIncremental(boolean b) {
+		incremental = b;
+		previousSize = 0;
+	}
+}
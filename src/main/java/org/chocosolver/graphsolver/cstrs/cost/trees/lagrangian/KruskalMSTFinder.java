@@ -29,14 +29,13 @@ package org.chocosolver.graphsolver.cstrs.cost.trees.lagrangian;
 
 import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.graphsolver.cstrs.cost.GraphLagrangianRelaxation;
+import org.chocosolver.graphsolver.util.EdgeIndex;
 import org.chocosolver.graphsolver.util.LCAGraphManager;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.util.objects.graphs.DirectedGraph;
 import org.chocosolver.util.objects.graphs.UndirectedGraph;
 import org.chocosolver.util.objects.setDataStructures.ISet;
 import org.chocosolver.util.objects.setDataStructures.SetType;
-import org.chocosolver.util.sort.ArraySort;
-import org.chocosolver.util.sort.IntComparator;
 
 import java.util.BitSet;
 
@@ -48,11 +47,10 @@ public class KruskalMSTFinder extends AbstractTreeFinder {
 
 	protected TIntArrayList ma;     //mandatory arcs (i,j) <-> i*n+j
 	// indexes are sorted
-	protected int[] sortedArcs;   // from sorted to lex
-	protected int[][] indexOfArc; // from lex (i,j) to sorted (i+1)*n+j
+	protected int[] sortedArcs;   // from sorted to edge index
 	protected BitSet activeArcs; // if sorted is active
 	// UNSORTED
-	protected double[] costs;             // cost of the lex arc
+	protected double[] costs;             // cost of each edge, by edge index
 	protected int[] p, rank;
 	// CCtree
 	protected int ccN;
@@ -63,23 +61,20 @@ public class KruskalMSTFinder extends AbstractTreeFinder {
 	protected int fromInterest, cctRoot;
 	protected BitSet useful;
 	protected double minTArc, maxTArc;
-	protected double[][] distMatrix;
 
 	//sort
-	protected ArraySort sorter;
-	protected IntComparator comparator;
+	protected IncrementalArcSort arcSort;
 
 	//***********************************************************************************
 	// CONSTRUCTOR
 	//***********************************************************************************
 
-	public KruskalMSTFinder(int nbNodes, GraphLagrangianRelaxation propagator) {
-		super(nbNodes, propagator);
-		activeArcs = new BitSet(n * n);
+	public KruskalMSTFinder(EdgeIndex edges, GraphLagrangianRelaxation propagator) {
+		super(edges, propagator);
+		int m = edges.getNbEdges();
+		activeArcs = new BitSet(m);
 		rank = new int[n];
-		costs = new double[n * n];
-		sortedArcs = new int[n * n];
-		indexOfArc = new int[n][n];
+		sortedArcs = new int[m];
 		p = new int[n];
 		// CCtree
 		ccN = 2 * n + 1;
@@ -90,23 +85,16 @@ public class KruskalMSTFinder extends AbstractTreeFinder {
 		useful = new BitSet(n);
 		lca = new LCAGraphManager(ccN);
 		//sort
-		sorter = new ArraySort(n * n, false, true);
-		comparator = (i1, i2) -> {
-			if (costs[i1] < costs[i2])
-				return -1;
-			else if (costs[i1] > costs[i2])
-				return 1;
-			else return 0;
-		};
+		arcSort = new IncrementalArcSort(edges);
 	}
 
 	//***********************************************************************************
 	// findUF MST
 	//***********************************************************************************
 
-	public void computeMST(double[][] costs, UndirectedGraph graph) throws ContradictionException {
+	public void computeMST(double[] edgeCosts, UndirectedGraph graph) throws ContradictionException {
 		g = graph;
-		distMatrix = costs;
+		costs = edgeCosts;
 		ma = propHK.getMandatoryArcsList();
 		sortArcs();
 		treeCost = 0;
@@ -134,23 +122,16 @@ public class KruskalMSTFinder extends AbstractTreeFinder {
 			nei = g.getNeighOf(i);
 			for (int j : nei) {
 				if (i < j) {
-					sortedArcs[idx] = i * n + j;
-					costs[i * n + j] = distMatrix[i][j];
-					idx++;
+					sortedArcs[idx++] = edges.getEdge(i, j);
 				}
 			}
 		}
 		for (int i = n; i < ccN; i++) {
 			ccTree.removeNode(i);
 		}
-		sorter.sort(sortedArcs, size, comparator);
-		int v;
+		arcSort.sort(sortedArcs, size, costs);
 		activeArcs.clear();
 		activeArcs.set(0, size);
-		for (idx = 0; idx < size; idx++) {
-			v = sortedArcs[idx];
-			indexOfArc[v / n][v % n] = idx;
-		}
 	}
 
 	//***********************************************************************************
@@ -183,8 +164,8 @@ public class KruskalMSTFinder extends AbstractTreeFinder {
 		}
 		// Trivially infeasible arcs
 		while (idx >= 0) {
-			if (!Tree.edgeExists(sortedArcs[idx] / n, sortedArcs[idx] % n)) {
-				propHK.remove(sortedArcs[idx] / n, sortedArcs[idx] % n);
+			if (!Tree.edgeExists(edges.getFrom(sortedArcs[idx]), edges.getTo(sortedArcs[idx]))) {
+				propHK.remove(edges.getFrom(sortedArcs[idx]), edges.getTo(sortedArcs[idx]));
 				activeArcs.clear(idx);
 			}
 			idx = activeArcs.nextSetBit(idx + 1);
@@ -206,14 +187,14 @@ public class KruskalMSTFinder extends AbstractTreeFinder {
 		// Maybe interesting
 		useful.clear();
 		while (idx >= 0 && costs[sortedArcs[idx]] - maxTArc <= delta) {
-			useful.set(sortedArcs[idx] / n);
-			useful.set(sortedArcs[idx] % n);
+			useful.set(edges.getFrom(sortedArcs[idx]));
+			useful.set(edges.getTo(sortedArcs[idx]));
 			idx = activeArcs.nextSetBit(idx + 1);
 		}
 		// Trivially infeasible arcs
 		while (idx >= 0) {
-			if (!Tree.edgeExists(sortedArcs[idx] / n, sortedArcs[idx] % n)) {
-				propHK.remove(sortedArcs[idx] / n, sortedArcs[idx] % n);
+			if (!Tree.edgeExists(edges.getFrom(sortedArcs[idx]), edges.getTo(sortedArcs[idx]))) {
+				propHK.remove(edges.getFrom(sortedArcs[idx]), edges.getTo(sortedArcs[idx]));
 				activeArcs.clear(idx);
 			}
 			idx = activeArcs.nextSetBit(idx + 1);
@@ -255,8 +236,8 @@ public class KruskalMSTFinder extends AbstractTreeFinder {
 		int i, j;
 		double repCost;
 		for (int arc = activeArcs.nextSetBit(fi); arc >= 0; arc = activeArcs.nextSetBit(arc + 1)) {
-			i = sortedArcs[arc] / n;
-			j = sortedArcs[arc] % n;
+			i = edges.getFrom(sortedArcs[arc]);
+			j = edges.getTo(sortedArcs[arc]);
 			if (!Tree.edgeExists(i, j)) {
 				if (propHK.isMandatory(i, j)) {
 					throw new UnsupportedOperationException();
@@ -264,7 +245,7 @@ public class KruskalMSTFinder extends AbstractTreeFinder {
 //				repCost = ccTEdgeCost[getLCA(i,j)];
 				repCost = ccTEdgeCost[lca.getLCA(i, j)];
 //				PropSymmetricHeldKarp.reducedCosts[i][j] = repCost;
-				if (costs[i * n + j] - repCost > delta) {
+				if (costs[sortedArcs[arc]] - repCost > delta) {
 					activeArcs.clear(arc);
 					propHK.remove(i, j);
 				}
@@ -290,7 +271,7 @@ public class KruskalMSTFinder extends AbstractTreeFinder {
 				linkUF(rFrom, rTo);
 				Tree.addEdge(from, to);
 				updateCCTree(rFrom, rTo, val);
-				treeCost += costs[arc];
+				treeCost += costs[edges.getEdge(from, to)];
 				tSize++;
 			} else {
 				propHK.contradiction();
@@ -310,8 +291,8 @@ public class KruskalMSTFinder extends AbstractTreeFinder {
 			if (idx < 0) {
 				propHK.contradiction();
 			}
-			from = sortedArcs[idx] / n;
-			to = sortedArcs[idx] % n;
+			from = edges.getFrom(sortedArcs[idx]);
+			to = edges.getTo(sortedArcs[idx]);
 			rFrom = findUF(from);
 			rTo = findUF(to);
 			if (rFrom != rTo) {
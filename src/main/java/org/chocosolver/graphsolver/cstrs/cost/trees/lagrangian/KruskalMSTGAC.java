@@ -29,14 +29,13 @@ package org.chocosolver.graphsolver.cstrs.cost.trees.lagrangian;
 
 import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.graphsolver.cstrs.cost.GraphLagrangianRelaxation;
+import org.chocosolver.graphsolver.util.EdgeIndex;
 import org.chocosolver.graphsolver.util.LCAGraphManager;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.util.objects.graphs.DirectedGraph;
 import org.chocosolver.util.objects.graphs.UndirectedGraph;
 import org.chocosolver.util.objects.setDataStructures.ISet;
 import org.chocosolver.util.objects.setDataStructures.SetType;
-import org.chocosolver.util.sort.ArraySort;
-import org.chocosolver.util.sort.IntComparator;
 
 import java.util.BitSet;
 
@@ -48,10 +47,10 @@ public class KruskalMSTGAC extends AbstractTreeFinder {
 
 	private TIntArrayList ma;     //mandatory arcs (i,j) <-> i*n+j
 	// indexes are sorted
-	private final int[] sortedArcs;   // from sorted to lex
+	private final int[] sortedArcs;   // from sorted to edge index
 	private final BitSet activeArcs; // if sorted is active
 	// UNSORTED
-	private final double[] costs;             // cost of the lex arc
+	private double[] costs;             // cost of each edge, by edge index
 	private final int[] p, rank;
 	// CCtree
 	private int ccN;
@@ -62,24 +61,25 @@ public class KruskalMSTGAC extends AbstractTreeFinder {
 	private int cctRoot;
 	private final BitSet useful;
 	private double maxTArc;
-	private final int[][] map;
-	private final double[][] repCosts;
+	// tree edge (i,parent[i]) can be replaced by edge map[i] (-1 if none), and repCosts is indexed by edges
+	private final int[] parent;
+	private final int[] map;
+	private final double[] repCosts;
 	private final int[] fifo;
 
 	//sort
-	private final ArraySort sorter;
-	private final IntComparator comparator;
+	private final IncrementalArcSort arcSort;
 
 	//***********************************************************************************
 	// CONSTRUCTORS
 	//***********************************************************************************
 
-	public KruskalMSTGAC(int nbNodes, GraphLagrangianRelaxation propagator) {
-		super(nbNodes, propagator);
-		activeArcs = new BitSet(n * n);
+	public KruskalMSTGAC(EdgeIndex edges, GraphLagrangianRelaxation propagator) {
+		super(edges, propagator);
+		int m = edges.getNbEdges();
+		activeArcs = new BitSet(m);
 		rank = new int[n];
-		costs = new double[n * n];
-		sortedArcs = new int[n * n];
+		sortedArcs = new int[m];
 		p = new int[n];
 		// CCtree
 		ccN = 2 * n + 1;
@@ -89,21 +89,15 @@ public class KruskalMSTGAC extends AbstractTreeFinder {
 		ccTp = new int[n];
 		useful = new BitSet(n);
 		lca = new LCAGraphManager(ccN);
-		map = new int[n][n];
-		repCosts = new double[n][n];
+		parent = new int[n];
+		map = new int[n];
+		repCosts = new double[m];
 		fifo = new int[n];
 		//sort
-		sorter = new ArraySort(n * n, false, true);
-		comparator = (i1, i2) -> {
-			if (costs[i1] < costs[i2])
-				return -1;
-			else if (costs[i1] > costs[i2])
-				return 1;
-			else return 0;
-		};
+		arcSort = new IncrementalArcSort(edges);
 	}
 
-	private void sortArcs(double[][] costMatrix) {
+	private void sortArcs() {
 		int size = 0;
 		for (int i = 0; i < n; i++) {
 			p[i] = i;
@@ -122,9 +116,7 @@ public class KruskalMSTGAC extends AbstractTreeFinder {
 			for (int j : nei) {
 				assert i != j;
 				if (i < j) {
-					sortedArcs[idx] = i * n + j;
-					costs[i * n + j] = costMatrix[i][j];
-					idx++;
+					sortedArcs[idx++] = edges.getEdge(i, j);
 				}
 			}
 		}
@@ -132,7 +124,7 @@ public class KruskalMSTGAC extends AbstractTreeFinder {
 		for (int i = n; i < ccN; i++) {
 			ccTree.removeNode(i);
 		}
-		sorter.sort(sortedArcs, size, comparator);
+		arcSort.sort(sortedArcs, size, costs);
 		activeArcs.clear();
 		activeArcs.set(0, size);
 	}
@@ -141,10 +133,11 @@ public class KruskalMSTGAC extends AbstractTreeFinder {
 	// METHODS
 	//***********************************************************************************
 
-	public void computeMST(double[][] costs, UndirectedGraph graph) throws ContradictionException {
+	public void computeMST(double[] edgeCosts, UndirectedGraph graph) throws ContradictionException {
 		g = graph;
+		costs = edgeCosts;
 		ma = propHK.getMandatoryArcsList();
-		sortArcs(costs);
+		sortArcs();
 		treeCost = 0;
 		cctRoot = n - 1;
 		int tSize = addMandatoryArcs();
@@ -170,6 +163,7 @@ public class KruskalMSTGAC extends AbstractTreeFinder {
 		useful.clear();
 		useful.set(0);
 		ccTp[0] = 0;
+		parent[0] = 0;
 		int first = 0;
 		int last = first;
 		int k = 0;
@@ -180,8 +174,8 @@ public class KruskalMSTGAC extends AbstractTreeFinder {
 			for (int s : nei) {
 				if (ccTp[s] == -1) {
 					ccTp[s] = k;
-					map[s][k] = -1;
-					map[k][s] = -1;
+					parent[s] = k;
+					map[s] = -1;
 					if (!useful.get(s)) {
 						fifo[last++] = s;
 						useful.set(s);
@@ -191,20 +185,20 @@ public class KruskalMSTGAC extends AbstractTreeFinder {
 		}
 	}
 
-	private void markTreeEdges(int[] next, int i, int j) {
-		int rep = i * n + j;
-		if (Tree.edgeExists(j, i)) {
-			if (map[j][i] == -1) {
-				map[j][i] = map[i][j] = rep;
-			}
-			return;
-		}
+	/**
+	 * Marks with edge rep=(i,j) the unmarked tree edges of the cycle closed by rep.
+	 * next is a compressed parent function : once the tree edge (a,parent[a]) is marked, next[a] may skip ancestors.
+	 * Hence, map[a] is only set when a is unmarked, i.e. when next[a] = parent[a].
+	 */
+	private void markTreeEdges(int[] next, int rep) {
+		int i = edges.getFrom(rep);
+		int j = edges.getTo(rep);
 		if (next[i] == next[j]) {
-			if (map[i][next[i]] == -1) {
-				map[i][next[i]] = map[next[i]][i] = rep;
+			if (map[i] == -1) {
+				map[i] = rep;
 			}
-			if (map[j][next[j]] == -1) {
-				map[j][next[j]] = map[next[j]][j] = rep;
+			if (map[j] == -1) {
+				map[j] = rep;
 			}
 			return;
 		}
@@ -222,16 +216,16 @@ public class KruskalMSTGAC extends AbstractTreeFinder {
 		for (int b = j; b != meeting; ) {
 			tmp = next[b];
 			next[b] = meeting;
-			if (map[b][tmp] == -1) {
-				map[b][tmp] = map[tmp][b] = rep;
+			if (map[b] == -1) {
+				map[b] = rep;
 			}
 			b = tmp;
 		}
 		for (a = i; a != meeting; ) {
 			tmp = next[a];
 			next[a] = meeting;
-			if (map[a][tmp] == -1) {
-				map[a][tmp] = map[tmp][a] = rep;
+			if (map[a] == -1) {
+				map[a] = rep;
 			}
 			a = tmp;
 		}
@@ -246,8 +240,8 @@ public class KruskalMSTGAC extends AbstractTreeFinder {
 		}
 		// Trivially infeasible arcs
 		while (idx >= 0) {
-			if (!Tree.edgeExists(sortedArcs[idx] / n, sortedArcs[idx] % n)) {
-				propHK.remove(sortedArcs[idx] / n, sortedArcs[idx] % n);
+			if (!Tree.edgeExists(edges.getFrom(sortedArcs[idx]), edges.getTo(sortedArcs[idx]))) {
+				propHK.remove(edges.getFrom(sortedArcs[idx]), edges.getTo(sortedArcs[idx]));
 				activeArcs.clear(idx);
 			}
 			idx = activeArcs.nextSetBit(idx + 1);
@@ -266,40 +260,30 @@ public class KruskalMSTGAC extends AbstractTreeFinder {
 	}
 
 	private void pruning(double delta) throws ContradictionException {
-		int i;
 		for (int arc = activeArcs.nextSetBit(0); arc >= 0; arc = activeArcs.nextSetBit(arc + 1)) {
-			i = sortedArcs[arc] / n;
-			int j = sortedArcs[arc] % n;
+			int e = sortedArcs[arc];
+			int i = edges.getFrom(e);
+			int j = edges.getTo(e);
 			if (!Tree.edgeExists(i, j)) {
-				repCosts[i][j] = costs[i * n + j] - ccTEdgeCost[lca.getLCA(i, j)];
-				if (repCosts[i][j] > delta) {
+				repCosts[e] = costs[e] - ccTEdgeCost[lca.getLCA(i, j)];
+				if (repCosts[e] > delta) {
 					activeArcs.clear(arc);
 					propHK.remove(i, j);
 				} else {
-					markTreeEdges(ccTp, i, j);
+					markTreeEdges(ccTp, e);
 				}
 			}
 		}
-		ISet nei;
-		for (i = 0; i < n; i++) {
-			nei = Tree.getNeighOf(i);
-			for (int j : nei) {
-				if (i < j) {
-					if (map[i][j] != -1) {
-						repCosts[i][j] = costs[map[i][j]] - costs[i * n + j];
-						if (repCosts[i][j] > delta) {
-							propHK.enforce(i, j);
-						}
-					} else {
-						propHK.enforce(i, j);
-					}
-
-//					repCost = costs[map[i][j]];
-//					if(repCost-costs[i*n+j]>delta){
-//						propHK.enforce(i,j);
-//					}
-//				}
+		// tree edges, identified by their child (the root 0 has no parent)
+		for (int i = 1; i < n; i++) {
+			int e = edges.getEdge(i, parent[i]);
+			if (map[i] != -1) {
+				repCosts[e] = costs[map[i]] - costs[e];
+				if (repCosts[e] > delta) {
+					propHK.enforce(i, parent[i]);
 				}
+			} else {
+				propHK.enforce(i, parent[i]);
 			}
 		}
 	}
@@ -322,7 +306,7 @@ public class KruskalMSTGAC extends AbstractTreeFinder {
 				linkUF(rFrom, rTo);
 				Tree.addEdge(from, to);
 				updateCCTree(rFrom, rTo, val);
-				treeCost += costs[arc];
+				treeCost += costs[edges.getEdge(from, to)];
 				tSize++;
 			} else {
 				propHK.contradiction();
@@ -341,8 +325,8 @@ public class KruskalMSTGAC extends AbstractTreeFinder {
 			if (idx < 0) {
 				propHK.contradiction();
 			}
-			from = sortedArcs[idx] / n;
-			to = sortedArcs[idx] % n;
+			from = edges.getFrom(sortedArcs[idx]);
+			to = edges.getTo(sortedArcs[idx]);
 			rFrom = findUF(from);
 			rTo = findUF(to);
 			if (rFrom != rTo) {
@@ -393,7 +377,7 @@ public class KruskalMSTGAC extends AbstractTreeFinder {
 	}
 
 	public double getRepCost(int from, int to) {
-		return repCosts[from][to];
+		return repCosts[edges.getEdge(from, to)];
 	}
 
 //	private int getLCA(int i, int j) {
@@ -30,6 +30,7 @@ package org.chocosolver.graphsolver.cstrs.cost.trees.lagrangian;
 import org.chocosolver.graphsolver.cstrs.cost.GraphLagrangianRelaxation;
 import org.chocosolver.graphsolver.cstrs.cost.tsp.heap.FastSimpleHeap;
 import org.chocosolver.graphsolver.cstrs.cost.tsp.heap.ISimpleHeap;
+import org.chocosolver.graphsolver.util.EdgeIndex;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.util.objects.graphs.UndirectedGraph;
 import org.chocosolver.util.objects.setDataStructures.ISet;
@@ -42,10 +43,12 @@ public class PrimMSTFinder extends AbstractTreeFinder {
 	// VARIABLES
 	//***********************************************************************************
 
-	protected double[][] costs;
+	protected double[] costs;
 	protected ISimpleHeap heap;
 	protected BitSet inTree;
 	protected int[] mate;
+	// mateEdge[j] is the index of edge (mate[j],j)
+	protected int[] mateEdge;
 	protected int tSize;
 	protected double minVal;
 	protected double maxTArc;
@@ -54,19 +57,27 @@ public class PrimMSTFinder extends AbstractTreeFinder {
 	// CONSTRUCTORS
 	//***********************************************************************************
 
-	public PrimMSTFinder(int nbNodes, GraphLagrangianRelaxation propagator) {
-		super(nbNodes, propagator);
-		heap = new FastSimpleHeap(nbNodes);
-//		heap = new FastArrayHeap(nbNodes);
+	public PrimMSTFinder(EdgeIndex edges, GraphLagrangianRelaxation propagator) {
+		super(edges, propagator);
+		heap = new FastSimpleHeap(n);
+//		heap = new FastArrayHeap(n);
 		inTree = new BitSet(n);
 		mate = new int[n];
+		mateEdge = new int[n];
 	}
 
 	//***********************************************************************************
 	// METHODS
 	//***********************************************************************************
 
-	public void computeMST(double[][] costs, UndirectedGraph graph) throws ContradictionException {
+	/**
+	 * @param heap heap selecting the next node to add to the tree (a FastSimpleHeap by default), see HeapType
+	 */
+	public void setHeap(ISimpleHeap heap) {
+		this.heap = heap;
+	}
+
+	public void computeMST(double[] costs, UndirectedGraph graph) throws ContradictionException {
 		g = graph;
 		for (int i = 0; i < n; i++) {
 			Tree.getNeighOf(i).clear();
@@ -89,21 +100,22 @@ public class PrimMSTFinder extends AbstractTreeFinder {
 		while (tSize < n - 1 && !heap.isEmpty()) {
 			to = heap.removeFirstElement();
 			from = mate[to];
-			addArc(from, to);
+			addArc(from, to, mateEdge[to]);
 		}
 		if (tSize != n - 1) {
 			propHK.contradiction();
 		}
 	}
 
-	protected void addArc(int from, int to) {
+	protected void addArc(int from, int to, int edge) {
 		if (Tree.edgeExists(from, to)) {
 			throw new UnsupportedOperationException();
 		}
 		Tree.addEdge(from, to);
-		treeCost += costs[from][to];
+		double c = costs[edge];
+		treeCost += c;
 		if (FILTER && !propHK.isMandatory(from, to)) {
-			maxTArc = Math.max(maxTArc, costs[from][to]);
+			maxTArc = Math.max(maxTArc, c);
 		}
 		tSize++;
 		addNode(to);
@@ -115,12 +127,15 @@ public class PrimMSTFinder extends AbstractTreeFinder {
 			ISet nei = g.getNeighOf(i);
 			for (int j : nei) {
 				if (!inTree.get(j)) {
+					int e = edges.getEdge(i, j);
 					if (propHK.isMandatory(i, j)) {
 						heap.addOrUpdateElement(j, Integer.MIN_VALUE);
 						mate[j] = i;
+						mateEdge[j] = e;
 					} else {
-						if (heap.addOrUpdateElement(j, costs[i][j])) {
+						if (heap.addOrUpdateElement(j, costs[e])) {
 							mate[j] = i;
+							mateEdge[j] = e;
 						}
 					}
 				}
@@ -135,7 +150,7 @@ public class PrimMSTFinder extends AbstractTreeFinder {
 			for (int i = 0; i < n; i++) {
 				nei = g.getNeighOf(i);
 				for (int j : nei) {
-					if (i < j && (!Tree.edgeExists(i, j)) && costs[i][j] - maxTArc > delta) {
+					if (i < j && (!Tree.edgeExists(i, j)) && costs[edges.getEdge(i, j)] - maxTArc > delta) {
 						propHK.remove(i, j);
 					}
 				}
@@ -28,6 +28,8 @@ package org.chocosolver.graphsolver.cstrs.cost.trees.lagrangian;
 
 import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.graphsolver.cstrs.cost.GraphLagrangianRelaxation;
+import org.chocosolver.graphsolver.cstrs.cost.tsp.heap.HeapType;
+import org.chocosolver.graphsolver.util.EdgeIndex;
 import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
@@ -37,7 +39,6 @@ import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.graphs.UndirectedGraph;
 import org.chocosolver.util.objects.setDataStructures.ISet;
-import org.chocosolver.util.objects.setDataStructures.SetType;
 
 /**
  * Lagrangian relaxation of the DCMST problem
@@ -49,14 +50,19 @@ public class PropGenericLagrDCMST extends Propagator<Variable> implements GraphL
 	//***********************************************************************************
 
 	private final UndirectedGraphVar gV;
-	private UndirectedGraph g;
+	private final UndirectedGraph g;
 	private final IntVar obj;
 	private final int n;
 	private final int[][] originalCosts;
-	private final double[][] costs;
+	private final EdgeIndex edges;
+	private final double[] costs;
+	// edges of g when propagation started (edges removed since then included)
+	private final int[] liveEdges;
+	private int nbLiveEdges;
 	private UndirectedGraph mst;
 	private final TIntArrayList mandatoryArcsList;
-	private final AbstractTreeFinder HKfilter, HK;
+	private final AbstractTreeFinder HKfilter;
+	private final PrimMSTFinder HK;
 	private boolean waitFirstSol;
 	private int nbSprints;
 	private final IntVar[] D;
@@ -81,7 +87,11 @@ public class PropGenericLagrDCMST extends Propagator<Variable> implements GraphL
 		n = gV.getNbMaxNodes();
 		obj = cost;
 		originalCosts = costMatrix;
-		costs = new double[n][n];
+		// the upper bound only loses edges, costs are stored by edge index
+		g = gV.getUB();
+		edges = new EdgeIndex(g);
+		costs = new double[edges.getNbEdges()];
+		liveEdges = new int[edges.getNbEdges()];
 		lambdaMin = new double[n];
 		lambdaMax = new double[n];
 		mandatoryArcsList = new TIntArrayList();
@@ -89,15 +99,9 @@ public class PropGenericLagrDCMST extends Propagator<Variable> implements GraphL
 		this.D = degrees;
 		this.Dmin = new int[n];
 		this.Dmax = new int[n];
-		HK = new PrimMSTFinder(n, this);
-		HKfilter = new KruskalMSTGAC(n, this);
+		HK = new PrimMSTFinder(edges, this);
+		HKfilter = new KruskalMSTGAC(edges, this);
 		this.waitFirstSol = waitFirstSol;
-		g = new UndirectedGraph(n, SetType.BITSET, true);
-		for (int i = 0; i < n; i++) {
-			for (int j = i + 1; j < n; j++) {
-				g.addEdge(i, j);
-			}
-		}
 	}
 
 	//***********************************************************************************
@@ -114,7 +118,6 @@ public class PropGenericLagrDCMST extends Propagator<Variable> implements GraphL
 			objUB = obj.getUB();
 			convergeAndFilter();
 			firstPropag = false;
-			g = gV.getUB();
 		} else {
 			fastRun(2);
 		}
@@ -242,13 +245,13 @@ public class PropGenericLagrDCMST extends Propagator<Variable> implements GraphL
 		for (int i = 0; i < n; i++) {
 			C += Dmax[i] * lambdaMax[i];
 			C += Dmin[i] * lambdaMin[i];
-			ISet nei = g.getNeighOf(i);
-			for (int j : nei) {
-				if (i < j) {
-					costs[j][i] = costs[i][j] = originalCosts[i][j] + lambdaMin[i] + lambdaMin[j] + lambdaMax[i] + lambdaMax[j];
-					assert costs[j][i] >= 0;
-				}
-			}
+		}
+		for (int k = 0; k < nbLiveEdges; k++) {
+			int e = liveEdges[k];
+			int i = edges.getFrom(e);
+			int j = edges.getTo(e);
+			costs[e] = originalCosts[i][j] + lambdaMin[i] + lambdaMin[j] + lambdaMax[i] + lambdaMax[j];
+			assert costs[e] >= 0;
 		}
 		assert C > -Double.MAX_VALUE / (n - 1) && C < Double.MAX_VALUE / (n - 1);
 	}
@@ -260,9 +263,6 @@ public class PropGenericLagrDCMST extends Propagator<Variable> implements GraphL
 	@Override
 	public void remove(int from, int to) throws ContradictionException {
 		gV.removeArc(from, to, this);
-		if (firstPropag) {
-			g.removeEdge(from, to);
-		}
 	}
 
 	@Override
@@ -298,6 +298,7 @@ public class PropGenericLagrDCMST extends Propagator<Variable> implements GraphL
 				}
 			}
 		}
+		nbLiveEdges = edges.collectEdges(g, liveEdges);
 		updateCosts();
 		lagrangianRelaxation();
 	}
@@ -322,6 +323,13 @@ public class PropGenericLagrDCMST extends Propagator<Variable> implements GraphL
 		return gV.getMandNeighOf(i).contains(j);
 	}
 
+	/**
+	 * @param type heap used by Prim's algorithm in subgradient iterations (FAST_BINARY by default)
+	 */
+	public void setHeapType(HeapType type) {
+		HK.setHeap(type.make(n));
+	}
+
 	@Override
 	public void waitFirstSolution(boolean b) {
 		waitFirstSol = b;
@@ -28,6 +28,8 @@ package org.chocosolver.graphsolver.cstrs.cost.trees.lagrangian;
 
 import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.graphsolver.cstrs.cost.GraphLagrangianRelaxation;
+import org.chocosolver.graphsolver.cstrs.cost.tsp.heap.HeapType;
+import org.chocosolver.graphsolver.util.EdgeIndex;
 import org.chocosolver.graphsolver.variables.GraphEventType;
 import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
 import org.chocosolver.solver.constraints.Propagator;
@@ -39,7 +41,6 @@ import org.chocosolver.solver.variables.events.IntEventType;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.graphs.UndirectedGraph;
 import org.chocosolver.util.objects.setDataStructures.ISet;
-import org.chocosolver.util.objects.setDataStructures.SetType;
 
 /**
  * Lagrangian relaxation of the DCMST problem
@@ -51,16 +52,21 @@ public class PropLagrDCMST extends Propagator<Variable> implements GraphLagrangi
 	//***********************************************************************************
 
 	private final UndirectedGraphVar gV;
-	private UndirectedGraph g;
+	private final UndirectedGraph g;
 	private final IntVar obj;
 	private final int n;
 	private final int[][] originalCosts;
-	private final double[][] costs;
+	private final EdgeIndex edges;
+	private final double[] costs;
+	// edges of g when propagation started (edges removed since then included)
+	private final int[] liveEdges;
+	private int nbLiveEdges;
 	private final double[] penalities;
 	private double totalPenalities;
 	private UndirectedGraph mst;
 	private final TIntArrayList mandatoryArcsList;
-	private final AbstractTreeFinder HKfilter, HK;
+	private final AbstractTreeFinder HKfilter;
+	private final PrimMSTFinder HK;
 	private boolean waitFirstSol;
 	private int nbSprints;
 	private final int[] maxDegree;
@@ -81,21 +87,19 @@ public class PropLagrDCMST extends Propagator<Variable> implements GraphLagrangi
 		n = gV.getNbMaxNodes();
 		obj = cost;
 		originalCosts = costMatrix;
-		costs = new double[n][n];
+		// the upper bound only loses edges, costs are stored by edge index
+		g = gV.getUB();
+		edges = new EdgeIndex(g);
+		costs = new double[edges.getNbEdges()];
+		liveEdges = new int[edges.getNbEdges()];
 		penalities = new double[n];
 		totalPenalities = 0;
 		mandatoryArcsList = new TIntArrayList();
 		nbSprints = 30;
 		this.maxDegree = maxDegree;
-		HK = new PrimMSTFinder(n, this);
-		HKfilter = new KruskalMSTGAC(n, this);
+		HK = new PrimMSTFinder(edges, this);
+		HKfilter = new KruskalMSTGAC(edges, this);
 		this.waitFirstSol = waitFirstSol;
-		g = new UndirectedGraph(n, SetType.BITSET, true);
-		for (int i = 0; i < n; i++) {
-			for (int j = i + 1; j < n; j++) {
-				g.addEdge(i, j);
-			}
-		}
 	}
 
 	//***********************************************************************************
@@ -112,7 +116,6 @@ public class PropLagrDCMST extends Propagator<Variable> implements GraphLagrangi
 			objUB = obj.getUB();
 			convergeAndFilter();
 			firstPropag = false;
-			g = gV.getUB();
 		} else {
 			fastRun(2);
 		}
@@ -216,27 +219,26 @@ public class PropLagrDCMST extends Propagator<Variable> implements GraphLagrangi
 			totalPenalities += penalities[i] * maxDegree[i];
 		}
 		assert !(totalPenalities > Double.MAX_VALUE / (n - 1) || totalPenalities < 0);
-		ISet nei;
-		for (int i = 0; i < n; i++) {
-			nei = g.getNeighOf(i);
-			for (int j : nei) {
-				if (i < j) {
-					costs[j][i] = costs[i][j] = originalCosts[i][j] + penalities[i] + penalities[j];
-				}
-			}
-		}
+		updateCosts();
 		return false;
 	}
 
+	private void updateCosts() {
+		for (int k = 0; k < nbLiveEdges; k++) {
+			int e = liveEdges[k];
+			int i = edges.getFrom(e);
+			int j = edges.getTo(e);
+			costs[e] = originalCosts[i][j] + penalities[i] + penalities[j];
+			assert costs[e] >= 0;
+		}
+	}
+
 	//***********************************************************************************
 	// INFERENCE
 	//***********************************************************************************
 
 	public void remove(int from, int to) throws ContradictionException {
 		gV.removeArc(from, to, this);
-		if (firstPropag) {
-			g.removeEdge(from, to);
-		}
 	}
 
 	public void enforce(int from, int to) throws ContradictionException {
@@ -268,16 +270,9 @@ public class PropLagrDCMST extends Propagator<Variable> implements GraphLagrangi
 					mandatoryArcsList.add(i * n + j);
 				}
 			}
-			nei = g.getNeighOf(i);
-			for (int j : nei) {
-				if (i < j) {
-					costs[j][i] = costs[i][j] = originalCosts[i][j] + penalities[i] + penalities[j];
-					if (costs[i][j] < 0) {
-						throw new UnsupportedOperationException();
-					}
-				}
-			}
 		}
+		nbLiveEdges = edges.collectEdges(g, liveEdges);
+		updateCosts();
 		lagrangianRelaxation();
 	}
 
@@ -307,6 +302,13 @@ public class PropLagrDCMST extends Propagator<Variable> implements GraphLagrangi
 		return gV.getMandNeighOf(i).contains(j);
 	}
 
+	/**
+	 * @param type heap used by Prim's algorithm in subgradient iterations (FAST_BINARY by default)
+	 */
+	public void setHeapType(HeapType type) {
+		HK.setHeap(type.make(n));
+	}
+
 	public void waitFirstSolution(boolean b) {
 		waitFirstSol = b;
 	}
@@ -0,0 +1,64 @@
+package org.chocosolver.graphsolver.cstrs.cost.tsp.heap;
+
+/**
+ * Heap implementations available for Prim's algorithm in Lagrangian relaxations
+ * (see PrimMSTFinder#setHeap(ISimpleHeap)).
+ * Prim performs one removal per node and up to one decrease-key per edge, so that the best heap depends on the density
+ * of the graph : HeapBenchmark compares them on dense TSP and sparse DCMST instances.
+ *
+ * @since 18/10/2026.
+ */
+public enum HeapType {
+
+	/**
+	 * BinarySimpleHeap behind a stack for mandatory elements (FastSimpleHeap), the default
+	 */
+	FAST_BINARY {
+		@Override
+		public ISimpleHeap make(int n) {
+			return new FastSimpleHeap(n);
+		}
+	},
+	/**
+	 * BinarySimpleHeap
+	 */
+	BINARY {
+		@Override
+		public ISimpleHeap make(int n) {
+			return new BinarySimpleHeap(n);
+		}
+	},
+	/**
+	 * 4-ary heap with values stored in heap order (QuaternaryHeap)
+	 */
+	QUATERNARY {
+		@Override
+		public ISimpleHeap make(int n) {
+			return new QuaternaryHeap(n);
+		}
+	},
+	/**
+	 * Pairing heap, with O(1) decrease-key (PairingHeap)
+	 */
+	PAIRING {
+		@Override
+		public ISimpleHeap make(int n) {
+			return new PairingHeap(n);
+		}
+	},
+	/**
+	 * Unsorted array, O(n) removal (ArrayHeap)
+	 */
+	ARRAY {
+		@Override
+		public ISimpleHeap make(int n) {
+			return new ArrayHeap(n);
+		}
+	};
+
+	/**
+	 * @param n maximal number of elements
+	 * @return a new heap for elements in the range [0,n-1]
+	 */
+	public abstract ISimpleHeap make(int n);
+}
@@ -0,0 +1,137 @@
+package org.chocosolver.graphsolver.cstrs.cost.tsp.heap;
+
+import java.util.Arrays;
+
+/**
+ * Pairing heap for storing elements in the range [0,n-1], stored in arrays indexed by elements.
+ * Insertion and decrease-key are O(1) (a subtree is cut and linked to the root),
+ * removal of the minimum is O(log n) amortized (two-pass pairing of the children of the root).
+ * It suits Prim's algorithm on dense graphs, where decrease-key operations dominate.
+ *
+ * @since 18/10/2026.
+ */
+public class PairingHeap implements ISimpleHeap {
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	private final double[] values;
+	// tree structure : first child, next sibling and previous node (parent of a first child, left sibling otherwise)
+	private final int[] child, next, prev;
+	private final boolean[] in;
+	private final int[] pairs;
+	private int root;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	/**
+	 * @param n maximal number of elements
+	 */
+	public PairingHeap(int n) {
+		values = new double[n];
+		child = new int[n];
+		next = new int[n];
+		prev = new int[n];
+		in = new boolean[n];
+		pairs = new int[n];
+		root = -1;
+	}
+
+	//***********************************************************************************
+	// METHODS
+	//***********************************************************************************
+
+	@Override
+	public boolean isEmpty() {
+		return root == -1;
+	}
+
+	@Override
+	public boolean addOrUpdateElement(int element, double value) {
+		if (!in[element]) {
+			in[element] = true;
+			values[element] = value;
+			child[element] = next[element] = prev[element] = -1;
+			root = root == -1 ? element : link(root, element);
+			return true;
+		}
+		if (value >= values[element]) {
+			return false;
+		}
+		values[element] = value;
+		if (element != root) {
+			// cuts the subtree of element and links it to the root
+			if (next[element] != -1) {
+				prev[next[element]] = prev[element];
+			}
+			if (child[prev[element]] == element) {
+				child[prev[element]] = next[element];
+			} else {
+				next[prev[element]] = next[element];
+			}
+			next[element] = prev[element] = -1;
+			root = link(root, element);
+		}
+		return true;
+	}
+
+	@Override
+	public int removeFirstElement() {
+		if (root == -1) {
+			return -1;
+		}
+		int first = root;
+		in[first] = false;
+		// first pass : links children by pairs, from left to right
+		int nb = 0;
+		int c = child[first];
+		while (c != -1) {
+			int a = c;
+			int b = next[a];
+			if (b == -1) {
+				prev[a] = next[a] = -1;
+				pairs[nb++] = a;
+				break;
+			}
+			c = next[b];
+			prev[a] = next[a] = prev[b] = next[b] = -1;
+			pairs[nb++] = link(a, b);
+		}
+		// second pass : links pairs from right to left
+		root = -1;
+		while (nb > 0) {
+			int t = pairs[--nb];
+			root = root == -1 ? t : link(t, root);
+		}
+		return first;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(in, false);
+		root = -1;
+	}
+
+	/**
+	 * Links two roots : the one with the greatest value becomes the first child of the other
+	 *
+	 * @return the new root
+	 */
+	private int link(int a, int b) {
+		if (values[b] < values[a]) {
+			int tmp = a;
+			a = b;
+			b = tmp;
+		}
+		next[b] = child[a];
+		if (child[a] != -1) {
+			prev[child[a]] = b;
+		}
+		prev[b] = a;
+		child[a] = b;
+		return a;
+	}
+}
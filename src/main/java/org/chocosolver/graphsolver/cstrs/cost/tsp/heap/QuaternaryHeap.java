@@ -0,0 +1,127 @@
+package org.chocosolver.graphsolver.cstrs.cost.tsp.heap;
+
+/**
+ * 4-ary heap for storing elements in the range [0,n-1].
+ * Compared to BinarySimpleHeap, the tree is twice shallower and values are stored in heap order,
+ * next to elements, so that comparing the four children of a node reads contiguous memory
+ * instead of following elements to their values.
+ *
+ * @since 18/10/2026.
+ */
+public class QuaternaryHeap implements ISimpleHeap {
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	// elements and values in heap order, positions by element (-1 if absent)
+	private final int[] elements, positions;
+	private final double[] values;
+	private int size;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	/**
+	 * @param n maximal number of elements
+	 */
+	public QuaternaryHeap(int n) {
+		elements = new int[n];
+		positions = new int[n];
+		values = new double[n];
+		for (int i = 0; i < n; i++) {
+			positions[i] = -1;
+		}
+	}
+
+	//***********************************************************************************
+	// METHODS
+	//***********************************************************************************
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean addOrUpdateElement(int element, double value) {
+		int pos = positions[element];
+		if (pos == -1) {
+			pos = size++;
+		} else if (value >= values[pos]) {
+			return false;
+		}
+		siftUp(pos, element, value);
+		return true;
+	}
+
+	@Override
+	public int removeFirstElement() {
+		if (size == 0) {
+			return -1;
+		}
+		int first = elements[0];
+		positions[first] = -1;
+		size--;
+		if (size > 0) {
+			siftDown(elements[size], values[size]);
+		}
+		return first;
+	}
+
+	@Override
+	public void clear() {
+		for (int k = 0; k < size; k++) {
+			positions[elements[k]] = -1;
+		}
+		size = 0;
+	}
+
+	/**
+	 * Moves up, from position pos, a hole where element is finally put
+	 */
+	private void siftUp(int pos, int element, double value) {
+		while (pos > 0) {
+			int parent = (pos - 1) >> 2;
+			if (values[parent] <= value) {
+				break;
+			}
+			put(pos, elements[parent], values[parent]);
+			pos = parent;
+		}
+		put(pos, element, value);
+	}
+
+	/**
+	 * Moves down, from the root, a hole where element is finally put
+	 */
+	private void siftDown(int element, double value) {
+		int pos = 0;
+		while (true) {
+			int first = (pos << 2) + 1;
+			if (first >= size) {
+				break;
+			}
+			int last = Math.min(first + 4, size);
+			int min = first;
+			for (int c = first + 1; c < last; c++) {
+				if (values[c] < values[min]) {
+					min = c;
+				}
+			}
+			if (values[min] >= value) {
+				break;
+			}
+			put(pos, elements[min], values[min]);
+			pos = min;
+		}
+		put(pos, element, value);
+	}
+
+	private void put(int pos, int element, double value) {
+		elements[pos] = element;
+		values[pos] = value;
+		positions[element] = pos;
+	}
+}
@@ -29,6 +29,7 @@ package org.chocosolver.graphsolver.cstrs.cost.tsp.lagrangian;
 
 import org.chocosolver.graphsolver.cstrs.cost.GraphLagrangianRelaxation;
 import org.chocosolver.graphsolver.cstrs.cost.trees.lagrangian.KruskalMSTFinder;
+import org.chocosolver.graphsolver.util.EdgeIndex;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.util.objects.graphs.UndirectedGraph;
 import org.chocosolver.util.objects.setDataStructures.ISet;
@@ -40,18 +41,21 @@ public class KruskalOneTreeGAC extends KruskalMSTFinder {
 	//***********************************************************************************
 
 	private int min1, min2;
-	private int[][] map;
-	private double[][] marginalCosts;
+	// tree edge (i,parent[i]) can be replaced by edge map[i] (-1 if none), and marginalCosts is indexed by edges
+	private int[] parent;
+	private int[] map;
+	private double[] marginalCosts;
 	private int[] fifo;
 
 	//***********************************************************************************
 	// CONSTRUCTORS
 	//***********************************************************************************
 
-	public KruskalOneTreeGAC(int nbNodes, GraphLagrangianRelaxation propagator) {
-		super(nbNodes, propagator);
-		map = new int[n][n];
-		marginalCosts = new double[n][n];
+	public KruskalOneTreeGAC(EdgeIndex edges, GraphLagrangianRelaxation propagator) {
+		super(edges, propagator);
+		parent = new int[n];
+		map = new int[n];
+		marginalCosts = new double[edges.getNbEdges()];
 		fifo = new int[n];
 	}
 
@@ -59,8 +63,8 @@ public class KruskalOneTreeGAC extends KruskalMSTFinder {
 	// METHODS
 	//***********************************************************************************
 
-	public void computeMST(double[][] costs, UndirectedGraph graph) throws ContradictionException {
-		super.computeMST(costs, graph);
+	public void computeMST(double[] edgeCosts, UndirectedGraph graph) throws ContradictionException {
+		super.computeMST(edgeCosts, graph);
 		add0Node();
 	}
 
@@ -97,61 +101,48 @@ public class KruskalOneTreeGAC extends KruskalMSTFinder {
 			nei = g.getNeighOf(i);
 			for (int j : nei) {
 				if (i < j) {
-					sortedArcs[idx] = i * n + j;
-					costs[i * n + j] = distMatrix[i][j];
-					idx++;
+					sortedArcs[idx++] = edges.getEdge(i, j);
 				}
 			}
 		}
 		for (int i = n; i < ccN; i++) {
 			ccTree.removeNode(i);
 		}
-		sorter.sort(sortedArcs, size, comparator);
-		int v;
+		arcSort.sort(sortedArcs, size, costs);
 		activeArcs.clear();
 		activeArcs.set(0, size);
-		for (idx = 0; idx < size; idx++) {
-			v = sortedArcs[idx];
-			indexOfArc[v / n][v % n] = idx;
-		}
 	}
 
 	protected void pruning(int fi, double delta) throws ContradictionException {
 		ISet nei = g.getNeighOf(0);
+		double cost2 = costs[edges.getEdge(0, min2)];
 		for (int i : nei) {
-			if (i != min1 && i != min2 && distMatrix[0][i] - distMatrix[0][min2] > delta) {
+			if (i != min1 && i != min2 && costs[edges.getEdge(0, i)] - cost2 > delta) {
 				propHK.remove(0, i);
 			}
 		}
 
 		for (int arc = activeArcs.nextSetBit(0); arc >= 0; arc = activeArcs.nextSetBit(arc + 1)) {
-			int i = sortedArcs[arc] / n;
-			int j = sortedArcs[arc] % n;
+			int e = sortedArcs[arc];
+			int i = edges.getFrom(e);
+			int j = edges.getTo(e);
 			if (!Tree.edgeExists(i, j)) {
-				marginalCosts[i][j] = costs[i * n + j] - ccTEdgeCost[lca.getLCA(i, j)];
-				if (marginalCosts[i][j] > delta) {
+				marginalCosts[e] = costs[e] - ccTEdgeCost[lca.getLCA(i, j)];
+				if (marginalCosts[e] > delta) {
 					activeArcs.clear(arc);
 					propHK.remove(i, j);
 				} else {
-					markTreeEdges(ccTp, i, j);
+					markTreeEdges(ccTp, e);
 				}
 			}
 		}
-		for (int i = 1; i < n; i++) {
-			nei = Tree.getNeighOf(i);
-			for (int j : nei) {
-				if (i < j)
-					if (map[i][j] == -1 || costs[map[i][j]] - costs[i * n + j] > delta) {
-						propHK.enforce(i, j);
-					} else {
-						marginalCosts[i][j] = costs[map[i][j]] - costs[i * n + j];
-					}
-//				if(j!=0 && costs[map[i][j]]-costs[i*n+j]>delta){
-//					propHK.enforce(i,j);
-//				}
-//				if(i<j && map[i][j]==-1){
-//					propHK.enforce(i,j);
-//				}
+		// tree edges (node 0 excepted), identified by their child (the root 1 has no parent)
+		for (int i = 2; i < n; i++) {
+			int e = edges.getEdge(i, parent[i]);
+			if (map[i] == -1 || costs[map[i]] - costs[e] > delta) {
+				propHK.enforce(i, parent[i]);
+			} else {
+				marginalCosts[e] = costs[map[i]] - costs[e];
 			}
 		}
 	}
@@ -169,8 +160,8 @@ public class KruskalOneTreeGAC extends KruskalMSTFinder {
 		}
 		// Trivially infeasible arcs
 		while (idx >= 0) {
-			if (!Tree.edgeExists(sortedArcs[idx] / n, sortedArcs[idx] % n)) {
-				propHK.remove(sortedArcs[idx] / n, sortedArcs[idx] % n);
+			if (!Tree.edgeExists(edges.getFrom(sortedArcs[idx]), edges.getTo(sortedArcs[idx]))) {
+				propHK.remove(edges.getFrom(sortedArcs[idx]), edges.getTo(sortedArcs[idx]));
 				activeArcs.clear(idx);
 			}
 			idx = activeArcs.nextSetBit(idx + 1);
@@ -208,7 +199,7 @@ public class KruskalOneTreeGAC extends KruskalMSTFinder {
 					linkUF(rFrom, rTo);
 					Tree.addEdge(from, to);
 					updateCCTree(rFrom, rTo, val);
-					treeCost += costs[arc];
+					treeCost += costs[edges.getEdge(from, to)];
 					tSize++;
 				} else {
 					propHK.contradiction();
@@ -229,8 +220,8 @@ public class KruskalOneTreeGAC extends KruskalMSTFinder {
 			if (idx < 0) {
 				propHK.contradiction();
 			}
-			from = sortedArcs[idx] / n;
-			to = sortedArcs[idx] % n;
+			from = edges.getFrom(sortedArcs[idx]);
+			to = edges.getTo(sortedArcs[idx]);
 			rFrom = findUF(from);
 			rTo = findUF(to);
 			if (rFrom != rTo) {
@@ -261,7 +252,7 @@ public class KruskalOneTreeGAC extends KruskalMSTFinder {
 				if (min1 == -1) {
 					min1 = j;
 				}
-				if (distMatrix[0][j] < distMatrix[0][min1]) {
+				if (costs[edges.getEdge(0, j)] < costs[edges.getEdge(0, min1)]) {
 					min2 = min1;
 					min1 = j;
 				}
@@ -274,7 +265,7 @@ public class KruskalOneTreeGAC extends KruskalMSTFinder {
 				}
 			}
 			if (min1 != j && !b2) {
-				if (min2 == -1 || distMatrix[0][j] < distMatrix[0][min2]) {
+				if (min2 == -1 || costs[edges.getEdge(0, j)] < costs[edges.getEdge(0, min2)]) {
 					min2 = j;
 				}
 				if (propHK.isMandatory(0, j)) {
@@ -290,14 +281,14 @@ public class KruskalOneTreeGAC extends KruskalMSTFinder {
 			propHK.contradiction();
 		}
 		if (!propHK.isMandatory(0, min1)) {
-			maxTArc = Math.max(maxTArc, distMatrix[0][min1]);
+			maxTArc = Math.max(maxTArc, costs[edges.getEdge(0, min1)]);
 		}
 		if (!propHK.isMandatory(0, min2)) {
-			maxTArc = Math.max(maxTArc, distMatrix[0][min2]);
+			maxTArc = Math.max(maxTArc, costs[edges.getEdge(0, min2)]);
 		}
 		Tree.addEdge(0, min1);
 		Tree.addEdge(0, min2);
-		treeCost += distMatrix[0][min1] + distMatrix[0][min2];
+		treeCost += costs[edges.getEdge(0, min1)] + costs[edges.getEdge(0, min2)];
 	}
 
 	//***********************************************************************************
@@ -315,6 +306,7 @@ public class KruskalOneTreeGAC extends KruskalMSTFinder {
 		int k = 1;
 		useful.set(k);
 		ccTp[k] = k;
+		parent[k] = k;
 		int first = 0;
 		int last = first;
 		fifo[last++] = k;
@@ -324,7 +316,8 @@ public class KruskalOneTreeGAC extends KruskalMSTFinder {
 			for (int s : nei) {
 				if (ccTp[s] == -1) {
 					ccTp[s] = k;
-					map[s][k] = map[k][s] = -1;
+					parent[s] = k;
+					map[s] = -1;
 					if (!useful.get(s)) {
 						fifo[last++] = s;
 						useful.set(s);
@@ -334,17 +327,23 @@ public class KruskalOneTreeGAC extends KruskalMSTFinder {
 		}
 	}
 
-	protected void markTreeEdges(int[] next, int i, int j) {
-		int rep = i * n + j;
+	/**
+	 * Marks with edge rep=(i,j) the unmarked tree edges of the cycle closed by rep.
+	 * next is a compressed parent function : once the tree edge (a,parent[a]) is marked, next[a] may skip ancestors.
+	 * Hence, map[a] is only set when a is unmarked, i.e. when next[a] = parent[a].
+	 */
+	protected void markTreeEdges(int[] next, int rep) {
+		int i = edges.getFrom(rep);
+		int j = edges.getTo(rep);
 		if (i == 0) {
 			throw new UnsupportedOperationException();
 		}
 		if (next[i] == next[j]) {
-			if (map[i][next[i]] == -1) {
-				map[i][next[i]] = map[next[i]][i] = rep;
+			if (map[i] == -1) {
+				map[i] = rep;
 			}
-			if (map[j][next[j]] == -1) {
-				map[j][next[j]] = map[next[j]][j] = rep;
+			if (map[j] == -1) {
+				map[j] = rep;
 			}
 			return;
 		}
@@ -362,16 +361,16 @@ public class KruskalOneTreeGAC extends KruskalMSTFinder {
 		for (int b = j; b != meeting; ) {
 			tmp = next[b];
 			next[b] = meeting;
-			if (map[b][tmp] == -1) {
-				map[b][tmp] = map[tmp][b] = rep;
+			if (map[b] == -1) {
+				map[b] = rep;
 			}
 			b = tmp;
 		}
 		for (a = i; a != meeting; ) {
 			tmp = next[a];
 			next[a] = meeting;
-			if (map[a][tmp] == -1) {
-				map[a][tmp] = map[tmp][a] = rep;
+			if (map[a] == -1) {
+				map[a] = rep;
 			}
 			a = tmp;
 		}
@@ -384,7 +383,7 @@ public class KruskalOneTreeGAC extends KruskalMSTFinder {
 		if (from == 0) {
 			return 0;
 		}
-		return marginalCosts[from][to];
+		return marginalCosts[edges.getEdge(from, to)];
 //		if(map[from][to]==-1){
 //			System.out.println(map[to][from]);
 //			System.exit(0);
@@ -0,0 +1,82 @@
+package org.chocosolver.graphsolver.cstrs.cost.tsp.lagrangian;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+
+import java.util.Arrays;
+
+/**
+ * Best Lagrangian multipliers found at each depth of the search tree (world index),
+ * so that a search node can warm-start its subgradient optimization from the best vector of its closest ancestor.
+ * <p>
+ * A trailed integer stores the world index of the last snapshot taken along the current branch :
+ * it is restored on backtrack, so snapshots of abandoned branches are never used.
+ * Snapshots of a depth are overwritten by the next node reaching this depth.
+ *
+ * @since 18/10/2026.
+ */
+public class MultiplierSnapshots {
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	private final IEnvironment environment;
+	private final int n;
+	// world index of the snapshot of the deepest ancestor, -1 if none
+	private final IStateInt last;
+	private double[][] multipliers;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	/**
+	 * @param environment backtracking environment
+	 * @param n           number of multipliers
+	 */
+	public MultiplierSnapshots(IEnvironment environment, int n) {
+		this.environment = environment;
+		this.n = n;
+		this.last = environment.makeInt(-1);
+		this.multipliers = new double[16][];
+	}
+
+	//***********************************************************************************
+	// METHODS
+	//***********************************************************************************
+
+	/**
+	 * Records multipliers as the best ones of the current search node
+	 *
+	 * @param values multipliers (copied)
+	 */
+	public void save(double[] values) {
+		int w = environment.getWorldIndex();
+		if (w >= multipliers.length) {
+			multipliers = Arrays.copyOf(multipliers, Math.max(w + 1, multipliers.length * 2));
+		}
+		if (multipliers[w] == null) {
+			multipliers[w] = new double[n];
+		}
+		System.arraycopy(values, 0, multipliers[w], 0, n);
+		if (last.get() != w) {
+			last.set(w);
+		}
+	}
+
+	/**
+	 * Copies the multipliers of the current node, or of its deepest ancestor having some, into values
+	 *
+	 * @param values array receiving the multipliers
+	 * @return true iff some multipliers have been copied
+	 */
+	public boolean restore(double[] values) {
+		int w = last.get();
+		if (w < 0) {
+			return false;
+		}
+		System.arraycopy(multipliers[w], 0, values, 0, n);
+		return true;
+	}
+}
@@ -29,6 +29,7 @@ package org.chocosolver.graphsolver.cstrs.cost.tsp.lagrangian;
 
 import org.chocosolver.graphsolver.cstrs.cost.GraphLagrangianRelaxation;
 import org.chocosolver.graphsolver.cstrs.cost.trees.lagrangian.PrimMSTFinder;
+import org.chocosolver.graphsolver.util.EdgeIndex;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.util.objects.setDataStructures.ISet;
 
@@ -44,8 +45,8 @@ public class PrimOneTreeFinder extends PrimMSTFinder {
 	// CONSTRUCTORS
 	//***********************************************************************************
 
-	public PrimOneTreeFinder(int nbNodes, GraphLagrangianRelaxation propagator) {
-		super(nbNodes, propagator);
+	public PrimOneTreeFinder(EdgeIndex edges, GraphLagrangianRelaxation propagator) {
+		super(edges, propagator);
 	}
 
 	//***********************************************************************************
@@ -69,7 +70,7 @@ public class PrimOneTreeFinder extends PrimMSTFinder {
 				if (min1 == -1) {
 					min1 = j;
 				}
-				if (costs[oneNode][j] < costs[oneNode][min1]) {
+				if (cost(oneNode, j) < cost(oneNode, min1)) {
 					min2 = min1;
 					min1 = j;
 				}
@@ -82,7 +83,7 @@ public class PrimOneTreeFinder extends PrimMSTFinder {
 				}
 			}
 			if (min1 != j && !b2) {
-				if (min2 == -1 || costs[oneNode][j] < costs[oneNode][min2]) {
+				if (min2 == -1 || cost(oneNode, j) < cost(oneNode, min2)) {
 					min2 = j;
 				}
 				if (propHK.isMandatory(oneNode, j)) {
@@ -96,10 +97,10 @@ public class PrimOneTreeFinder extends PrimMSTFinder {
 		}
 		if (FILTER) {
 			if (!propHK.isMandatory(oneNode, min1)) {
-				maxTArc = Math.max(maxTArc, costs[oneNode][min1]);
+				maxTArc = Math.max(maxTArc, cost(oneNode, min1));
 			}
 			if (!propHK.isMandatory(oneNode, min2)) {
-				maxTArc = Math.max(maxTArc, costs[oneNode][min2]);
+				maxTArc = Math.max(maxTArc, cost(oneNode, min2));
 			}
 		}
 		int first = -1, sizeFirst = n + 1;
@@ -117,13 +118,13 @@ public class PrimOneTreeFinder extends PrimMSTFinder {
 		while (tSize < n - 2 && !heap.isEmpty()) {
 			to = heap.removeFirstElement();
 			from = mate[to];
-			addArc(from, to);
+			addArc(from, to, mateEdge[to]);
 		}
 		if (tSize != n - 2) {
 			propHK.contradiction();
 		}
-		addArc(oneNode, min1);
-		addArc(oneNode, min2);
+		addArc(oneNode, min1, edges.getEdge(oneNode, min1));
+		addArc(oneNode, min2, edges.getEdge(oneNode, min2));
 		if (Tree.getNeighOf(oneNode).size() != 2) {
 			throw new UnsupportedOperationException();
 		}
@@ -132,4 +133,8 @@ public class PrimOneTreeFinder extends PrimMSTFinder {
 	private void chooseOneNode() {
 		oneNode = 0;
 	}
+
+	private double cost(int i, int j) {
+		return costs[edges.getEdge(i, j)];
+	}
 }
@@ -60,6 +60,9 @@ public class PropLagrOneTreeIntVar extends PropLagrOneTree {
 		obj = cost;
 		this.waitFirstSol = waitFirstSol;
 		assert checkSymmetry(costMatrix) : "TSP matrix should be symmetric";
+		// domains only shrink, so that their current edges are all the edges to index
+		rebuild();
+		indexEdges();
 	}
 
 	//***********************************************************************************
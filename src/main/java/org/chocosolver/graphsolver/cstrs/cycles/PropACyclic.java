@@ -28,21 +28,30 @@
 
 package org.chocosolver.graphsolver.cstrs.cycles;
 
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.set.hash.TLongHashSet;
 import org.chocosolver.graphsolver.variables.GraphEventType;
 import org.chocosolver.graphsolver.variables.GraphVar;
 import org.chocosolver.graphsolver.variables.delta.GraphDeltaMonitor;
+import org.chocosolver.memory.IStateInt;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.util.ESat;
-import org.chocosolver.util.objects.setDataStructures.ISet;
 
+import java.util.Arrays;
 import java.util.BitSet;
 
 
 /**
  * Propagator for the no-cycle constraint (general case)
  *
+ * In the directed case, a topological order of the lower bound is maintained incrementally
+ * (Pearce and Kelly, A Dynamic Topological Sort Algorithm for Directed Acyclic Graphs, JEA 2006) :
+ * when a mandatory arc (x,y) contradicts the order, only the nodes whose position lies between y and x are reordered.
+ * The order is backtrackable and makes filtering cheaper, as a potential arc can only close a circuit
+ * if it goes backward in the order.
+ *
  * @author Jean-Guillaume Fages
  */
 public class PropACyclic extends Propagator<GraphVar> {
@@ -55,7 +64,15 @@ public class PropACyclic extends Propagator<GraphVar> {
 	private GraphDeltaMonitor gdm;
 	private int n;
 	private BitSet rfFrom, rfTo;
-	private int[] fifo;
+	private int[] fifo, succ, neighbors;
+	// topological order of the lower bound (directed case) : ord[i] is the position of node i
+	private IStateInt[] ord;
+	private BitSet visited;
+	private int[] affected, positions;
+	private long[] keys;
+	// mandatory arcs of the current delta which are not yet in the order
+	private TIntArrayList pendingFrom, pendingTo;
+	private TLongHashSet pending;
 
 	//***********************************************************************************
 	// CONSTRUCTORS
@@ -66,9 +83,24 @@ public class PropACyclic extends Propagator<GraphVar> {
 		this.g = g;
 		this.n = g.getNbMaxNodes();
 		this.fifo = new int[n];
+		this.succ = new int[n];
+		this.neighbors = new int[n];
 		this.rfFrom = new BitSet(n);
 		this.rfTo = new BitSet(n);
 		this.gdm = g.monitorDelta(this);
+		if (g.isDirected()) {
+			this.ord = new IStateInt[n];
+			for (int i = 0; i < n; i++) {
+				ord[i] = g.getModel().getEnvironment().makeInt(i);
+			}
+			this.visited = new BitSet(n);
+			this.affected = new int[n];
+			this.positions = new int[n];
+			this.keys = new long[n];
+			this.pendingFrom = new TIntArrayList();
+			this.pendingTo = new TIntArrayList();
+			this.pending = new TLongHashSet();
+		}
 	}
 
 	//***********************************************************************************
@@ -84,12 +116,14 @@ public class PropACyclic extends Propagator<GraphVar> {
 	public void propagate(int evtmask) throws ContradictionException {
 		for (int i = 0; i < n; i++) {
 			g.removeArc(i, i, this);
-			if (g.getMandSuccOrNeighOf(i).size() > 0) {
-				for (int j = 0; j < n; j++) {
-					if (g.getMandSuccOrNeighOf(i).contains(j)) {
-						propagateIJ(i, j);
-					}
-				}
+		}
+		if (g.isDirected()) {
+			sortLowerBound();
+		}
+		for (int i = 0; i < n; i++) {
+			int nbSucc = g.copyMandSuccOrNeigh(i, succ);
+			for (int k = 0; k < nbSucc; k++) {
+				propagateIJ(i, succ[k]);
 			}
 		}
 		gdm.unfreeze();
@@ -98,58 +132,213 @@ public class PropACyclic extends Propagator<GraphVar> {
 	@Override
 	public void propagate(int idx, int mask) throws ContradictionException {
 		gdm.freeze();
-		gdm.forEachArc(this::propagateIJ, GraphEventType.ADD_ARC);
+		if (g.isDirected()) {
+			// the whole delta is inserted in the order first, so that filtering relies on an order of the lower bound
+			pendingFrom.resetQuick();
+			pendingTo.resetQuick();
+			pending.clear();
+			gdm.forEachArc(this::addPending, GraphEventType.ADD_ARC);
+			for (int k = 0; k < pendingFrom.size(); k++) {
+				insert(pendingFrom.getQuick(k), pendingTo.getQuick(k));
+			}
+			for (int k = 0; k < pendingFrom.size(); k++) {
+				propagateIJ(pendingFrom.getQuick(k), pendingTo.getQuick(k));
+			}
+		} else {
+			gdm.forEachArc(this::propagateIJ, GraphEventType.ADD_ARC);
+		}
 		gdm.unfreeze();
 	}
 
-
 	private void propagateIJ(int from, int to) throws ContradictionException {
 		if (g.isDirected()) {
 			g.removeArc(to, from, this);
+			markReachable(to, from, true, rfTo);
+			// an arc closing a circuit goes from a descendant of to back to an ancestor of from,
+			// ancestors of from lie before from in the order
+			int last = ord[from].get();
+			if (!hasArcBefore(rfTo, last)) {
+				return;
+			}
+			markReachable(from, to, false, rfFrom);
+			for (int i = rfTo.nextSetBit(0); i >= 0; i = rfTo.nextSetBit(i + 1)) {
+				int size = g.copyPotSuccOrNeigh(i, neighbors);
+				for (int k = 0; k < size; k++) {
+					int j = neighbors[k];
+					if (ord[j].get() <= last && rfFrom.get(j)) {
+						g.removeArc(i, j, this);
+					}
+				}
+			}
+		} else {
+			markReachable(to, from, true, rfTo);
+			markReachable(from, to, false, rfFrom);
+			// filter edges that would create a cycle
+			for (int i = rfTo.nextSetBit(0); i >= 0; i = rfTo.nextSetBit(i + 1)) {
+				int size = g.copyPotSuccOrNeigh(i, neighbors);
+				for (int k = 0; k < size; k++) {
+					int j = neighbors[k];
+					if (rfFrom.get(j) && (i != from || j != to) && (i != to || j != from)) {
+						g.removeArc(i, j, this);
+					}
+				}
+			}
 		}
-		int first, last, ik;
-		// mark reachable from 'To'
-		first = 0;
-		last = 0;
-		ik = to;
-		rfTo.clear();
-		fifo[last++] = ik;
-		rfTo.set(ik);
-		while (first < last) {
-			ik = fifo[first++];
-			ISet nei = g.getMandSuccOrNeighOf(ik);
-			for (int j : nei) {
-				if (j != from && !rfTo.get(j)) {
-					rfTo.set(j);
-					fifo[last++] = j;
+	}
+
+	/**
+	 * @return true iff some potential arc goes from a node of sources to a node whose position is at most last
+	 */
+	private boolean hasArcBefore(BitSet sources, int last) {
+		for (int i = sources.nextSetBit(0); i >= 0; i = sources.nextSetBit(i + 1)) {
+			int size = g.copyPotSuccOrNeigh(i, neighbors);
+			for (int k = 0; k < size; k++) {
+				if (ord[neighbors[k]].get() <= last) {
+					return true;
 				}
 			}
 		}
-		// mark reachable from 'From'
-		first = 0;
-		last = 0;
-		ik = from;
-		rfFrom.clear();
-		fifo[last++] = ik;
-		rfFrom.set(ik);
+		return false;
+	}
+
+	//***********************************************************************************
+	// TOPOLOGICAL ORDER
+	//***********************************************************************************
+
+	/**
+	 * Computes a topological order of the lower bound from scratch
+	 *
+	 * @throws ContradictionException if the lower bound contains a circuit
+	 */
+	private void sortLowerBound() throws ContradictionException {
+		if (topologicalSort() < n) {
+			fails();
+		}
+		for (int k = 0; k < n; k++) {
+			ord[fifo[k]].set(k);
+		}
+	}
+
+	/**
+	 * Kahn's algorithm over the lower bound, nodes are stored in fifo by increasing position
+	 *
+	 * @return the number of sorted nodes, which is n iff the lower bound has no circuit
+	 */
+	private int topologicalSort() {
+		int[] inDegree = positions;
+		int last = 0;
+		for (int i = 0; i < n; i++) {
+			inDegree[i] = g.getMandPredOrNeighOf(i).size();
+			if (inDegree[i] == 0) {
+				fifo[last++] = i;
+			}
+		}
+		int first = 0;
 		while (first < last) {
-			ik = fifo[first++];
-			ISet nei = g.getMandPredOrNeighOf(ik);
-			for (int j : nei) {
-				if (j != to && !rfFrom.get(j)) {
-					rfFrom.set(j);
-					fifo[last++] = j;
+			int size = g.copyMandSuccOrNeigh(fifo[first++], neighbors);
+			for (int k = 0; k < size; k++) {
+				if (--inDegree[neighbors[k]] == 0) {
+					fifo[last++] = neighbors[k];
 				}
 			}
 		}
-		// filter arcs that would create a circuit
-		for (int i : g.getPotentialNodes()) {
-			if (rfTo.get(i)) {
-				ISet nei = g.getPotSuccOrNeighOf(i);
-				for (int j : nei) {
-					if (rfFrom.get(j) && (i != from || j != to) && (i != to || j != from)) {
-						g.removeArc(i, j, this);
+		return last;
+	}
+
+	private void addPending(int from, int to) {
+		pendingFrom.add(from);
+		pendingTo.add(to);
+		pending.add(key(from, to));
+	}
+
+	private static long key(int from, int to) {
+		return (long) from << 32 | to;
+	}
+
+	/**
+	 * Updates the order after the insertion of arc (x,y) in the lower bound.
+	 * If y is before x, nodes reachable from y and located before x (forward region) are moved
+	 * after nodes reaching x and located after y (backward region), using the same set of positions.
+	 *
+	 * @throws ContradictionException if y reaches x, i.e. the lower bound contains a circuit
+	 */
+	private void insert(int x, int y) throws ContradictionException {
+		pending.remove(key(x, y));
+		int lb = ord[y].get();
+		int ub = ord[x].get();
+		if (ub < lb) {
+			return;
+		}
+		visited.clear();
+		int nbForward = searchRegion(y, x, lb, ub, true, 0);
+		int nbAffected = searchRegion(x, -1, lb, ub, false, nbForward);
+		for (int k = 0; k < nbAffected; k++) {
+			int i = affected[k];
+			positions[k] = ord[i].get();
+			keys[k] = (long) positions[k] << 32 | i;
+		}
+		Arrays.sort(positions, 0, nbAffected);
+		Arrays.sort(keys, 0, nbForward);
+		Arrays.sort(keys, nbForward, nbAffected);
+		int p = 0;
+		for (int k = nbForward; k < nbAffected; k++) {
+			ord[(int) keys[k]].set(positions[p++]);
+		}
+		for (int k = 0; k < nbForward; k++) {
+			ord[(int) keys[k]].set(positions[p++]);
+		}
+	}
+
+	/**
+	 * Collects in affected[start..] the nodes reachable from source through ordered mandatory arcs
+	 * (successors if forward, predecessors otherwise), whose position lies in [lb,ub]
+	 *
+	 * @return the index following the last collected node
+	 * @throws ContradictionException if target is reached
+	 */
+	private int searchRegion(int source, int target, int lb, int ub, boolean forward, int start) throws ContradictionException {
+		int first = start;
+		int last = start;
+		affected[last++] = source;
+		visited.set(source);
+		while (first < last) {
+			int i = affected[first++];
+			int size = forward ? g.copyMandSuccOrNeigh(i, neighbors) : g.copyMandPredOrNeigh(i, neighbors);
+			for (int k = 0; k < size; k++) {
+				int j = neighbors[k];
+				int pos = ord[j].get();
+				if (pos >= lb && pos <= ub && !visited.get(j)
+						&& (pending.isEmpty() || !pending.contains(forward ? key(i, j) : key(j, i)))) {
+					if (j == target) {
+						fails();
 					}
+					visited.set(j);
+					affected[last++] = j;
+				}
+			}
+		}
+		return last;
+	}
+
+	/**
+	 * Marks nodes reachable from source in the lower bound graph, without going through node avoid
+	 *
+	 * @param forward true to follow successors, false to follow predecessors
+	 */
+	private void markReachable(int source, int avoid, boolean forward, BitSet reached) {
+		int first = 0;
+		int last = 0;
+		reached.clear();
+		fifo[last++] = source;
+		reached.set(source);
+		while (first < last) {
+			int ik = fifo[first++];
+			int size = forward ? g.copyMandSuccOrNeigh(ik, neighbors) : g.copyMandPredOrNeigh(ik, neighbors);
+			for (int k = 0; k < size; k++) {
+				int j = neighbors[k];
+				if (j != avoid && !reached.get(j)) {
+					reached.set(j);
+					fifo[last++] = j;
 				}
 			}
 		}
@@ -157,54 +346,25 @@ public class PropACyclic extends Propagator<GraphVar> {
 
 	@Override
 	public ESat isEntailed() {
+		if (g.isDirected()) {
+			if (topologicalSort() < n) {
+				return ESat.FALSE;
+			}
+			return isCompletelyInstantiated() ? ESat.TRUE : ESat.UNDEFINED;
+		}
 		for (int from = 0; from < n; from++) {
-			ISet neigh = g.getMandSuccOrNeighOf(from);
-			for (int to : neigh) {
-				int first, last, ik;
-				// mark reachable from 'To'
-				first = 0;
-				last = 0;
-				ik = to;
-				rfTo.clear();
-				fifo[last++] = ik;
-				rfTo.set(ik);
-				while (first < last) {
-					ik = fifo[first++];
-					ISet nei = g.getMandSuccOrNeighOf(ik);
-					for (int j : nei) {
-						if (j != from && !rfTo.get(j)) {
-							rfTo.set(j);
-							fifo[last++] = j;
-						}
-					}
-				}
-				// mark reachable from 'From'
-				first = 0;
-				last = 0;
-				ik = from;
-				rfFrom.clear();
-				fifo[last++] = ik;
-				rfFrom.set(ik);
-				while (first < last) {
-					ik = fifo[first++];
-					ISet nei = g.getMandPredOrNeighOf(ik);
-					for (int j : nei) {
-						if (j != to && !rfFrom.get(j)) {
-							rfFrom.set(j);
-							fifo[last++] = j;
-						}
-					}
-				}
-				// filter arcs that would create a circuit
-				for (int i : g.getMandatoryNodes()) {
-					if (rfTo.get(i)) {
-						ISet nei = g.getMandSuccOrNeighOf(i);
-						for (int j : nei) {
-							if (rfFrom.get(j)) {
-								if ((i != from || j != to) && (i != to || j != from)) {
-									return ESat.FALSE;
-								}
-							}
+			int nbSucc = g.copyMandSuccOrNeigh(from, succ);
+			for (int s = 0; s < nbSucc; s++) {
+				int to = succ[s];
+				markReachable(to, from, true, rfTo);
+				markReachable(from, to, false, rfFrom);
+				// look for arcs that create a circuit
+				for (int i = rfTo.nextSetBit(0); i >= 0; i = rfTo.nextSetBit(i + 1)) {
+					int size = g.copyMandSuccOrNeigh(i, neighbors);
+					for (int k = 0; k < size; k++) {
+						int j = neighbors[k];
+						if (rfFrom.get(j) && (i != from || j != to) && (i != to || j != from)) {
+							return ESat.FALSE;
 						}
 					}
 				}
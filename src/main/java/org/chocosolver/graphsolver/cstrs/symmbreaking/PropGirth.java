@@ -1,35 +1,110 @@
 package org.chocosolver.graphsolver.cstrs.symmbreaking;
 
+import org.chocosolver.graphsolver.util.BitParallelBFS;
+import org.chocosolver.graphsolver.variables.GraphEventType;
 import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
+import org.chocosolver.graphsolver.variables.delta.GraphDeltaMonitor;
+import org.chocosolver.memory.IStateInt;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.util.ESat;
+import org.chocosolver.util.procedure.PairProcedure;
 
-import java.util.HashSet;
+import java.util.Arrays;
 
 /**
+ * Propagator stating that girth is the girth of the graph (n+1 if it is acyclic).
+ * <p>
+ * Both bounds are maintained incrementally from the graph delta:
+ * - the girth of the lower bound can only decrease when edges are enforced, and new cycles pass through
+ * the endpoints of enforced edges, so that only cycles through these nodes are searched, up to the current girth;
+ * - the girth of the upper bound is witnessed by one of its shortest cycles, and is computed again only when
+ * an edge of this cycle is removed. Witnesses are stacked and restored upon backtrack.
+ *
  * @author Моклев Вячеслав
  */
 public class PropGirth extends Propagator<Variable> {
 
 	private UndirectedGraphVar graph;
-	private int n;
 	private IntVar girth;
+	private final int n;
+	private final BitParallelBFS lbBFS, ubBFS;
+	private final GraphDeltaMonitor gdm;
+	private final PairProcedure arcEnforced, arcRemoved;
+
+	// girth of the lower bound
+	private final IStateInt mandGirth;
+	// endpoints of enforced edges
+	private final int[] sources;
+	private final boolean[] isSource;
+	private int nbSources;
+
+	// stack of shortest cycles of the upper bound (witnesses), the current one being on top
+	private final IStateInt nbWitnesses;
+	private int[] witnessNodes, witnessStart, witnessId;
+	private int nbComputedWitnesses;
+	// position of nodes in the current witness, which is the witness of id posId
+	private final int[] pos;
+	private int posId;
+	private boolean witnessBroken;
 
 	public PropGirth(UndirectedGraphVar graphVar, IntVar girth) {
 		super(new Variable[]{girth, graphVar}, PropagatorPriority.LINEAR, false);
 		graph = graphVar;
-		n = graphVar.getNbMaxNodes();
 		this.girth = girth;
+		this.n = graphVar.getNbMaxNodes();
+		this.lbBFS = new BitParallelBFS(graphVar, true);
+		this.ubBFS = new BitParallelBFS(graphVar, false);
+		this.gdm = graphVar.monitorDelta(this);
+		this.mandGirth = graphVar.getEnvironment().makeInt(n + 1);
+		this.sources = new int[n];
+		this.isSource = new boolean[n];
+		this.nbWitnesses = graphVar.getEnvironment().makeInt(0);
+		this.witnessNodes = new int[2 * n];
+		this.witnessStart = new int[16];
+		this.witnessId = new int[16];
+		this.pos = new int[n];
+		Arrays.fill(pos, -1);
+		this.posId = -1;
+		this.arcEnforced = (i, j) -> {
+			addSource(i);
+			addSource(j);
+		};
+		this.arcRemoved = (i, j) -> {
+			if (!witnessBroken && isWitnessEdge(i, j)) {
+				witnessBroken = true;
+			}
+		};
 	}
 
 	@Override
 	public void propagate(int evtmask) throws ContradictionException {
-		int upperGraphGirth = getUpperGraphGirth();
-		int lowerGraphGirth = getLowerGraphGirth();
+		gdm.freeze();
+		if (nbWitnesses.get() == 0) {
+			// first propagation
+			mandGirth.set(lbBFS.computeGirth());
+			computeWitness();
+		} else {
+			nbSources = 0;
+			witnessBroken = false;
+			gdm.forEachArc(arcEnforced, GraphEventType.ADD_ARC);
+			gdm.forEachArc(arcRemoved, GraphEventType.REMOVE_ARC);
+			if (nbSources > 0) {
+				mandGirth.set(lbBFS.computeShortestCycle(sources, nbSources, mandGirth.get()));
+				for (int k = 0; k < nbSources; k++) {
+					isSource[sources[k]] = false;
+				}
+			}
+			if (witnessBroken) {
+				computeWitness();
+			}
+		}
+		gdm.unfreeze();
+		int upperGraphGirth = mandGirth.get();
+		int lowerGraphGirth = getWitnessLength();
 		if (upperGraphGirth < girth.getUB()) {
 			girth.updateUpperBound(upperGraphGirth, this);
 		}
@@ -60,65 +135,83 @@ public class PropGirth extends Propagator<Variable> {
 		return ESat.UNDEFINED;
 	}
 
-	private int getUpperGraphGirth() {
-		int g = n + 1;
-		for (int i = 0; i < n; i++) {
-			int pg = getUpperGraphGirth(i);
-			if (pg < g) {
-				g = pg;
-			}
+	//***********************************************************************************
+	// INCREMENTAL GIRTH
+	//***********************************************************************************
+
+	private void addSource(int i) {
+		if (!isSource[i]) {
+			isSource[i] = true;
+			sources[nbSources++] = i;
 		}
-		return g;
 	}
 
-	private int getLowerGraphGirth() {
-		int g = n + 1;
-		for (int i = 0; i < n; i++) {
-			int pg = getLowerGraphGirth(i);
-			if (pg < g) {
-				g = pg;
-			}
+	/**
+	 * Computes a shortest cycle of the upper bound, and pushes it on the stack of witnesses
+	 */
+	private void computeWitness() {
+		ubBFS.computeGirth();
+		int top = nbWitnesses.get();
+		if (top + 2 > witnessStart.length) {
+			witnessStart = Arrays.copyOf(witnessStart, 2 * witnessStart.length);
+			witnessId = Arrays.copyOf(witnessId, 2 * witnessId.length);
 		}
-		return g;
+		int start = top == 0 ? 0 : witnessStart[top];
+		if (start + n > witnessNodes.length) {
+			witnessNodes = Arrays.copyOf(witnessNodes, 2 * (start + n));
+		}
+		witnessStart[top] = start;
+		witnessStart[top + 1] = start + ubBFS.getShortestCycle(sources);
+		System.arraycopy(sources, 0, witnessNodes, start, witnessStart[top + 1] - start);
+		witnessId[top] = nbComputedWitnesses++;
+		nbWitnesses.set(top + 1);
 	}
 
-	private int getUpperGraphGirth(int vertex) {
-		HashSet<Pair<Integer, Integer>> reachable = new HashSet<>();
-		reachable.add(new Pair<>(vertex, -1));
-		for (int i = 1; i <= n; i++) {
-			HashSet<Pair<Integer, Integer>> set = new HashSet<>();
-			for (Pair<Integer, Integer> u : reachable) {
-				for (int v : graph.getMandNeighOf(u.getA())) {
-					if (v != u.getB()) {
-						if (v == vertex) {
-							return i;
-						}
-						set.add(new Pair<>(v, u.getA()));
-					}
-				}
-			}
-			reachable = set;
-		}
-		return n + 1;
+	/**
+	 * @return the girth of the upper bound, i.e. the length of the current witness (n+1 if there is none)
+	 */
+	private int getWitnessLength() {
+		int top = nbWitnesses.get() - 1;
+		int length = witnessStart[top + 1] - witnessStart[top];
+		return length == 0 ? n + 1 : length;
 	}
 
-	private int getLowerGraphGirth(int vertex) {
-		HashSet<Pair<Integer, Integer>> reachable = new HashSet<>();
-		reachable.add(new Pair<>(vertex, -1));
-		for (int i = 1; i <= n; i++) {
-			HashSet<Pair<Integer, Integer>> set = new HashSet<>();
-			for (Pair<Integer, Integer> u : reachable) {
-				for (int v : graph.getPotNeighOf(u.getA())) {
-					if (v != u.getB()) {
-						if (v == vertex) {
-							return i;
-						}
-						set.add(new Pair<>(v, u.getA()));
-					}
-				}
+	/**
+	 * @return true iff (i,j) is an edge of the current witness
+	 */
+	private boolean isWitnessEdge(int i, int j) {
+		int top = nbWitnesses.get() - 1;
+		int start = witnessStart[top];
+		int length = witnessStart[top + 1] - start;
+		if (posId != witnessId[top]) {
+			Arrays.fill(pos, -1);
+			for (int k = 0; k < length; k++) {
+				pos[witnessNodes[start + k]] = k;
 			}
-			reachable = set;
+			posId = witnessId[top];
+		}
+		if (pos[i] == -1 || pos[j] == -1) {
+			return false;
 		}
-		return n + 1;
+		int gap = Math.abs(pos[i] - pos[j]);
+		return length == 1 || gap == 1 || gap == length - 1;
+	}
+
+	//***********************************************************************************
+	// GIRTH FROM SCRATCH
+	//***********************************************************************************
+
+	/**
+	 * @return the girth of the lower bound, which is an upper bound of the girth
+	 */
+	private int getUpperGraphGirth() {
+		return lbBFS.computeGirth();
+	}
+
+	/**
+	 * @return the girth of the upper bound, which is a lower bound of the girth
+	 */
+	private int getLowerGraphGirth() {
+		return ubBFS.computeGirth();
 	}
 }
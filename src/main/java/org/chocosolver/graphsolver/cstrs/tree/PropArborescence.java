@@ -29,6 +29,8 @@ package org.chocosolver.graphsolver.cstrs.tree;
 
 import org.chocosolver.graphsolver.variables.DirectedGraphVar;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.SetFactory;
 
 import java.util.BitSet;
 
@@ -46,6 +48,7 @@ public class PropArborescence extends PropArborescences {
 	protected final int root;
 	protected final BitSet visited;
 	protected final int[] fifo;
+	protected final ISet unreachable;
 
 	//***********************************************************************************
 	// CONSTRUCTORS
@@ -61,6 +64,7 @@ public class PropArborescence extends PropArborescences {
 		this.root = root;
 		this.visited = new BitSet(n);
 		this.fifo = new int[n];
+		this.unreachable = SetFactory.makeBitSet(0);
 	}
 
 	//***********************************************************************************
@@ -73,9 +77,11 @@ public class PropArborescence extends PropArborescences {
 		// explore the graph from the root
 		explore();
 		// remove unreachable nodes
+		unreachable.clear();
 		for (int o = visited.nextClearBit(0); o < n; o = visited.nextClearBit(o + 1)) {
-			g.removeNode(o, this);
+			unreachable.add(o);
 		}
+		g.removeNodes(unreachable, this);
 		super.propagate(evt);
 	}
 
@@ -78,6 +78,24 @@ public class GraphDecision extends Decision<GraphVar> {
 	// METHODS
 	//***********************************************************************************
 
+	/**
+	 * @return the node of a node decision, or the tail of an arc decision
+	 */
+	public int getFrom() {
+		return from;
+	}
+
+	/**
+	 * @return the head of an arc decision, -1 for a node decision
+	 */
+	public int getTo() {
+		return to;
+	}
+
+	public GraphAssignment getAssignment() {
+		return assignment;
+	}
+
 	@Override
 	public void apply() throws ContradictionException {
 		if (branch == 1) {
@@ -0,0 +1,83 @@
+package org.chocosolver.graphsolver.search.lns;
+
+import org.chocosolver.graphsolver.variables.GraphVar;
+
+/**
+ * Relaxes the arcs of the last solution lying inside a ball of the upper bound graph :
+ * nodes are added to the ball in breadth-first order from a random node (neighbors being visited in random order,
+ * arcs being considered in both directions), and every solution arc between two nodes of the ball is relaxed.
+ *
+ * @since 18/10/2026.
+ */
+public class ClusterNeighborhood extends GraphNeighborhood {
+
+	private final int[] queue, neighbors, mark;
+	private int stamp, last;
+
+	/**
+	 * @param g    a graph variable
+	 * @param size initial number of arcs to relax
+	 * @param seed randomness seed
+	 */
+	public ClusterNeighborhood(GraphVar g, int size, long seed) {
+		super(g, size, seed);
+		this.queue = new int[n];
+		this.neighbors = new int[n];
+		this.mark = new int[n];
+	}
+
+	@Override
+	protected void selectRelaxedArcs() {
+		stamp++;
+		int first = 0;
+		last = 0;
+		while (!isFull()) {
+			if (first == last) {
+				// the ball covers a whole component, continues from another random node
+				int i = solution.getTail(rd.nextInt(solution.getNbArcIndices()));
+				if (mark[i] != stamp) {
+					add(i);
+				}
+				continue;
+			}
+			int i = queue[first++];
+			visit(i, g.copyPotSuccOrNeigh(i, neighbors));
+			if (g.isDirected()) {
+				visit(i, g.copyPotPredOrNeigh(i, neighbors));
+			}
+		}
+	}
+
+	private void visit(int i, int size) {
+		for (int p = size - 1; p > 0; p--) {
+			int q = rd.nextInt(p + 1);
+			int tmp = neighbors[p];
+			neighbors[p] = neighbors[q];
+			neighbors[q] = tmp;
+		}
+		for (int p = 0; p < size && !isFull(); p++) {
+			if (mark[neighbors[p]] != stamp) {
+				add(neighbors[p]);
+			}
+		}
+	}
+
+	private void add(int i) {
+		mark[i] = stamp;
+		queue[last++] = i;
+		// relaxes the solution arcs between i and the ball
+		for (int k = solution.firstArc(i); k < solution.lastArc(i); k++) {
+			if (mark[solution.getHead(k)] == stamp) {
+				relax(k);
+			}
+		}
+		if (g.isDirected()) {
+			for (int j : g.getPotPredOrNeighOf(i)) {
+				int k;
+				if (mark[j] == stamp && (k = solution.indexOf(j, i)) >= 0) {
+					relax(k);
+				}
+			}
+		}
+	}
+}
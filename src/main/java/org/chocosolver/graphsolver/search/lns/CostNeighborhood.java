@@ -0,0 +1,45 @@
+package org.chocosolver.graphsolver.search.lns;
+
+import org.chocosolver.graphsolver.util.IndexedHeap;
+import org.chocosolver.graphsolver.variables.GraphVar;
+
+/**
+ * Relaxes expensive arcs of the last solution, according to an arc cost matrix :
+ * each solution arc gets a random key, uniformly drawn in [0,cost], and the arcs of largest keys are relaxed.
+ * Costs should be non negative.
+ *
+ * @since 18/10/2026.
+ */
+public class CostNeighborhood extends GraphNeighborhood {
+
+	private final int[][] costs;
+	private IndexedHeap heap;
+
+	/**
+	 * @param g     a graph variable
+	 * @param costs arc cost matrix
+	 * @param size  initial number of arcs to relax
+	 * @param seed  randomness seed
+	 */
+	public CostNeighborhood(GraphVar g, int[][] costs, int size, long seed) {
+		super(g, size, seed);
+		this.costs = costs;
+	}
+
+	@Override
+	protected void selectRelaxedArcs() {
+		if (heap == null || heap.capacity() < solution.getNbArcIndices()) {
+			heap = new IndexedHeap(solution.getNbArcIndices());
+		}
+		heap.clear();
+		for (int k = 0; k < solution.getNbArcIndices(); k++) {
+			if (g.isDirected() || solution.getTail(k) <= solution.getHead(k)) {
+				// min-heap : larger keys first
+				heap.add(k, -rd.nextDouble() * costs[solution.getTail(k)][solution.getHead(k)]);
+			}
+		}
+		while (!isFull() && !heap.isEmpty()) {
+			relax(heap.poll());
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package org.chocosolver.graphsolver.search.lns;
+
+import org.chocosolver.graphsolver.GraphModelSolution;
+import org.chocosolver.graphsolver.variables.GraphSolution;
+import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.loop.lns.neighbors.Neighbor;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.SetFactory;
+
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Large neighborhood of a graph variable, for choco-solver's LNS (see Solver#setLNS).
+ * The last solution is stored as a GraphSolution. Each neighbor relaxes some of its arcs, selected by subclasses,
+ * and enforces all the other ones (one batch per node). Arcs outside the last solution are left free.
+ * <p>
+ * The size of the neighborhood is the (minimum) number of relaxed arcs. It grows by 50% whenever
+ * as many neighbors as its size have been explored without improvement (see #restrictLess()),
+ * so that the search becomes complete once every arc is relaxed.
+ *
+ * @since 18/10/2026.
+ */
+public abstract class GraphNeighborhood extends Neighbor {
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	protected final GraphVar g;
+	protected final int n;
+	protected final Random rd;
+	protected int size;
+	private int nbRestrictLess;
+	// last solution, each undirected edge appears in both directions
+	protected GraphSolution solution;
+	// relaxed arcs, indexed as in solution
+	private final BitSet relaxed;
+	private int nbRelaxed;
+	private final ISet frozen;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	/**
+	 * @param g    a graph variable
+	 * @param size initial number of arcs to relax
+	 * @param seed randomness seed
+	 */
+	protected GraphNeighborhood(GraphVar g, int size, long seed) {
+		super(new IntVar[0]);
+		if (size < 1) {
+			throw new UnsupportedOperationException("at least one arc should be relaxed");
+		}
+		this.g = g;
+		this.n = g.getNbMaxNodes();
+		this.rd = new Random(seed);
+		this.size = size;
+		this.solution = new GraphSolution(g);
+		this.relaxed = new BitSet();
+		this.frozen = SetFactory.makeBipartiteSet(0);
+	}
+
+	//***********************************************************************************
+	// NEIGHBOR
+	//***********************************************************************************
+
+	@Override
+	public void init() {
+		nbRestrictLess = 0;
+	}
+
+	@Override
+	public void recordSolution() {
+		solution.record(g);
+	}
+
+	/**
+	 * Loads the value of g from solution, which must be a GraphModelSolution storing g
+	 */
+	@Override
+	public void loadFromSolution(Solution solution) {
+		GraphSolution gs = solution instanceof GraphModelSolution ? ((GraphModelSolution) solution).getGraphSolution(g) : null;
+		if (gs == null) {
+			throw new UnsupportedOperationException("graph neighborhoods can only load a GraphModelSolution storing their variable");
+		}
+		this.solution = gs.copy();
+	}
+
+	@Override
+	public void fixSomeVariables() throws ContradictionException {
+		if (!solution.exists() || size >= solution.getNbArcs()) {
+			return;
+		}
+		relaxed.clear();
+		nbRelaxed = 0;
+		selectRelaxedArcs();
+		for (int i = 0; i < n; i++) {
+			frozen.clear();
+			for (int k = solution.firstArc(i); k < solution.lastArc(i); k++) {
+				int j = solution.getHead(k);
+				if ((g.isDirected() || i <= j) && !relaxed.get(k)) {
+					frozen.add(j);
+				}
+			}
+			if (!frozen.isEmpty()) {
+				g.enforceArcs(i, frozen, this);
+			}
+		}
+	}
+
+	@Override
+	public void restrictLess() {
+		if (++nbRestrictLess > size) {
+			nbRestrictLess = 0;
+			size += size / 2 + 1;
+		}
+	}
+
+	@Override
+	public boolean isSearchComplete() {
+		return solution.exists() && size >= solution.getNbArcs();
+	}
+
+	//***********************************************************************************
+	// RELAXATION
+	//***********************************************************************************
+
+	/**
+	 * Selects the arcs of the last solution to relax, through #relax(int), until #isFull()
+	 * (or until no more arc can be relaxed). Called only when some arc is to be frozen.
+	 */
+	protected abstract void selectRelaxedArcs();
+
+	/**
+	 * Relaxes the arc of index k in the solution (both directions of an undirected edge)
+	 *
+	 * @return true iff the arc was not relaxed yet
+	 */
+	protected boolean relax(int k) {
+		if (relaxed.get(k)) {
+			return false;
+		}
+		relaxed.set(k);
+		if (!g.isDirected()) {
+			relaxed.set(solution.indexOf(solution.getHead(k), solution.getTail(k)));
+		}
+		nbRelaxed++;
+		return true;
+	}
+
+	/**
+	 * @return true iff arc of index k in the solution is relaxed
+	 */
+	protected boolean isRelaxed(int k) {
+		return relaxed.get(k);
+	}
+
+	/**
+	 * @return true iff enough arcs have been relaxed
+	 */
+	protected boolean isFull() {
+		return nbRelaxed >= size;
+	}
+
+	public int getSize() {
+		return size;
+	}
+}
@@ -0,0 +1,56 @@
+package org.chocosolver.graphsolver.search.lns;
+
+import org.chocosolver.graphsolver.variables.GraphVar;
+
+/**
+ * Relaxes a connected fragment of the last solution : starting from a random node,
+ * arcs are relaxed while walking along the solution (following successors in the directed case).
+ * On a cycle or a path, the fragment is a sub-path, on a tree, it is a subtree.
+ *
+ * @since 18/10/2026.
+ */
+public class PathNeighborhood extends GraphNeighborhood {
+
+	private int[] stack;
+
+	/**
+	 * @param g    a graph variable
+	 * @param size initial number of consecutive arcs to relax
+	 * @param seed randomness seed
+	 */
+	public PathNeighborhood(GraphVar g, int size, long seed) {
+		super(g, size, seed);
+		this.stack = new int[0];
+	}
+
+	@Override
+	protected void selectRelaxedArcs() {
+		if (stack.length <= solution.getNbArcIndices()) {
+			stack = new int[solution.getNbArcIndices() + 1];
+		}
+		while (!isFull()) {
+			// a new fragment is started whenever the current one cannot be extended
+			int k = rd.nextInt(solution.getNbArcIndices());
+			int top = 0;
+			stack[top++] = solution.getTail(k);
+			while (top > 0 && !isFull()) {
+				int i = stack[top - 1];
+				int next = -1;
+				int d = solution.lastArc(i) - solution.firstArc(i);
+				int offset = d > 0 ? rd.nextInt(d) : 0;
+				for (int p = 0; p < d && next == -1; p++) {
+					int a = solution.firstArc(i) + (offset + p) % d;
+					if (!isRelaxed(a)) {
+						next = a;
+					}
+				}
+				if (next == -1) {
+					top--;
+				} else {
+					relax(next);
+					stack[top++] = solution.getHead(next);
+				}
+			}
+		}
+	}
+}
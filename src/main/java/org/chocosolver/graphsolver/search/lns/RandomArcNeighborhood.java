@@ -0,0 +1,27 @@
+package org.chocosolver.graphsolver.search.lns;
+
+import org.chocosolver.graphsolver.variables.GraphVar;
+
+/**
+ * Relaxes arcs of the last solution chosen uniformly at random.
+ *
+ * @since 18/10/2026.
+ */
+public class RandomArcNeighborhood extends GraphNeighborhood {
+
+	/**
+	 * @param g    a graph variable
+	 * @param size initial number of arcs to relax
+	 * @param seed randomness seed
+	 */
+	public RandomArcNeighborhood(GraphVar g, int size, long seed) {
+		super(g, size, seed);
+	}
+
+	@Override
+	protected void selectRelaxedArcs() {
+		while (!isFull()) {
+			relax(rd.nextInt(solution.getNbArcIndices()));
+		}
+	}
+}
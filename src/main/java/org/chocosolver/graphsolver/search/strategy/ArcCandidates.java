@@ -0,0 +1,286 @@
+package org.chocosolver.graphsolver.search.strategy;
+
+import org.chocosolver.graphsolver.util.IndexedHeap;
+import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+
+import java.util.Arrays;
+
+/**
+ * Undecided arcs of a graph variable, indexed by a key so that the arc of minimum key is found in O(log(m)).
+ * Ties are broken by lexicographic order.
+ * <p>
+ * Arcs of the upper bound are indexed once, when the first arc is requested, by their rank in lexicographic order.
+ * Decided arcs are removed lazily from the top of the heap and logged : only the first nbLogged ones have been
+ * removed in the current branch (nbLogged is backtrackable), the others are put back when a later request
+ * finds them out of date. The index is only built again if the upper bound has more arcs than indexed
+ * (i.e. when backtracking above the world where it was built, if arcs have been removed before it), reusing its arrays.
+ * <p>
+ * Keys depending on degrees are kept up to date by checking degrees of every node in O(n) at each request,
+ * so that no delta is needed, even when some decisions are made by other strategies.
+ * Other changes must be signalled through rescore(int) or rescoreAll().
+ *
+ * @since 18/10/2026.
+ */
+public class ArcCandidates {
+
+	/**
+	 * Key of an arc, the arc of minimum key being selected first
+	 */
+	public interface ArcKey {
+		double key(int from, int to);
+	}
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	private final GraphVar g;
+	private final int n;
+	private final ArcKey arcKey;
+	private boolean trackDegrees;
+	private final int[] neighbors;
+	// indexed arcs, by rank in lexicographic order (nbArcs is -1 until the first request)
+	private int nbArcs;
+	private int[] arcFrom, arcTo;
+	private IndexedHeap heap;
+	// arcs incident to each node, and degrees of each node when its arcs were last keyed
+	private int[] incidence, incidenceStart;
+	private final int[][] degrees;
+	// arcs removed from the heap, only the first nbLogged ones have been removed in the current branch
+	private int[] log;
+	private int logSize;
+	private final IStateInt nbLogged;
+	// number of times the log has been reset, restored to a previous one when backtracking above the world
+	// where it has been reset (then every logged arc must be put back)
+	private int nbResets;
+	private final IStateInt resetStamp;
+	private boolean rekey;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	/**
+	 * @param g            a graph variable
+	 * @param arcKey       key of arcs
+	 * @param trackDegrees true iff keys depend on degrees of nodes in either bound
+	 */
+	public ArcCandidates(GraphVar g, ArcKey arcKey, boolean trackDegrees) {
+		this.g = g;
+		this.n = g.getNbMaxNodes();
+		this.arcKey = arcKey;
+		this.trackDegrees = trackDegrees;
+		this.neighbors = new int[n];
+		this.nbArcs = -1;
+		this.degrees = new int[4][n];
+		this.log = new int[16];
+		IEnvironment environment = g.getEnvironment();
+		this.nbLogged = environment.makeInt(0);
+		this.resetStamp = environment.makeInt(0);
+	}
+
+	//***********************************************************************************
+	// METHODS
+	//***********************************************************************************
+
+	/**
+	 * Brings candidates up to date with the current domain of g
+	 *
+	 * @return the undecided arc of minimum key, or -1 if every arc is decided
+	 */
+	public int best() {
+		if (nbArcs == -1) {
+			index();
+		} else if (resetStamp.get() != nbResets) {
+			// backtracked above the world of the last reset
+			if (g.getNbPotArcs() > nbArcs) {
+				index();
+			} else {
+				restore(0);
+				resetLog();
+			}
+		} else {
+			restore(nbLogged.get());
+		}
+		if (rekey) {
+			rekey = false;
+			for (int a = 0; a < nbArcs; a++) {
+				if (heap.contains(a)) {
+					heap.update(a, key(a));
+				}
+			}
+			if (trackDegrees) {
+				for (int i = 0; i < n; i++) {
+					updateDegrees(i);
+				}
+			}
+		} else if (trackDegrees) {
+			for (int i = 0; i < n; i++) {
+				if (updateDegrees(i)) {
+					rescore(i);
+				}
+			}
+		}
+		while (!heap.isEmpty() && isDecided(heap.peek())) {
+			log(heap.poll());
+		}
+		nbLogged.set(logSize);
+		return heap.isEmpty() ? -1 : heap.peek();
+	}
+
+	public int getFrom(int a) {
+		return arcFrom[a];
+	}
+
+	public int getTo(int a) {
+		return arcTo[a];
+	}
+
+	/**
+	 * Updates keys of arcs incident to node i, whose score has changed
+	 */
+	public void rescore(int i) {
+		if (nbArcs == -1) {
+			return;
+		}
+		for (int k = incidenceStart[i]; k < incidenceStart[i + 1]; k++) {
+			int a = incidence[k];
+			if (heap.contains(a)) {
+				heap.update(a, key(a));
+			}
+		}
+	}
+
+	/**
+	 * Keys of every arc will be computed again at the next request (e.g. when the key function has changed)
+	 *
+	 * @param trackDegrees true iff keys depend on degrees of nodes in either bound
+	 */
+	public void rescoreAll(boolean trackDegrees) {
+		this.trackDegrees = trackDegrees;
+		this.rekey = true;
+	}
+
+	//***********************************************************************************
+	// INDEX
+	//***********************************************************************************
+
+	private void index() {
+		int m = 0;
+		for (int pass = 0; pass < 2; pass++) {
+			m = 0;
+			for (int i = 0; i < n; i++) {
+				int size = g.copyPotSuccOrNeigh(i, neighbors);
+				Arrays.sort(neighbors, 0, size);
+				for (int k = 0; k < size; k++) {
+					if (g.isDirected() || i <= neighbors[k]) {
+						if (pass == 1) {
+							arcFrom[m] = i;
+							arcTo[m] = neighbors[k];
+						}
+						m++;
+					}
+				}
+			}
+			if (pass == 0 && (arcFrom == null || arcFrom.length < m)) {
+				arcFrom = new int[m];
+				arcTo = new int[m];
+				heap = new IndexedHeap(m);
+				incidence = new int[2 * m];
+			}
+		}
+		nbArcs = m;
+		if (incidenceStart == null) {
+			incidenceStart = new int[n + 1];
+		} else {
+			Arrays.fill(incidenceStart, 0);
+		}
+		for (int a = 0; a < m; a++) {
+			incidenceStart[arcFrom[a] + 1]++;
+			if (arcTo[a] != arcFrom[a]) {
+				incidenceStart[arcTo[a] + 1]++;
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			incidenceStart[i + 1] += incidenceStart[i];
+		}
+		System.arraycopy(incidenceStart, 0, neighbors, 0, n);
+		for (int a = 0; a < m; a++) {
+			incidence[neighbors[arcFrom[a]]++] = a;
+			if (arcTo[a] != arcFrom[a]) {
+				incidence[neighbors[arcTo[a]]++] = a;
+			}
+		}
+		// mandatory arcs are indexed as well, they will be logged when reaching the top of the heap
+		heap.clear();
+		for (int a = 0; a < m; a++) {
+			heap.add(a, key(a));
+		}
+		for (int i = 0; i < n; i++) {
+			updateDegrees(i);
+		}
+		rekey = false;
+		logSize = 0;
+		resetLog();
+	}
+
+	private void resetLog() {
+		nbLogged.set(0);
+		resetStamp.set(++nbResets);
+	}
+
+	/**
+	 * Puts back arcs logged after the first nbValid ones
+	 */
+	private void restore(int nbValid) {
+		while (logSize > nbValid) {
+			int a = log[--logSize];
+			heap.add(a, key(a));
+		}
+	}
+
+	private void log(int a) {
+		if (logSize == log.length) {
+			log = Arrays.copyOf(log, 2 * logSize);
+		}
+		log[logSize++] = a;
+	}
+
+	private boolean isDecided(int a) {
+		return !g.getUB().isArcOrEdge(arcFrom[a], arcTo[a]) || g.getLB().isArcOrEdge(arcFrom[a], arcTo[a]);
+	}
+
+	private double key(int a) {
+		return arcKey.key(arcFrom[a], arcTo[a]);
+	}
+
+	/**
+	 * @return true iff a degree of node i has changed since the last call
+	 */
+	private boolean updateDegrees(int i) {
+		boolean changed = false;
+		for (int d = 0; d < 4; d++) {
+			int degree = degree(d, i);
+			if (degrees[d][i] != degree) {
+				degrees[d][i] = degree;
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	private int degree(int d, int i) {
+		switch (d) {
+			case 0:
+				return g.getPotSuccOrNeighOf(i).size();
+			case 1:
+				return g.getPotPredOrNeighOf(i).size();
+			case 2:
+				return g.getMandSuccOrNeighOf(i).size();
+			default:
+				return g.getMandPredOrNeighOf(i).size();
+		}
+	}
+}
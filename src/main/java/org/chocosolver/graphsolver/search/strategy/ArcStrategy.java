@@ -44,6 +44,13 @@ public abstract class ArcStrategy<G extends GraphVar> {
 
 	public abstract boolean computeNextArc();
 
+	/**
+	 * Called when the search strategy using this arc strategy is removed from the solver,
+	 * to release resources such as search monitors
+	 */
+	public void remove() {
+	}
+
 	public int getFrom() {
 		return from;
 	}
@@ -0,0 +1,145 @@
+package org.chocosolver.graphsolver.search.strategy;
+
+import org.chocosolver.graphsolver.search.GraphAssignment;
+import org.chocosolver.graphsolver.search.GraphDecision;
+import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.loop.monitors.IMonitorContradiction;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.util.PoolManager;
+
+/**
+ * Last conflict reasoning over the nodes and arcs of a graph variable, decorating any graph strategy.
+ * The elements of the last k decisions which led to a failure are remembered (most recent first),
+ * and are branched on again, the same way, as long as one of them is undecided.
+ * Otherwise, the decision is delegated to the decorated strategy.
+ * <p>
+ * Unlike GraphSearch#useLastConflict(), which only remembers the tail of the last arc,
+ * conflicts are exact graph elements, either nodes or arcs.
+ *
+ * @since 18/10/2026.
+ */
+public class GraphLastConflict extends AbstractStrategy<GraphVar> implements IMonitorContradiction {
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	private final GraphVar g;
+	private final AbstractStrategy<GraphVar> strategy;
+	private final PoolManager<GraphDecision> pool;
+	// conflicting elements, most recent first : to is -1 for a node
+	private final int[] conflictFrom, conflictTo;
+	private final GraphAssignment[] conflictAssignment;
+	private int size;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	/**
+	 * @param g        the graph variable branched on by strategy
+	 * @param strategy the strategy to decorate
+	 * @param k        maximum number of conflicting elements to remember
+	 */
+	public GraphLastConflict(GraphVar g, AbstractStrategy<GraphVar> strategy, int k) {
+		super(g);
+		if (k < 1) {
+			throw new UnsupportedOperationException("at least one conflict should be remembered");
+		}
+		this.g = g;
+		this.strategy = strategy;
+		this.pool = new PoolManager<>();
+		this.conflictFrom = new int[k];
+		this.conflictTo = new int[k];
+		this.conflictAssignment = new GraphAssignment[k];
+		g.getModel().getSolver().plugMonitor(this);
+	}
+
+	/**
+	 * Last conflict reasoning over the last conflicting element only
+	 *
+	 * @param g        the graph variable branched on by strategy
+	 * @param strategy the strategy to decorate
+	 */
+	public GraphLastConflict(GraphVar g, AbstractStrategy<GraphVar> strategy) {
+		this(g, strategy, 1);
+	}
+
+	//***********************************************************************************
+	// METHODS
+	//***********************************************************************************
+
+	@Override
+	public boolean init() {
+		return strategy.init();
+	}
+
+	@Override
+	public void remove() {
+		strategy.remove();
+		g.getModel().getSolver().unplugMonitor(this);
+	}
+
+	@Override
+	public void onContradiction(ContradictionException cex) {
+		Decision d = g.getModel().getSolver().getDecisionPath().getLastDecision();
+		if (d instanceof GraphDecision && d.getDecisionVariable() == g) {
+			GraphDecision gd = (GraphDecision) d;
+			addConflict(gd.getFrom(), gd.getTo(), gd.getAssignment());
+		}
+	}
+
+	private void addConflict(int from, int to, GraphAssignment assignment) {
+		int p = 0;
+		while (p < size && (conflictFrom[p] != from || conflictTo[p] != to)) {
+			p++;
+		}
+		if (p == size) {
+			if (size < conflictFrom.length) {
+				size++;
+			} else {
+				p--;
+			}
+		}
+		// moves the element to the front
+		for (; p > 0; p--) {
+			conflictFrom[p] = conflictFrom[p - 1];
+			conflictTo[p] = conflictTo[p - 1];
+			conflictAssignment[p] = conflictAssignment[p - 1];
+		}
+		conflictFrom[0] = from;
+		conflictTo[0] = to;
+		conflictAssignment[0] = assignment;
+	}
+
+	@Override
+	public Decision<GraphVar> getDecision() {
+		for (int p = 0; p < size; p++) {
+			int from = conflictFrom[p];
+			int to = conflictTo[p];
+			if (to == -1 ? isUndecidedNode(from) : isUndecidedArc(from, to)) {
+				GraphDecision dec = pool.getE();
+				if (dec == null) {
+					dec = new GraphDecision(pool);
+				}
+				if (to == -1) {
+					dec.setNode(g, from, conflictAssignment[p]);
+				} else {
+					dec.setArc(g, from, to, conflictAssignment[p]);
+				}
+				return dec;
+			}
+		}
+		return strategy.getDecision();
+	}
+
+	private boolean isUndecidedNode(int i) {
+		return g.getPotentialNodes().contains(i) && !g.getMandatoryNodes().contains(i);
+	}
+
+	private boolean isUndecidedArc(int from, int to) {
+		return g.getPotSuccOrNeighOf(from).contains(to) && !g.getMandSuccOrNeighOf(from).contains(to);
+	}
+}
@@ -0,0 +1,87 @@
+package org.chocosolver.graphsolver.search.strategy;
+
+import org.chocosolver.graphsolver.search.GraphAssignment;
+import org.chocosolver.graphsolver.search.GraphDecision;
+import org.chocosolver.graphsolver.variables.GraphSolution;
+import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+
+/**
+ * Phase saving over the nodes and arcs of a graph variable, decorating any graph strategy.
+ * The decorated strategy selects the element to branch on, and the decision is turned into
+ * an enforcing if the element belongs to the last solution, or into a removal otherwise.
+ * Before the first solution, decisions are left unchanged.
+ * <p>
+ * Combined with restarts, the search first dives towards the last solution,
+ * which makes improvement loops (e.g. large neighborhood search) converge faster.
+ *
+ * @since 18/10/2026.
+ */
+public class GraphPhaseSaving extends AbstractStrategy<GraphVar> implements IMonitorSolution {
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	private final GraphVar g;
+	private final AbstractStrategy<GraphVar> strategy;
+	private final GraphSolution solution;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	/**
+	 * @param g        the graph variable branched on by strategy
+	 * @param strategy the strategy to decorate
+	 */
+	public GraphPhaseSaving(GraphVar g, AbstractStrategy<GraphVar> strategy) {
+		super(g);
+		this.g = g;
+		this.strategy = strategy;
+		this.solution = new GraphSolution(g);
+		g.getModel().getSolver().plugMonitor(this);
+	}
+
+	//***********************************************************************************
+	// METHODS
+	//***********************************************************************************
+
+	@Override
+	public boolean init() {
+		return strategy.init();
+	}
+
+	@Override
+	public void remove() {
+		strategy.remove();
+		g.getModel().getSolver().unplugMonitor(this);
+	}
+
+	@Override
+	public void onSolution() {
+		solution.record(g);
+	}
+
+	@Override
+	public Decision<GraphVar> getDecision() {
+		Decision<GraphVar> d = strategy.getDecision();
+		if (solution.exists() && d instanceof GraphDecision && d.getDecisionVariable() == g) {
+			GraphDecision dec = (GraphDecision) d;
+			int from = dec.getFrom();
+			int to = dec.getTo();
+			if (to == -1) {
+				dec.setNode(g, from, phase(solution.containsNode(from)));
+			} else {
+				dec.setArc(g, from, to, phase(solution.containsArc(from, to)));
+			}
+		}
+		return d;
+	}
+
+	private static GraphAssignment phase(boolean inSolution) {
+		return inSolution ? GraphAssignment.graph_enforcer : GraphAssignment.graph_remover;
+	}
+}
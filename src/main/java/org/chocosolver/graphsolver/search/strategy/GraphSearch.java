@@ -39,6 +39,7 @@ import org.chocosolver.graphsolver.search.GraphDecision;
 import org.chocosolver.graphsolver.variables.GraphVar;
 import org.chocosolver.util.objects.setDataStructures.ISet;
 
+
 public class GraphSearch extends GraphStrategy {
 
 
@@ -67,6 +68,9 @@ public class GraphSearch extends GraphStrategy {
 	private boolean useLC;
 	private int lastFrom = -1;
 
+	// undecided arcs indexed by score (ties are broken by lexicographic order)
+	private final ArcCandidates candidates;
+
 	/**
 	 * Search strategy for graphs
 	 *
@@ -86,6 +90,10 @@ public class GraphSearch extends GraphStrategy {
 		super(graphVar, null, null, NodeArcPriority.ARCS);
 		costs = costMatrix;
 		n = g.getNbMaxNodes();
+		candidates = new ArcCandidates(g, (i, j) -> {
+			int v = score(i, j);
+			return isMinOrIn(mode) ? v : -v;
+		}, false);
 	}
 
 	/**
@@ -111,6 +119,7 @@ public class GraphSearch extends GraphStrategy {
 			decisionType = GraphAssignment.graph_remover;
 		}
 		mode = policy;
+		candidates.rescoreAll(isDynamic());
 		return this;
 	}
 
@@ -137,22 +146,28 @@ public class GraphSearch extends GraphStrategy {
 	private void computeNextArc() {
 		to = -1;
 		from = -1;
+		int a = candidates.best();
 		if (useLC && lastFrom != -1) {
 			evaluateNeighbors(lastFrom);
 			if (to != -1) {
 				return;
 			}
 		}
-		for (int i = 0; i < n; i++) {
-			if (evaluateNeighbors(i)) {
-				return;
-			}
-		}
-		if (to == -1) {
+		if (a == -1) {
 			throw new UnsupportedOperationException();
 		}
+		from = candidates.getFrom(a);
+		to = candidates.getTo(a);
+	}
+
+	private boolean isDynamic() {
+		return mode >= MIN_P_DEGREE && mode <= MAX_DELTA_DEGREE;
 	}
 
+	//***********************************************************************************
+	// SCORES
+	//***********************************************************************************
+
 	private boolean evaluateNeighbors(int i) {
 		ISet set = g.getPotSuccOrNeighOf(i);
 		if (set.size() == g.getMandSuccOrNeighOf(i).size()) {
@@ -160,36 +175,12 @@ public class GraphSearch extends GraphStrategy {
 		}
 		for (int j : set) {
 			if (!g.getMandSuccOrNeighOf(i).contains(j)) {
-				int v = -1;
-				switch (mode) {
-					case LEX:
-						from = i;
-						to = j;
-						return true;
-					case MIN_P_DEGREE:
-					case MAX_P_DEGREE:
-						v = g.getPotSuccOrNeighOf(i).size()
-								+ g.getPotPredOrNeighOf(j).size();
-						break;
-					case MIN_M_DEGREE:
-					case MAX_M_DEGREE:
-						v = g.getMandSuccOrNeighOf(i).size()
-								+ g.getMandPredOrNeighOf(j).size();
-						break;
-					case MIN_DELTA_DEGREE:
-					case MAX_DELTA_DEGREE:
-						v = g.getPotSuccOrNeighOf(i).size()
-								+ g.getPotPredOrNeighOf(j).size()
-								- g.getMandSuccOrNeighOf(i).size()
-								- g.getMandPredOrNeighOf(j).size();
-						break;
-					case MIN_COST:
-					case MAX_COST:
-						v = costs[i][j];
-						break;
-					default:
-						throw new UnsupportedOperationException("mode " + mode + " does not exist");
+				if (mode == LEX) {
+					from = i;
+					to = j;
+					return true;
 				}
+				int v = score(i, j);
 				if (select(v)) {
 					value = v;
 					from = i;
@@ -200,6 +191,32 @@ public class GraphSearch extends GraphStrategy {
 		return false;
 	}
 
+	private int score(int i, int j) {
+		switch (mode) {
+			case LEX:
+				return 0;
+			case MIN_P_DEGREE:
+			case MAX_P_DEGREE:
+				return g.getPotSuccOrNeighOf(i).size()
+						+ g.getPotPredOrNeighOf(j).size();
+			case MIN_M_DEGREE:
+			case MAX_M_DEGREE:
+				return g.getMandSuccOrNeighOf(i).size()
+						+ g.getMandPredOrNeighOf(j).size();
+			case MIN_DELTA_DEGREE:
+			case MAX_DELTA_DEGREE:
+				return g.getPotSuccOrNeighOf(i).size()
+						+ g.getPotPredOrNeighOf(j).size()
+						- g.getMandSuccOrNeighOf(i).size()
+						- g.getMandPredOrNeighOf(j).size();
+			case MIN_COST:
+			case MAX_COST:
+				return costs[i][j];
+			default:
+				throw new UnsupportedOperationException("mode " + mode + " does not exist");
+		}
+	}
+
 	private boolean select(double v) {
 		return (from == -1 || (v < value && isMinOrIn(mode)) || (v > value && !isMinOrIn(mode)));
 	}
@@ -137,6 +137,13 @@ public class GraphStrategy extends AbstractStrategy<GraphVar> {
 		return true;
 	}
 
+	@Override
+	public void remove() {
+		if (arcStrategy != null) {
+			arcStrategy.remove();
+		}
+	}
+
 	@Override
 	public GraphDecision getDecision() {
 		if (g.isInstantiated()) {
@@ -0,0 +1,50 @@
+package org.chocosolver.graphsolver.search.strategy.arcs;
+
+import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.solver.exception.ContradictionException;
+
+/**
+ * Graph counterpart of activity-based search : the activity of a node is increased each time propagation
+ * modifies it (or one of its incident arcs), successful or not, and decays otherwise.
+ * The selected arc maximizes the activity of its endpoints over their number of undecided arcs.
+ *
+ * @since 18/10/2026.
+ */
+public class ActivityArc extends LearningArc {
+
+	/**
+	 * Activity-based heuristic, with a decay of 0.999
+	 *
+	 * @param g a graph variable
+	 */
+	public ActivityArc(GraphVar g) {
+		this(g, 0.999);
+	}
+
+	/**
+	 * Activity-based heuristic
+	 *
+	 * @param g     a graph variable
+	 * @param decay factor in ]0,1] applied to activities after each propagation (1 means no decay)
+	 */
+	public ActivityArc(GraphVar g, double decay) {
+		super(g, decay);
+	}
+
+	@Override
+	public boolean computeNextArc() {
+		// modifications made by the last successful propagation
+		bump(collectInvolvedNodes());
+		return super.computeNextArc();
+	}
+
+	@Override
+	public void onContradiction(ContradictionException cex) {
+		bump(collectInvolvedNodes());
+	}
+
+	@Override
+	protected double getWeight(int i) {
+		return weight[i] + 1; // so that nodes which have never been active are ranked by degree
+	}
+}
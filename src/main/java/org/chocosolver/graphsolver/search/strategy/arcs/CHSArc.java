@@ -0,0 +1,76 @@
+package org.chocosolver.graphsolver.search.strategy.arcs;
+
+import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.solver.exception.ContradictionException;
+
+/**
+ * Graph counterpart of the Conflict History Search heuristic (Habet and Terrioux) :
+ * each failure rewards its involved nodes with the inverse of the number of failures since they were last involved,
+ * through an exponential moving average whose step size decreases over the search.
+ * The selected arc maximizes the score of its endpoints over their number of undecided arcs.
+ *
+ * @since 18/10/2026.
+ */
+public class CHSArc extends LearningArc {
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	private static final double ALPHA_MIN = 0.06, ALPHA_STEP = 1e-6, DELTA = 1e-4;
+
+	private final int[] lastConflict;
+	private double alpha;
+	private int nbConflicts;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	/**
+	 * Conflict history heuristic, with an initial step size of 0.4
+	 *
+	 * @param g a graph variable
+	 */
+	public CHSArc(GraphVar g) {
+		this(g, 0.4);
+	}
+
+	/**
+	 * Conflict history heuristic
+	 *
+	 * @param g     a graph variable
+	 * @param alpha initial step size, in ]0,1], decreased by 1e-6 at each failure down to 0.06
+	 */
+	public CHSArc(GraphVar g, double alpha) {
+		super(g, 1);
+		if (alpha <= 0 || alpha > 1) {
+			throw new UnsupportedOperationException("alpha should be in ]0,1]");
+		}
+		this.alpha = alpha;
+		this.lastConflict = new int[n];
+	}
+
+	//***********************************************************************************
+	// METHODS
+	//***********************************************************************************
+
+	@Override
+	public void onContradiction(ContradictionException cex) {
+		nbConflicts++;
+		int[] involved = involvedNodes();
+		for (int k = collectInvolvedNodes() - 1; k >= 0; k--) {
+			int i = involved[k];
+			double reward = 1d / (nbConflicts - lastConflict[i] + 1);
+			weight[i] = (1 - alpha) * weight[i] + alpha * reward;
+			lastConflict[i] = nbConflicts;
+			weightChanged(i);
+		}
+		alpha = Math.max(ALPHA_MIN, alpha - ALPHA_STEP);
+	}
+
+	@Override
+	protected double getWeight(int i) {
+		return weight[i] + DELTA;
+	}
+}
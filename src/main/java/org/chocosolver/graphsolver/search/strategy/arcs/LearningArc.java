@@ -0,0 +1,205 @@
+package org.chocosolver.graphsolver.search.strategy.arcs;
+
+import org.chocosolver.graphsolver.search.strategy.ArcCandidates;
+import org.chocosolver.graphsolver.search.strategy.ArcStrategy;
+import org.chocosolver.graphsolver.variables.GraphEventType;
+import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.graphsolver.variables.delta.GraphDeltaMonitor;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.loop.monitors.IMonitorContradiction;
+import org.chocosolver.util.procedure.IntProcedure;
+import org.chocosolver.util.procedure.PairProcedure;
+
+import java.util.Arrays;
+
+/**
+ * Arc strategy learning a weight per node from the search, as in choco-solver's DomOverWDeg or activity-based search.
+ * Branches on the undecided arc (i,j) maximizing (w(i)+w(j))/(d(i)+d(j)), where w is the node weight
+ * and d the number of undecided arcs incident to a node (the graph counterpart of domain sizes).
+ * Ties are broken lexicographically.
+ * <p>
+ * Arcs are kept in ArcCandidates : the score of an arc is only computed again when the weight or degree
+ * of one of its endpoints has changed, so that a decision costs O(n) plus O(log(m)) per updated arc.
+ * <p>
+ * Nodes involved in a failure are the nodes and arc endpoints modified in the world that failed,
+ * read from the delta of g. Weights are bumped by a growing increment, which amounts to decaying
+ * every other weight, and are rescaled when the increment becomes too large.
+ *
+ * @since 18/10/2026.
+ */
+public abstract class LearningArc extends ArcStrategy<GraphVar> implements IMonitorContradiction, ICause {
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	private static final double RESCALE_LIMIT = 1e100;
+
+	protected final int n;
+	protected final double[] weight;
+	protected final double decay;
+	protected double increment;
+	private final ArcCandidates candidates;
+	// nodes whose weight has changed since the last decision
+	private final int[] reweighted;
+	private final boolean[] isReweighted;
+	private int nbReweighted;
+	// nodes involved in the current world, collected once each
+	private final GraphDeltaMonitor gdm;
+	private final int[] involved, mark;
+	private int nbInvolved, stamp;
+	private final IntProcedure nodeProc;
+	private final PairProcedure arcProc;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	/**
+	 * @param g     a graph variable
+	 * @param decay factor in ]0,1] applied to weights at each bump (1 means no decay)
+	 */
+	protected LearningArc(GraphVar g, double decay) {
+		super(g);
+		if (decay <= 0 || decay > 1) {
+			throw new UnsupportedOperationException("decay should be in ]0,1]");
+		}
+		this.n = g.getNbMaxNodes();
+		this.weight = new double[n];
+		this.decay = decay;
+		this.increment = 1;
+		this.candidates = new ArcCandidates(g, this::key, true);
+		this.reweighted = new int[n];
+		this.isReweighted = new boolean[n];
+		this.gdm = g.monitorDelta(this);
+		this.involved = new int[n];
+		this.mark = new int[n];
+		this.nodeProc = this::involve;
+		this.arcProc = (i, j) -> {
+			involve(i);
+			involve(j);
+		};
+		g.getModel().getSolver().plugMonitor(this);
+	}
+
+	//***********************************************************************************
+	// LEARNING
+	//***********************************************************************************
+
+	/**
+	 * Collects the nodes involved in the current world, that is, the nodes and arc endpoints
+	 * which have been modified in it and not yet collected.
+	 *
+	 * @return the number of involved nodes, stored in the first cells of involvedNodes()
+	 */
+	protected int collectInvolvedNodes() {
+		if (++stamp == Integer.MAX_VALUE) {
+			Arrays.fill(mark, 0);
+			stamp = 1;
+		}
+		nbInvolved = 0;
+		gdm.freeze();
+		try {
+			gdm.forEachNode(nodeProc, GraphEventType.REMOVE_NODE);
+			gdm.forEachNode(nodeProc, GraphEventType.ADD_NODE);
+			gdm.forEachArc(arcProc, GraphEventType.REMOVE_ARC);
+			gdm.forEachArc(arcProc, GraphEventType.ADD_ARC);
+		} catch (ContradictionException e) {
+			throw new IllegalStateException(e); // procedures do not filter
+		}
+		gdm.unfreeze();
+		return nbInvolved;
+	}
+
+	protected int[] involvedNodes() {
+		return involved;
+	}
+
+	private void involve(int i) {
+		if (mark[i] != stamp) {
+			mark[i] = stamp;
+			involved[nbInvolved++] = i;
+		}
+	}
+
+	/**
+	 * Adds the current increment to the weight of every involved node, then decays
+	 *
+	 * @param nbNodes number of involved nodes
+	 */
+	protected void bump(int nbNodes) {
+		for (int k = 0; k < nbNodes; k++) {
+			weight[involved[k]] += increment;
+			weightChanged(involved[k]);
+		}
+		increment /= decay;
+		if (increment > RESCALE_LIMIT) {
+			for (int i = 0; i < n; i++) {
+				weight[i] /= RESCALE_LIMIT;
+			}
+			increment /= RESCALE_LIMIT;
+			candidates.rescoreAll(true);
+		}
+	}
+
+	/**
+	 * Signals that the weight of node i has changed, so that its arcs are scored again at the next decision
+	 */
+	protected void weightChanged(int i) {
+		if (!isReweighted[i]) {
+			isReweighted[i] = true;
+			reweighted[nbReweighted++] = i;
+		}
+	}
+
+	/**
+	 * @return the weight of node i, as used in the selection score
+	 */
+	protected double getWeight(int i) {
+		return weight[i];
+	}
+
+	//***********************************************************************************
+	// SELECTION
+	//***********************************************************************************
+
+	@Override
+	public boolean computeNextArc() {
+		for (int k = 0; k < nbReweighted; k++) {
+			int i = reweighted[k];
+			isReweighted[i] = false;
+			candidates.rescore(i);
+		}
+		nbReweighted = 0;
+		int a = candidates.best();
+		if (a == -1) {
+			from = to = -1;
+			return false;
+		}
+		from = candidates.getFrom(a);
+		to = candidates.getTo(a);
+		return true;
+	}
+
+	@Override
+	public void remove() {
+		g.getModel().getSolver().unplugMonitor(this);
+	}
+
+	private double key(int i, int j) {
+		int d = undecidedDegree(i) + undecidedDegree(j);
+		if (d == 0) {
+			return Double.NEGATIVE_INFINITY; // decided arc, removed as soon as it reaches the top
+		}
+		return -(getWeight(i) + getWeight(j)) / d;
+	}
+
+	private int undecidedDegree(int i) {
+		int d = g.getPotSuccOrNeighOf(i).size() - g.getMandSuccOrNeighOf(i).size();
+		if (g.isDirected()) {
+			d += g.getPotPredOrNeighOf(i).size() - g.getMandPredOrNeighOf(i).size();
+		}
+		return d;
+	}
+}
@@ -0,0 +1,40 @@
+package org.chocosolver.graphsolver.search.strategy.arcs;
+
+import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.solver.exception.ContradictionException;
+
+/**
+ * Graph counterpart of dom/wdeg : each failure bumps the weight of the nodes involved in it,
+ * and the selected arc maximizes the weight of its endpoints over their number of undecided arcs.
+ *
+ * @since 18/10/2026.
+ */
+public class WDegArc extends LearningArc {
+
+	/**
+	 * Weighted degree heuristic, without decay
+	 *
+	 * @param g a graph variable
+	 */
+	public WDegArc(GraphVar g) {
+		this(g, 1);
+	}
+
+	/**
+	 * Weighted degree heuristic, where older failures count less
+	 *
+	 * @param g     a graph variable
+	 * @param decay factor in ]0,1] applied to weights at each failure (1 means no decay)
+	 */
+	public WDegArc(GraphVar g, double decay) {
+		super(g, decay);
+		for (int i = 0; i < n; i++) {
+			weight[i] = 1;
+		}
+	}
+
+	@Override
+	public void onContradiction(ContradictionException cex) {
+		bump(collectInvolvedNodes());
+	}
+}
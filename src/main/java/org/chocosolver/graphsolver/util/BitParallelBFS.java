@@ -0,0 +1,297 @@
+package org.chocosolver.graphsolver.util;
+
+import org.chocosolver.graphsolver.variables.GraphVar;
+
+import java.util.Arrays;
+
+/**
+ * Breadth-first searches from many sources at once, over the lower bound or the upper bound of a graph variable
+ * (following successors if it is directed).
+ * Sources are processed by batches of 64: node i stores, in one long word, the set of sources which have
+ * reached it, so that a single pass over the arcs of a BFS layer advances every source of the batch.
+ * Sources sharing parts of their BFS trees thus share their exploration.
+ * <p>
+ * Computing distances from all nodes takes O(n/64 * D * m) word operations in the worst case (D being the diameter)
+ * plus O(n^2) to write distances, instead of O(n*(n+m)) with one BFS per source.
+ *
+ * @since 18/10/2026.
+ */
+public class BitParallelBFS {
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	/** maximum number of sources of a batch */
+	public static final int BATCH_SIZE = 64;
+
+	// input data
+	private final GraphVar g;
+	private final boolean lb;
+	private final int n;
+
+	// visited[i] (resp. frontier[i]) has bit b set if i has been reached by (resp. is in the last layer of) source b
+	private final long[] visited, frontier, reached, reachedTwice;
+	private final int[] layer, nextLayer, neighbors, nodes;
+	private int layerSize;
+	private final boolean[] inNextLayer;
+	private int shortestCycle;
+
+	// source of the shortest cycle found so far, and data to retrieve this cycle
+	private int[] batchSources;
+	private int batchOffset, cycleSource;
+	private int[] parent, depthOf;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	/**
+	 * @param g  a graph variable
+	 * @param lb true to explore the lower bound (mandatory nodes and arcs), false for the upper bound
+	 */
+	public BitParallelBFS(GraphVar g, boolean lb) {
+		this.g = g;
+		this.lb = lb;
+		this.n = g.getNbMaxNodes();
+		this.visited = new long[n];
+		this.frontier = new long[n];
+		this.reached = new long[n];
+		this.reachedTwice = new long[n];
+		this.layer = new int[n];
+		this.nextLayer = new int[n];
+		this.neighbors = new int[n];
+		this.nodes = new int[n];
+		this.inNextLayer = new boolean[n];
+	}
+
+	//***********************************************************************************
+	// DISTANCES
+	//***********************************************************************************
+
+	/**
+	 * Computes distances from nbSources sources, by batches of 64.
+	 * Row dist[s] of every source s is filled with the distance from s to each node (-1 if unreachable),
+	 * other rows are left unchanged.
+	 *
+	 * @param sources   distinct nodes (of the explored graph), in the first cells
+	 * @param nbSources number of sources
+	 * @param dist      n*n matrix, rows may be null (they are then allocated)
+	 * @param ecc       receives, for every source s, its eccentricity, i.e. the largest distance from s to a reachable node
+	 */
+	public void computeDistances(int[] sources, int nbSources, int[][] dist, int[] ecc) {
+		for (int offset = 0; offset < nbSources; offset += BATCH_SIZE) {
+			int nb = Math.min(BATCH_SIZE, nbSources - offset);
+			for (int b = 0; b < nb; b++) {
+				int s = sources[offset + b];
+				if (dist[s] == null) {
+					dist[s] = new int[n];
+				}
+				Arrays.fill(dist[s], -1);
+				ecc[s] = 0;
+			}
+			init(sources, offset, nb);
+			for (int depth = 0; layerSize > 0; depth++) {
+				for (int k = 0; k < layerSize; k++) {
+					int i = layer[k];
+					for (long w = frontier[i]; w != 0; w &= w - 1) {
+						int s = sources[offset + Long.numberOfTrailingZeros(w)];
+						dist[s][i] = depth;
+						ecc[s] = depth;
+					}
+				}
+				expand(depth, false);
+			}
+		}
+	}
+
+	//***********************************************************************************
+	// GIRTH
+	//***********************************************************************************
+
+	/**
+	 * Computes the length of a shortest cycle of the explored graph, which must be undirected
+	 * (a loop is a cycle of length 1).
+	 * Each source detects the shortest cycles passing through it: through an edge between two nodes
+	 * of the same BFS layer (odd length) or through a node reached from two nodes of the previous layer (even length).
+	 * A source stops as soon as it cannot find a cycle shorter than the best one.
+	 * Such a cycle can then be retrieved through #getShortestCycle(int[]).
+	 *
+	 * @param sources   nodes from which to search cycles, in the first cells (the girth is computed if they are all nodes)
+	 * @param nbSources number of sources
+	 * @param maxLength upper bound on cycle lengths of interest
+	 * @return the length of a shortest cycle passing through a source, or maxLength if there is no shorter one
+	 */
+	public int computeShortestCycle(int[] sources, int nbSources, int maxLength) {
+		if (g.isDirected()) {
+			throw new UnsupportedOperationException("cycle detection requires an undirected graph variable");
+		}
+		shortestCycle = maxLength;
+		cycleSource = -1;
+		batchSources = sources;
+		for (int offset = 0; offset < nbSources && shortestCycle > 1; offset += BATCH_SIZE) {
+			batchOffset = offset;
+			init(sources, offset, Math.min(BATCH_SIZE, nbSources - offset));
+			for (int depth = 0; layerSize > 0 && 2 * depth + 1 < shortestCycle; depth++) {
+				expand(depth, true);
+			}
+		}
+		return shortestCycle;
+	}
+
+	/**
+	 * Computes the girth of the explored graph (which must be undirected)
+	 *
+	 * @return the length of a shortest cycle, or n+1 if the explored graph is acyclic
+	 */
+	public int computeGirth() {
+		int nb = 0;
+		for (int i : lb ? g.getMandatoryNodes() : g.getPotentialNodes()) {
+			nodes[nb++] = i;
+		}
+		return computeShortestCycle(nodes, nb, n + 1);
+	}
+
+	/**
+	 * Retrieves the cycle found by the last call to #computeShortestCycle(int[], int, int) or #computeGirth(),
+	 * by a BFS from its source.
+	 * When computing the girth, the cycle is simple and its length is the girth.
+	 *
+	 * @param cycle array receiving the nodes of the cycle, in order, from index 0 on
+	 * @return the number of nodes of the cycle, 0 if no cycle shorter than the given maximum length has been found
+	 */
+	public int getShortestCycle(int[] cycle) {
+		if (cycleSource == -1) {
+			return 0;
+		}
+		if (shortestCycle == 1) {
+			cycle[0] = cycleSource;
+			return 1;
+		}
+		if (parent == null) {
+			parent = new int[n];
+			depthOf = new int[n];
+		}
+		Arrays.fill(depthOf, -1);
+		int first = 0;
+		int last = 0;
+		layer[last++] = cycleSource;
+		depthOf[cycleSource] = 0;
+		parent[cycleSource] = -1;
+		while (first < last) {
+			int i = layer[first++];
+			int size = lb ? g.copyMandSuccOrNeigh(i, neighbors) : g.copyPotSuccOrNeigh(i, neighbors);
+			for (int p = 0; p < size; p++) {
+				int j = neighbors[p];
+				if (depthOf[j] == -1) {
+					depthOf[j] = depthOf[i] + 1;
+					parent[j] = i;
+					layer[last++] = j;
+				} else if (j != i && parent[j] != i && depthOf[j] >= depthOf[i]
+						&& depthOf[i] + depthOf[j] + 1 == shortestCycle) {
+					// path from i to the common ancestor of i and j, then down to j
+					int a = i;
+					int b = j;
+					int na = 0;
+					int nb = 0;
+					while (a != b) {
+						if (depthOf[a] >= depthOf[b]) {
+							cycle[na++] = a;
+							a = parent[a];
+						} else {
+							nodes[nb++] = b;
+							b = parent[b];
+						}
+					}
+					cycle[na++] = a;
+					while (nb > 0) {
+						cycle[na++] = nodes[--nb];
+					}
+					return na;
+				}
+			}
+		}
+		throw new IllegalStateException("the graph has been modified since the cycle has been found");
+	}
+
+	//***********************************************************************************
+	// BATCH EXPLORATION
+	//***********************************************************************************
+
+	private void init(int[] sources, int offset, int nb) {
+		Arrays.fill(visited, 0);
+		Arrays.fill(frontier, 0);
+		layerSize = 0;
+		for (int b = 0; b < nb; b++) {
+			int s = sources[offset + b];
+			visited[s] = frontier[s] = 1L << b;
+			layer[layerSize++] = s;
+		}
+	}
+
+	/**
+	 * Computes the next layer of every source of the batch
+	 *
+	 * @param depth  depth of the current layer
+	 * @param cycles true to record the length of cycles closed by the current layer in shortestCycle
+	 */
+	private void expand(int depth, boolean cycles) {
+		int nextSize = 0;
+		for (int k = 0; k < layerSize; k++) {
+			int i = layer[k];
+			long f = frontier[i];
+			int size = lb ? g.copyMandSuccOrNeigh(i, neighbors) : g.copyPotSuccOrNeigh(i, neighbors);
+			for (int p = 0; p < size; p++) {
+				int j = neighbors[p];
+				if (j == i) {
+					if (cycles && shortestCycle > 1) {
+						shortestCycle = 1;
+						cycleSource = i;
+					}
+					continue;
+				}
+				if (cycles) {
+					reachedTwice[j] |= reached[j] & f;
+				}
+				reached[j] |= f;
+				if (!inNextLayer[j]) {
+					inNextLayer[j] = true;
+					nextLayer[nextSize++] = j;
+				}
+			}
+		}
+		if (cycles) {
+			for (int k = 0; k < nextSize; k++) {
+				int j = nextLayer[k];
+				// j is in the current layer and has a neighbor in it
+				long odd = reached[j] & frontier[j];
+				if (odd != 0 && 2 * depth + 1 < shortestCycle) {
+					shortestCycle = 2 * depth + 1;
+					cycleSource = batchSources[batchOffset + Long.numberOfTrailingZeros(odd)];
+				}
+				// j is reached by two nodes of the current layer
+				long even = reachedTwice[j] & ~visited[j];
+				if (even != 0 && 2 * depth + 2 < shortestCycle) {
+					shortestCycle = 2 * depth + 2;
+					cycleSource = batchSources[batchOffset + Long.numberOfTrailingZeros(even)];
+				}
+				reachedTwice[j] = 0;
+			}
+		}
+		for (int k = 0; k < layerSize; k++) {
+			frontier[layer[k]] = 0;
+		}
+		layerSize = 0;
+		for (int k = 0; k < nextSize; k++) {
+			int j = nextLayer[k];
+			long w = reached[j] & ~visited[j];
+			reached[j] = 0;
+			inNextLayer[j] = false;
+			if (w != 0) {
+				visited[j] |= w;
+				frontier[j] = w;
+				layer[layerSize++] = j;
+			}
+		}
+	}
+}
@@ -0,0 +1,433 @@
+package org.chocosolver.graphsolver.util;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.Model;
+import org.chocosolver.util.objects.graphs.UndirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+import org.chocosolver.util.objects.setDataStructures.SetFactory;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+
+import java.util.Arrays;
+
+/**
+ * Backtrackable undirected graph whose topology (the set of edges that may ever exist) is fixed at creation,
+ * and stored in a Compressed Sparse Row (CSR) array: the neighbors of node i lie in adjacency[offset[i]..offset[i+1]-1].
+ *
+ * Each node maintains its current neighbors as a sparse set over its segment :
+ * the first size[i] cells of the segment are the current neighbors, size[i] being the only backtrackable data.
+ * Restoration upon backtrack is therefore O(1) per node, and iteration scans contiguous memory.
+ * Beware, this is only correct if the graph evolves monotonically between two world pushes,
+ * which holds for graph variable bounds : the upper bound only loses edges and the lower bound only gains edges.
+ *
+ * The lower and upper bounds of a graph variable share the same topology (see #makeUB(Model, int, int[][])
+ * and #makeLB(boolean)), so that memory is linear in the number of potential edges.
+ * The super class is given no node, so that it does not create neighbor sets of its own :
+ * nodes are stored here, as UndirectedGraph does.
+ *
+ * SetType cannot be extended, so getType() and the neighbor sets report BIPARTITESET,
+ * the choco set with the same layout (values, positions and a backtrackable size), restricted here to a segment.
+ * It is informative only : no graph propagator relies on it to access neighbors.
+ *
+ * @since 18/10/2026.
+ */
+public class CSRUndirectedGraph extends UndirectedGraph {
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	// shared topology : sorted neighbors of each node
+	private final Model model;
+	private final int n;
+	private final int[] offset;
+	private final int[] adjacency;
+	private final ISet nodes;
+
+	// sparse sets : values[p] is the neighbor in cell p, position[k] is the cell of neighbor adjacency[k]
+	private final int[] values;
+	private final int[] position;
+	private final IStateInt[] size;
+
+	// lazily created views on neighbors
+	private final NeighSet[] neighSets;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	private CSRUndirectedGraph(Model model, int n, int[] offset, int[] adjacency, boolean full, boolean allNodes) {
+		super(model, 0, SetType.BIPARTITESET, false);
+		this.model = model;
+		this.n = n;
+		this.nodes = allNodes ? SetFactory.makeConstantSet(0, n - 1) : SetFactory.makeStoredSet(SetType.BITSET, 0, model);
+		this.offset = offset;
+		this.adjacency = adjacency;
+		this.values = adjacency.clone();
+		this.position = new int[adjacency.length];
+		for (int k = 0; k < adjacency.length; k++) {
+			position[k] = k;
+		}
+		IEnvironment environment = model.getEnvironment();
+		this.size = new IStateInt[n];
+		for (int i = 0; i < n; i++) {
+			size[i] = environment.makeInt(full ? offset[i + 1] - offset[i] : 0);
+		}
+		this.neighSets = new NeighSet[n];
+	}
+
+	/**
+	 * Creates the upper bound of a graph variable, containing every node in [0,n-1] and the given edges
+	 *
+	 * @param model the model providing the backtracking environment
+	 * @param n     maximum number of nodes
+	 * @param edges every edge that may ever exist, given as pairs {i,j} of nodes in [0,n-1] (duplicates are ignored)
+	 * @return a graph whose topology is given by edges
+	 */
+	public static CSRUndirectedGraph makeUB(Model model, int n, int[][] edges) {
+		int[] offset = new int[n + 1];
+		for (int[] e : edges) {
+			offset[e[0] + 1]++;
+			if (e[0] != e[1]) {
+				offset[e[1] + 1]++;
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			offset[i + 1] += offset[i];
+		}
+		int[] adjacency = new int[offset[n]];
+		int[] next = Arrays.copyOf(offset, n);
+		for (int[] e : edges) {
+			adjacency[next[e[0]]++] = e[1];
+			if (e[0] != e[1]) {
+				adjacency[next[e[1]]++] = e[0];
+			}
+		}
+		// sort segments and remove duplicate edges
+		int m = 0;
+		int first = 0;
+		for (int i = 0; i < n; i++) {
+			int last = offset[i + 1];
+			Arrays.sort(adjacency, first, last);
+			offset[i] = m;
+			for (int k = first; k < last; k++) {
+				if (k == first || adjacency[k] != adjacency[k - 1]) {
+					adjacency[m++] = adjacency[k];
+				}
+			}
+			first = last;
+		}
+		offset[n] = m;
+		CSRUndirectedGraph ub = new CSRUndirectedGraph(model, n, offset, Arrays.copyOf(adjacency, m), true, false);
+		for (int i = 0; i < n; i++) {
+			ub.addNode(i);
+		}
+		return ub;
+	}
+
+	/**
+	 * Creates an empty graph sharing the topology of this graph, to be used as the lower bound of a graph variable
+	 *
+	 * @param allNodes if true, every node in [0,n-1] is added to the graph
+	 * @return a graph with no edge, in which only edges of this topology can be added
+	 */
+	public CSRUndirectedGraph makeLB(boolean allNodes) {
+		return new CSRUndirectedGraph(model, n, offset, adjacency, false, allNodes);
+	}
+
+	//***********************************************************************************
+	// SPARSE SETS
+	//***********************************************************************************
+
+	/**
+	 * @return the index of j in the segment of i, or -1 if (i,j) is not in the topology
+	 */
+	private int rank(int i, int j) {
+		int k = Arrays.binarySearch(adjacency, offset[i], offset[i + 1], j);
+		return k < 0 ? -1 : k;
+	}
+
+	private boolean contains(int i, int j) {
+		int k = rank(i, j);
+		return k >= 0 && position[k] < offset[i] + size[i].get();
+	}
+
+	private boolean add(int i, int j) {
+		int k = rank(i, j);
+		int s = size[i].get();
+		int last = offset[i] + s;
+		if (k < 0 || position[k] < last) {
+			return false;
+		}
+		swap(i, position[k], last);
+		size[i].set(s + 1);
+		return true;
+	}
+
+	private boolean remove(int i, int j) {
+		int k = rank(i, j);
+		int s = size[i].get();
+		int last = offset[i] + s - 1;
+		if (k < 0 || position[k] > last) {
+			return false;
+		}
+		if (neighSets[i] != null) {
+			neighSets[i].iter.notifyRemoving(j);
+		}
+		swap(i, position[k], last);
+		size[i].set(s - 1);
+		return true;
+	}
+
+	private void swap(int i, int p, int q) {
+		int vp = values[p];
+		int vq = values[q];
+		values[p] = vq;
+		values[q] = vp;
+		position[rank(i, vq)] = p;
+		position[rank(i, vp)] = q;
+	}
+
+	//***********************************************************************************
+	// GRAPH
+	//***********************************************************************************
+
+	@Override
+	public int getNbMaxNodes() {
+		return n;
+	}
+
+	@Override
+	public ISet getNodes() {
+		return nodes;
+	}
+
+	@Override
+	public SetType getType() {
+		return SetType.BIPARTITESET;
+	}
+
+	@Override
+	public boolean addNode(int x) {
+		return nodes.add(x);
+	}
+
+	@Override
+	public boolean removeNode(int x) {
+		if (nodes.remove(x)) {
+			int s = size[x].get();
+			for (int p = offset[x]; p < offset[x] + s; p++) {
+				if (values[p] != x) {
+					remove(values[p], x);
+				}
+			}
+			if (s > 0) {
+				size[x].set(0);
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Adds edge (x,y)
+	 *
+	 * @throws UnsupportedOperationException if (x,y) does not belong to the topology
+	 */
+	@Override
+	public boolean addEdge(int x, int y) {
+		if (rank(x, y) < 0) {
+			throw new UnsupportedOperationException("edge (" + x + "," + y + ") is not in the topology of the graph");
+		}
+		if (add(x, y)) {
+			if (x != y) {
+				add(y, x);
+			}
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public boolean removeEdge(int x, int y) {
+		if (remove(x, y)) {
+			if (x != y) {
+				remove(y, x);
+			}
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public boolean edgeExists(int x, int y) {
+		return contains(x, y);
+	}
+
+	@Override
+	public boolean isArcOrEdge(int x, int y) {
+		return contains(x, y);
+	}
+
+	@Override
+	public ISet getNeighOf(int x) {
+		if (neighSets[x] == null) {
+			neighSets[x] = new NeighSet(x);
+		}
+		return neighSets[x];
+	}
+
+	@Override
+	public ISet getPredOrNeighOf(int x) {
+		return getNeighOf(x);
+	}
+
+	@Override
+	public ISet getSuccOrNeighOf(int x) {
+		return getNeighOf(x);
+	}
+
+	/**
+	 * @return the number of edges of the topology (maximum number of edges)
+	 */
+	public int getNbTopologyEdges() {
+		int loops = 0;
+		for (int i = 0; i < n; i++) {
+			if (rank(i, i) >= 0) {
+				loops++;
+			}
+		}
+		return (adjacency.length + loops) / 2;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("nodes : \n").append(getNodes()).append("\n");
+		sb.append("neighbors : \n");
+		for (int i : getNodes()) {
+			sb.append(i).append(" -> {");
+			for (int p = offset[i]; p < offset[i] + size[i].get(); p++) {
+				sb.append(values[p]).append(" ");
+			}
+			sb.append("}\n");
+		}
+		return sb.toString();
+	}
+
+	//***********************************************************************************
+	// NEIGHBOR SET VIEW
+	//***********************************************************************************
+
+	/**
+	 * Neighbors of a node, as a view over its segment
+	 */
+	private class NeighSet implements ISet {
+
+		private final int i;
+		private final ISetIterator iter;
+
+		private NeighSet(int i) {
+			this.i = i;
+			this.iter = newIterator();
+		}
+
+		@Override
+		public ISetIterator iterator() {
+			iter.reset();
+			return iter;
+		}
+
+		@Override
+		public ISetIterator newIterator() {
+			return new ISetIterator() {
+				private int idx;
+
+				@Override
+				public void reset() {
+					idx = 0;
+				}
+
+				@Override
+				public void notifyRemoving(int item) {
+					if (idx > 0 && values[offset[i] + idx - 1] == item) {
+						idx--;
+					}
+				}
+
+				@Override
+				public boolean hasNext() {
+					return idx < size[i].get();
+				}
+
+				@Override
+				public int nextInt() {
+					return values[offset[i] + idx++];
+				}
+			};
+		}
+
+		@Override
+		public boolean add(int element) {
+			return addEdge(i, element);
+		}
+
+		@Override
+		public boolean remove(int element) {
+			return removeEdge(i, element);
+		}
+
+		@Override
+		public boolean contains(int element) {
+			return CSRUndirectedGraph.this.contains(i, element);
+		}
+
+		@Override
+		public int size() {
+			return size[i].get();
+		}
+
+		@Override
+		public void clear() {
+			while (size[i].get() > 0) {
+				removeEdge(i, values[offset[i]]);
+			}
+		}
+
+		@Override
+		public int min() {
+			if (isEmpty()) throw new IllegalStateException("cannot find minimum of an empty set");
+			int min = Integer.MAX_VALUE;
+			for (int p = offset[i]; p < offset[i] + size[i].get(); p++) {
+				min = Math.min(min, values[p]);
+			}
+			return min;
+		}
+
+		@Override
+		public int max() {
+			if (isEmpty()) throw new IllegalStateException("cannot find maximum of an empty set");
+			int max = Integer.MIN_VALUE;
+			for (int p = offset[i]; p < offset[i] + size[i].get(); p++) {
+				max = Math.max(max, values[p]);
+			}
+			return max;
+		}
+
+		@Override
+		public SetType getSetType() {
+			// nearest choco set type (see class documentation)
+			return SetType.BIPARTITESET;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder("{");
+			for (int p = offset[i]; p < offset[i] + size[i].get(); p++) {
+				sb.append(p > offset[i] ? ", " : "").append(values[p]);
+			}
+			return sb.append("}").toString();
+		}
+	}
+}
@@ -29,13 +29,14 @@ package org.chocosolver.graphsolver.util;
 
 
 import org.chocosolver.util.objects.graphs.IGraph;
-import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
 
 /**
  * Class containing algorithms to find all connected components by performing one dfs
  * it uses Tarjan algorithm in a non recursive way and can be performed in O(M+N) time c.f. Gondrand Minoux
  *
  * SEE UGVarConnectivityHelper
+ * SEE UGVarConnectivityFinder for an incremental version over the bounds of a graph variable
  *
  * @author Jean-Guillaume Fages
  */
@@ -45,10 +46,14 @@ public class ConnectivityFinder {
 	// CONNECTED COMPONENTS ONLY
 	//***********************************************************************************
 
-	private int n;
-	private IGraph graph;
-	private int[] CCFirstNode, CCNextNode, nodeCC, p, fifo, sizeCC;
-	private int nbCC, sizeMinCC, sizeMaxCC;
+	protected int n;
+	protected IGraph graph;
+	protected int[] CCFirstNode, CCNextNode, nodeCC, sizeCC;
+	protected int nbCC, sizeMinCC, sizeMaxCC;
+	private int[] p, fifo;
+	// private iterators, so that the default iterators of the graph's sets are left untouched (lazily created)
+	private ISetIterator nodeIter;
+	private ISetIterator[] succIters, predIters;
 
 	/**
 	 * Create an object that can compute Connected Components (CC) of a graph g
@@ -123,16 +128,23 @@ public class ConnectivityFinder {
 		}
 		sizeMinCC = 0;
 		sizeMaxCC = 0;
-		ISet act = graph.getNodes();
-		for (int i : act) {
-			p[i] = -1;
+		if (nodeIter == null) {
+			nodeIter = graph.getNodes().newIterator();
+			succIters = new ISetIterator[n];
+			predIters = new ISetIterator[n];
+		}
+		nodeIter.reset();
+		while (nodeIter.hasNext()) {
+			p[nodeIter.nextInt()] = -1;
 		}
 		for (int i = 0; i < CCFirstNode.length; i++) {
 			CCFirstNode[i] = -1;
 			sizeCC[i] = -1;
 		}
 		int cc = 0;
-		for (int i : act) {
+		nodeIter.reset();
+		while (nodeIter.hasNext()) {
+			int i = nodeIter.nextInt();
 			if (p[i] == -1) {
 				findCC(i, cc);
 				if (sizeMinCC == 0 || sizeMinCC > sizeCC[cc]) {
@@ -156,7 +168,13 @@ public class ConnectivityFinder {
 		add(start, cc);
 		while (first < last) {
 			int i = fifo[first++];
-			for (int j : graph.getSuccOrNeighOf(i)) {
+			if (succIters[i] == null) {
+				succIters[i] = graph.getSuccOrNeighOf(i).newIterator();
+			}
+			ISetIterator iter = succIters[i];
+			iter.reset();
+			while (iter.hasNext()) {
+				int j = iter.nextInt();
 				if (p[j] == -1) {
 					p[j] = i;
 					add(j, cc);
@@ -165,7 +183,13 @@ public class ConnectivityFinder {
 				}
 			}
 			if (graph.isDirected()) {
-				for (int j : graph.getPredOrNeighOf(i)) {
+				if (predIters[i] == null) {
+					predIters[i] = graph.getPredOrNeighOf(i).newIterator();
+				}
+				iter = predIters[i];
+				iter.reset();
+				while (iter.hasNext()) {
+					int j = iter.nextInt();
 					if (p[j] == -1) {
 						p[j] = i;
 						add(j, cc);
@@ -0,0 +1,140 @@
+package org.chocosolver.graphsolver.util;
+
+import org.chocosolver.util.objects.graphs.UndirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+
+import java.util.Arrays;
+
+/**
+ * Static numbering of the edges of an undirected graph, from 0 to m-1, so that edge data can be stored
+ * in arrays of size m instead of n*n matrices.
+ * Edges are numbered in lexicographic order of (i,j), with i &lt;= j : the edges whose smallest endpoint is i
+ * have consecutive indices from offset[i] to offset[i+1]-1, sorted by their largest endpoint.
+ * Retrieving the index of an edge is a binary search in this segment,
+ * or a direct access when the segment has no hole before this edge (as in complete graphs).
+ * <p>
+ * Indexing the upper bound of a graph variable when a propagator is created gives an index
+ * for every edge that may ever exist, as the upper bound only loses edges.
+ *
+ * @since 18/10/2026.
+ */
+public class EdgeIndex {
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	private final int n;
+	private final int[] offset;
+	// endpoints of each edge, tails[e] <= heads[e]
+	private final int[] tails, heads;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	/**
+	 * Indexes every edge of g (loops included)
+	 *
+	 * @param g an undirected graph
+	 */
+	public EdgeIndex(UndirectedGraph g) {
+		this.n = g.getNbMaxNodes();
+		this.offset = new int[n + 1];
+		for (int i = 0; i < n; i++) {
+			int nb = 0;
+			ISetIterator iter = g.getNeighOf(i).iterator();
+			while (iter.hasNext()) {
+				if (i <= iter.nextInt()) {
+					nb++;
+				}
+			}
+			offset[i + 1] = offset[i] + nb;
+		}
+		int m = offset[n];
+		this.tails = new int[m];
+		this.heads = new int[m];
+		for (int i = 0; i < n; i++) {
+			int k = offset[i];
+			ISetIterator iter = g.getNeighOf(i).iterator();
+			while (iter.hasNext()) {
+				int j = iter.nextInt();
+				if (i <= j) {
+					heads[k++] = j;
+				}
+			}
+			Arrays.sort(heads, offset[i], k);
+			Arrays.fill(tails, offset[i], k, i);
+		}
+	}
+
+	//***********************************************************************************
+	// ACCESSORS
+	//***********************************************************************************
+
+	public int getNbNodes() {
+		return n;
+	}
+
+	/**
+	 * @return the number of indexed edges
+	 */
+	public int getNbEdges() {
+		return heads.length;
+	}
+
+	/**
+	 * @return the index of edge (i,j), or -1 if it has not been indexed
+	 */
+	public int getEdge(int i, int j) {
+		if (i > j) {
+			return getEdge(j, i);
+		}
+		int first = offset[i];
+		int last = offset[i + 1];
+		if (first == last) {
+			return -1;
+		}
+		int e = first + j - heads[first];
+		if (e >= first && e < last && heads[e] == j) {
+			return e;
+		}
+		e = Arrays.binarySearch(heads, first, last, j);
+		return e < 0 ? -1 : e;
+	}
+
+	/**
+	 * Lists the indices of the edges of g, which must all be indexed
+	 *
+	 * @param g     a subgraph of the indexed graph
+	 * @param edges array of size getNbEdges() receiving the indices, from index 0 on
+	 * @return the number of edges of g
+	 */
+	public int collectEdges(UndirectedGraph g, int[] edges) {
+		int size = 0;
+		for (int i = 0; i < n; i++) {
+			ISetIterator iter = g.getNeighOf(i).iterator();
+			while (iter.hasNext()) {
+				int j = iter.nextInt();
+				if (i <= j) {
+					edges[size++] = getEdge(i, j);
+				}
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * @return the smallest endpoint of edge e
+	 */
+	public int getFrom(int e) {
+		return tails[e];
+	}
+
+	/**
+	 * @return the largest endpoint of edge e
+	 */
+	public int getTo(int e) {
+		return heads[e];
+	}
+}
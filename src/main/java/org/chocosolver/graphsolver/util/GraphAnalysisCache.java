@@ -0,0 +1,185 @@
+package org.chocosolver.graphsolver.util;
+
+import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.util.objects.graphs.DirectedGraph;
+
+import java.util.Arrays;
+
+/**
+ * Structural analyses of a graph variable, shared among the propagators of this variable:
+ * connected components, strongly connected components, articulation points and bridges, BFS layers.
+ *
+ * An analysis is computed lazily, on first request, and is reused until the domain of the variable changes.
+ * Results are stamped with the time stamp of the environment (which changes at each world push and pop)
+ * and the modification counter of the variable (which is increased each time propagators are notified),
+ * so that they are invalidated in constant time.
+ *
+ * Beware, returned objects are shared: they must not be modified
+ * and they are out-of-date as soon as the variable is modified.
+ *
+ * @since 18/10/2026.
+ */
+public class GraphAnalysisCache {
+
+	private static final int CC_LB = 0, CC_UB = 1, SCC_LB = 2, SCC_UB = 3, AP_BRIDGES = 4, NB_ANALYSES = 5;
+
+	// input data
+	private final GraphVar g;
+	private final IEnvironment environment;
+	private final int n;
+
+	// stamps of analyses
+	private final int[] timeStamps, nbModifications;
+
+	// analyses
+	private final ConnectivityFinder[] ccFinders;
+	private final StrongConnectivityFinder[] sccFinders;
+	private UGVarConnectivityHelper apbHelper;
+	private int[][] distances;
+	private int[] distTimeStamps, distNbModifications, fifo, neighbors;
+
+	public GraphAnalysisCache(GraphVar g) {
+		this.g = g;
+		this.environment = g.getEnvironment();
+		this.n = g.getNbMaxNodes();
+		this.timeStamps = new int[NB_ANALYSES];
+		this.nbModifications = new int[NB_ANALYSES];
+		Arrays.fill(timeStamps, -1);
+		this.ccFinders = new ConnectivityFinder[2];
+		this.sccFinders = new StrongConnectivityFinder[2];
+	}
+
+	//***********************************************************************************
+	// STAMPS
+	//***********************************************************************************
+
+	private boolean isUpToDate(int analysis) {
+		return timeStamps[analysis] == environment.getTimeStamp()
+				&& nbModifications[analysis] == g.getNbModifications();
+	}
+
+	private void stamp(int analysis) {
+		timeStamps[analysis] = environment.getTimeStamp();
+		nbModifications[analysis] = g.getNbModifications();
+	}
+
+	//***********************************************************************************
+	// CONNECTIVITY
+	//***********************************************************************************
+
+	/**
+	 * Get the connected components of the lower bound (mandatory nodes and arcs) or the upper bound
+	 * (potential nodes and arcs) of the graph variable. Arc directions are ignored.
+	 * For undirected graph variables, components are maintained incrementally (see UGVarConnectivityFinder).
+	 *
+	 * @param lb true for the lower bound, false for the upper bound
+	 * @return an up-to-date connectivity finder
+	 */
+	public ConnectivityFinder getConnectedComponents(boolean lb) {
+		int k = lb ? CC_LB : CC_UB;
+		int f = lb ? 0 : 1;
+		if (ccFinders[f] == null) {
+			if (g.isDirected()) {
+				ccFinders[f] = new ConnectivityFinder(lb ? g.getLB() : g.getUB());
+			} else {
+				ccFinders[f] = new UGVarConnectivityFinder((UndirectedGraphVar) g, lb);
+			}
+		}
+		if (!isUpToDate(k)) {
+			ccFinders[f].findAllCC();
+			stamp(k);
+		}
+		return ccFinders[f];
+	}
+
+	/**
+	 * Get the strongly connected components of the lower bound or the upper bound of a directed graph variable
+	 *
+	 * @param lb true for the lower bound, false for the upper bound
+	 * @return an up-to-date strong connectivity finder
+	 */
+	public StrongConnectivityFinder getStronglyConnectedComponents(boolean lb) {
+		if (!g.isDirected()) {
+			throw new UnsupportedOperationException("strongly connected components require a directed graph variable");
+		}
+		int k = lb ? SCC_LB : SCC_UB;
+		int f = lb ? 0 : 1;
+		if (sccFinders[f] == null) {
+			sccFinders[f] = new StrongConnectivityFinder((DirectedGraph) (lb ? g.getLB() : g.getUB()));
+		}
+		if (!isUpToDate(k)) {
+			sccFinders[f].findAllSCC();
+			stamp(k);
+		}
+		return sccFinders[f];
+	}
+
+	/**
+	 * Get the articulation points and bridges of the upper bound of an undirected graph variable
+	 * which separate mandatory nodes (see UGVarConnectivityHelper#findMandatoryArticulationPointsAndBridges())
+	 *
+	 * @return an up-to-date helper, on which articulation points and bridges can be read
+	 */
+	public UGVarConnectivityHelper getArticulationPointsAndBridges() {
+		if (g.isDirected()) {
+			throw new UnsupportedOperationException("articulation points require an undirected graph variable");
+		}
+		if (apbHelper == null) {
+			apbHelper = new UGVarConnectivityHelper((UndirectedGraphVar) g);
+		}
+		if (!isUpToDate(AP_BRIDGES)) {
+			apbHelper.findMandatoryArticulationPointsAndBridges();
+			stamp(AP_BRIDGES);
+		}
+		return apbHelper;
+	}
+
+	//***********************************************************************************
+	// BFS LAYERS
+	//***********************************************************************************
+
+	/**
+	 * Get BFS layers of the upper bound of the graph variable (following successors if it is directed)
+	 * from a given root node.
+	 *
+	 * @param root a potential node
+	 * @return an array giving, for every node, its distance to root (-1 if unreachable)
+	 */
+	public int[] getDistancesFrom(int root) {
+		if (distances == null) {
+			distances = new int[n][];
+			distTimeStamps = new int[n];
+			distNbModifications = new int[n];
+			Arrays.fill(distTimeStamps, -1);
+			fifo = new int[n];
+			neighbors = new int[n];
+		}
+		if (distances[root] == null) {
+			distances[root] = new int[n];
+		}
+		int[] dist = distances[root];
+		if (distTimeStamps[root] != environment.getTimeStamp() || distNbModifications[root] != g.getNbModifications()) {
+			Arrays.fill(dist, -1);
+			int first = 0;
+			int last = 0;
+			fifo[last++] = root;
+			dist[root] = 0;
+			while (first < last) {
+				int i = fifo[first++];
+				int size = g.copyPotSuccOrNeigh(i, neighbors);
+				for (int k = 0; k < size; k++) {
+					int j = neighbors[k];
+					if (dist[j] == -1) {
+						dist[j] = dist[i] + 1;
+						fifo[last++] = j;
+					}
+				}
+			}
+			distTimeStamps[root] = environment.getTimeStamp();
+			distNbModifications[root] = g.getNbModifications();
+		}
+		return dist;
+	}
+}
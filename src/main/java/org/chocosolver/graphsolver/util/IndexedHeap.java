@@ -0,0 +1,180 @@
+package org.chocosolver.graphsolver.util;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap over integer identifiers in [0,capacity-1], each present identifier having a key.
+ * Identifiers are indexed, so that the key of any identifier can be updated, or the identifier removed,
+ * in O(log(size)) time. Ties are broken by smallest identifier.
+ *
+ * @since 18/10/2026.
+ */
+public class IndexedHeap {
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	private final int[] heap;
+	private final int[] position; // position of each identifier in heap, -1 if absent
+	private final double[] keys;
+	private int size;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	/**
+	 * Creates an empty heap
+	 *
+	 * @param capacity identifiers must be in [0,capacity-1]
+	 */
+	public IndexedHeap(int capacity) {
+		this.heap = new int[capacity];
+		this.position = new int[capacity];
+		this.keys = new double[capacity];
+		Arrays.fill(position, -1);
+	}
+
+	//***********************************************************************************
+	// METHODS
+	//***********************************************************************************
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the number of possible identifiers
+	 */
+	public int capacity() {
+		return heap.length;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean contains(int id) {
+		return position[id] >= 0;
+	}
+
+	/**
+	 * @return the key of id, which must be in the heap
+	 */
+	public double getKey(int id) {
+		return keys[id];
+	}
+
+	/**
+	 * @return the identifier of minimum key, which must exist
+	 */
+	public int peek() {
+		return heap[0];
+	}
+
+	/**
+	 * Removes the identifier of minimum key, which must exist
+	 *
+	 * @return the removed identifier
+	 */
+	public int poll() {
+		int id = heap[0];
+		remove(id);
+		return id;
+	}
+
+	/**
+	 * Adds id with the given key, or updates its key if id is already in the heap
+	 */
+	public void add(int id, double key) {
+		if (position[id] >= 0) {
+			update(id, key);
+		} else {
+			keys[id] = key;
+			heap[size] = id;
+			position[id] = size;
+			siftUp(size++);
+		}
+	}
+
+	/**
+	 * Changes the key of id, which must be in the heap
+	 */
+	public void update(int id, double key) {
+		double old = keys[id];
+		keys[id] = key;
+		if (key < old) {
+			siftUp(position[id]);
+		} else if (key > old) {
+			siftDown(position[id]);
+		}
+	}
+
+	/**
+	 * Removes id from the heap, if present
+	 */
+	public void remove(int id) {
+		int p = position[id];
+		if (p < 0) {
+			return;
+		}
+		position[id] = -1;
+		int last = heap[--size];
+		if (p < size) {
+			heap[p] = last;
+			position[last] = p;
+			siftDown(p);
+			siftUp(position[last]);
+		}
+	}
+
+	public void clear() {
+		for (int p = 0; p < size; p++) {
+			position[heap[p]] = -1;
+		}
+		size = 0;
+	}
+
+	//***********************************************************************************
+	// SIFTING
+	//***********************************************************************************
+
+	private boolean less(int a, int b) {
+		return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+	}
+
+	private void siftUp(int p) {
+		int id = heap[p];
+		while (p > 0) {
+			int parent = (p - 1) >> 1;
+			if (!less(id, heap[parent])) {
+				break;
+			}
+			heap[p] = heap[parent];
+			position[heap[p]] = p;
+			p = parent;
+		}
+		heap[p] = id;
+		position[id] = p;
+	}
+
+	private void siftDown(int p) {
+		int id = heap[p];
+		int half = size >> 1;
+		while (p < half) {
+			int child = 2 * p + 1;
+			if (child + 1 < size && less(heap[child + 1], heap[child])) {
+				child++;
+			}
+			if (!less(heap[child], id)) {
+				break;
+			}
+			heap[p] = heap[child];
+			position[heap[p]] = p;
+			p = child;
+		}
+		heap[p] = id;
+		position[id] = p;
+	}
+}
@@ -0,0 +1,285 @@
+package org.chocosolver.graphsolver.util;
+
+import org.chocosolver.graphsolver.variables.GraphEventType;
+import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
+import org.chocosolver.graphsolver.variables.delta.GraphDeltaMonitor;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateBitSet;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.ICause;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.util.procedure.IntProcedure;
+import org.chocosolver.util.procedure.PairProcedure;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Incremental ConnectivityFinder over one bound of an undirected graph variable.
+ * Connected components are maintained from the graph delta with backtrackable data structures:
+ * - lower bound : union-find over mandatory edges (unions are undone upon backtrack)
+ * - upper bound : spanning forest, a component is explored again only when one of its tree edges is removed
+ *
+ * Outputs (nbCC, nodeCC, sizeCC, CCFirstNode/CCNextNode) are those of ConnectivityFinder,
+ * they are rebuilt in O(n) by findAllCC(), and only if the variable has been modified since the last call.
+ * If some modifications could not be observed (e.g. they were performed in a previous world),
+ * components are computed from scratch.
+ *
+ * Instances are meant to be shared among propagators, see GraphAnalysisCache#getConnectedComponents(boolean).
+ *
+ * @since 18/10/2026.
+ */
+public class UGVarConnectivityFinder extends ConnectivityFinder implements ICause {
+
+	// input data
+	private final UndirectedGraphVar g;
+	private final boolean lb;
+	private final IEnvironment environment;
+	private final GraphDeltaMonitor gdm;
+
+	// backtrackable structure
+	private final IStateInt nbSyncModifications; // modifications of g taken into account, -1 if never built
+	private final IStateInt[] parent; // union-find parent (lb) or spanning forest parent (ub)
+	private final IStateInt[] ufSize; // union-find tree size (lb only)
+	private final IStateInt[] rep; // representative node of each component (ub only)
+	private final IStateBitSet brokenCC; // representatives of components having lost a tree edge (ub only)
+
+	// stamp of outputs
+	private int outputTimeStamp = -1;
+	private int outputNbModifications = -1;
+	private int nbRebuilds;
+
+	// internal variables
+	private final int[] ccOfRep, repOfCC, fifo, neighbors;
+	private final BitSet toExplore;
+	private final IntProcedure nodeEvt;
+	private final PairProcedure arcEvt, boundArcEvt;
+	private int nbDeltas;
+
+	/**
+	 * Create an object maintaining the Connected Components (CC) of a bound of g
+	 *
+	 * @param g  undirected graph variable
+	 * @param lb true to consider the lower bound (mandatory nodes and edges) of g,
+	 *           false to consider its upper bound (potential nodes and edges)
+	 */
+	public UGVarConnectivityFinder(UndirectedGraphVar g, boolean lb) {
+		super(lb ? g.getLB() : g.getUB());
+		this.g = g;
+		this.lb = lb;
+		this.environment = g.getEnvironment();
+		this.gdm = g.monitorDelta(this);
+		this.CCFirstNode = new int[n];
+		this.CCNextNode = new int[n];
+		this.nodeCC = new int[n];
+		this.sizeCC = new int[n];
+		Arrays.fill(CCFirstNode, -1);
+		Arrays.fill(sizeCC, -1);
+		this.ccOfRep = new int[n];
+		Arrays.fill(ccOfRep, -1);
+		this.repOfCC = new int[n];
+		this.fifo = new int[n];
+		this.neighbors = new int[n];
+		this.toExplore = new BitSet(n);
+		this.nbSyncModifications = environment.makeInt(-1);
+		this.parent = new IStateInt[n];
+		for (int i = 0; i < n; i++) {
+			parent[i] = environment.makeInt(i);
+		}
+		if (lb) {
+			this.ufSize = new IStateInt[n];
+			for (int i = 0; i < n; i++) {
+				ufSize[i] = environment.makeInt(1);
+			}
+			this.rep = null;
+			this.brokenCC = null;
+			this.boundArcEvt = (i, j) -> {
+				nbDeltas++;
+				union(i, j);
+			};
+		} else {
+			this.ufSize = null;
+			this.rep = new IStateInt[n];
+			for (int i = 0; i < n; i++) {
+				rep[i] = environment.makeInt(i);
+			}
+			this.brokenCC = environment.makeBitSet(n);
+			this.boundArcEvt = (i, j) -> {
+				nbDeltas++;
+				if (i != j && (parent[i].get() == j || parent[j].get() == i)) {
+					brokenCC.set(rep[i].get());
+				}
+			};
+		}
+		this.nodeEvt = i -> nbDeltas++;
+		this.arcEvt = (i, j) -> nbDeltas++;
+	}
+
+	//***********************************************************************************
+	// CONNECTED COMPONENTS
+	//***********************************************************************************
+
+	/**
+	 * Updates connected components w.r.t. modifications of the graph variable
+	 * Complexity : O(N) plus the exploration of components that have been split (upper bound only)
+	 */
+	@Override
+	public void findAllCC() {
+		int nbModifs = g.getNbModifications();
+		if (outputTimeStamp == environment.getTimeStamp() && outputNbModifications == nbModifs) {
+			return; // nothing happened since last call
+		}
+		synchronize(nbModifs);
+		buildOutputs();
+		outputTimeStamp = environment.getTimeStamp();
+		outputNbModifications = nbModifs;
+	}
+
+	private void synchronize(int nbModifs) {
+		int nbSync = nbSyncModifications.get();
+		gdm.freeze();
+		if (nbSync != -1) {
+			nbDeltas = 0;
+			try {
+				gdm.forEachNode(nodeEvt, GraphEventType.REMOVE_NODE);
+				gdm.forEachNode(nodeEvt, GraphEventType.ADD_NODE);
+				gdm.forEachArc(lb ? arcEvt : boundArcEvt, GraphEventType.REMOVE_ARC);
+				gdm.forEachArc(lb ? boundArcEvt : arcEvt, GraphEventType.ADD_ARC);
+			} catch (ContradictionException e) {
+				throw new IllegalStateException(e); // procedures do not filter
+			}
+		}
+		gdm.unfreeze();
+		if (nbSync == -1 || nbModifs - nbSync != nbDeltas) {
+			// some modifications have been missed: start from scratch
+			nbRebuilds++;
+			if (lb) {
+				for (int i = 0; i < n; i++) {
+					parent[i].set(i);
+					ufSize[i].set(1);
+				}
+				for (int i = 0; i < n; i++) {
+					int size = g.copyMandSuccOrNeigh(i, neighbors);
+					for (int k = 0; k < size; k++) {
+						union(i, neighbors[k]);
+					}
+				}
+			} else {
+				toExplore.clear();
+				for (int i : g.getPotentialNodes()) {
+					toExplore.set(i);
+				}
+				exploreUB();
+				brokenCC.clear();
+			}
+		} else if (!lb && !brokenCC.isEmpty()) {
+			// explore again components that might have been split
+			toExplore.clear();
+			for (int i : g.getPotentialNodes()) {
+				if (brokenCC.get(rep[i].get())) {
+					toExplore.set(i);
+				}
+			}
+			exploreUB();
+			brokenCC.clear();
+		}
+		nbSyncModifications.set(nbModifs);
+	}
+
+	/**
+	 * Builds a spanning forest of the nodes in toExplore.
+	 * The neighbors of a node in toExplore are assumed to be in toExplore as well.
+	 */
+	private void exploreUB() {
+		for (int root = toExplore.nextSetBit(0); root >= 0; root = toExplore.nextSetBit(root + 1)) {
+			int first = 0;
+			int last = 0;
+			fifo[last++] = root;
+			toExplore.clear(root);
+			parent[root].set(root);
+			rep[root].set(root);
+			while (first < last) {
+				int i = fifo[first++];
+				int size = g.copyPotSuccOrNeigh(i, neighbors);
+				for (int k = 0; k < size; k++) {
+					int j = neighbors[k];
+					if (toExplore.get(j)) {
+						toExplore.clear(j);
+						parent[j].set(i);
+						rep[j].set(root);
+						fifo[last++] = j;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the number of times components have been computed from scratch,
+	 * instead of being updated from the delta of the variable
+	 */
+	public int getNbRebuilds() {
+		return nbRebuilds;
+	}
+
+	private void buildOutputs() {
+		for (int cc = 0; cc < nbCC; cc++) {
+			CCFirstNode[cc] = -1;
+			sizeCC[cc] = -1;
+		}
+		int cc = 0;
+		for (int i : graph.getNodes()) {
+			int r = lb ? find(i) : rep[i].get();
+			int c = ccOfRep[r];
+			if (c == -1) {
+				c = cc++;
+				ccOfRep[r] = c;
+				repOfCC[c] = r;
+				sizeCC[c] = 0;
+			}
+			nodeCC[i] = c;
+			CCNextNode[i] = CCFirstNode[c];
+			CCFirstNode[c] = i;
+			sizeCC[c]++;
+		}
+		nbCC = cc;
+		sizeMinCC = 0;
+		sizeMaxCC = 0;
+		for (cc = 0; cc < nbCC; cc++) {
+			ccOfRep[repOfCC[cc]] = -1;
+			if (sizeMinCC == 0 || sizeMinCC > sizeCC[cc]) {
+				sizeMinCC = sizeCC[cc];
+			}
+			if (sizeMaxCC < sizeCC[cc]) {
+				sizeMaxCC = sizeCC[cc];
+			}
+		}
+	}
+
+	//***********************************************************************************
+	// UNION-FIND
+	//***********************************************************************************
+
+	private int find(int i) {
+		int p = parent[i].get();
+		while (p != i) {
+			i = p;
+			p = parent[i].get();
+		}
+		return i;
+	}
+
+	private void union(int i, int j) {
+		int ri = find(i);
+		int rj = find(j);
+		if (ri != rj) {
+			if (ufSize[ri].get() < ufSize[rj].get()) {
+				int tmp = ri;
+				ri = rj;
+				rj = tmp;
+			}
+			parent[rj].set(ri);
+			ufSize[ri].add(ufSize[rj].get());
+		}
+	}
+}
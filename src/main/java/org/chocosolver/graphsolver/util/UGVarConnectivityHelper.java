@@ -3,8 +3,10 @@ package org.chocosolver.graphsolver.util;
 import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
 import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
 import org.chocosolver.util.objects.setDataStructures.SetFactory;
 
+import java.util.Arrays;
 import java.util.BitSet;
 
 /**
@@ -18,19 +20,23 @@ public class UGVarConnectivityHelper {
 	private final int n;
 
 	// internal variable for graph exploration
-	private final int[] fifo;
+	private final int[] fifo, neighbors;
 
 	// internal variables for Articulation Points and Bridge detection
 	private TIntArrayList bridgeFrom, bridgeTo;
 	private BitSet hasMandInSubtree, visited;
 	private ISet articulationPoints;
 	private int[] parent, time, minT;
-	private int[] timer = new int[1];
+	private int timer;
+	// iterative DFS : node, number of children with mandatory nodes in their subtree and
+	// range [cursor,end[ of its remaining neighbors in dfsNeighbors, for each depth
+	private int[] dfsNode, dfsNbMandChilds, dfsCursor, dfsEnd, dfsNeighbors;
 
 	public UGVarConnectivityHelper(UndirectedGraphVar g){
 		this.g = g;
 		this.n = g.getNbMaxNodes();
 		this.fifo = new int[n];
+		this.neighbors = new int[n];
 	}
 
 	//***********************************************************************************
@@ -45,7 +51,9 @@ public class UGVarConnectivityHelper {
 		visited.set(i);
 		while (first < last) {
 			i = fifo[first++];
-			for (int j : g.getPotNeighOf(i)) {
+			int size = g.copyPotSuccOrNeigh(i, neighbors);
+			for (int k = 0; k < size; k++) {
+				int j = neighbors[k];
 				if (!visited.get(j)) {
 					visited.set(j);
 					fifo[last++] = j;
@@ -80,6 +88,11 @@ public class UGVarConnectivityHelper {
 			parent = new int[n];
 			time = new int[n];
 			minT = new int[n];
+			dfsNode = new int[n];
+			dfsNbMandChilds = new int[n];
+			dfsCursor = new int[n];
+			dfsEnd = new int[n];
+			dfsNeighbors = new int[n];
 		}
 		articulationPoints.clear();
 		bridgeFrom.clear();
@@ -88,12 +101,16 @@ public class UGVarConnectivityHelper {
 		if(mNodes.size()>=2) {
 			visited.clear();
 			hasMandInSubtree.clear();
-			for(int root : mNodes.toArray()) { // uses to array because default iterator may be used within the algorithm
+			// the DFS does not use the default iterator of mNodes
+			ISetIterator iter = mNodes.iterator();
+			while (iter.hasNext()) {
+				int root = iter.nextInt();
 				if(!visited.get(root)) {
 					// root node init
 					visited.set(root);
 					parent[root] = root;
-					timer[0] = 0;
+					timer = 0;
+					minT[root] = time[root] = 0;
 					// DFS from root
 					findMAPBFrom(root);
 				}
@@ -101,25 +118,38 @@ public class UGVarConnectivityHelper {
 		}
 	}
 
-	private void findMAPBFrom(int i){
-		int nbMandChilds = 0;
-		for (int j : g.getPotNeighOf(i)) {
-			if (!visited.get(j)) {
-				visited.set(j);
-				parent[j] = i;
-				timer[0]++;
-				minT[j] = time[j] = timer[0];
-				if(g.getMandatoryNodes().contains(j)) hasMandInSubtree.set(j);
-				findMAPBFrom(j);
-
+	/**
+	 * Iterative DFS (deep graphs would overflow the call stack of a recursive one)
+	 */
+	private void findMAPBFrom(int root){
+		int depth = 0;
+		pushDFS(0, root, 0);
+		while (depth >= 0) {
+			int i = dfsNode[depth];
+			if (dfsCursor[depth] < dfsEnd[depth]) {
+				int j = dfsNeighbors[dfsCursor[depth]++];
+				if (!visited.get(j)) {
+					visited.set(j);
+					parent[j] = i;
+					timer++;
+					minT[j] = time[j] = timer;
+					if(g.getMandatoryNodes().contains(j)) hasMandInSubtree.set(j);
+					depth++;
+					pushDFS(depth, j, dfsEnd[depth - 1]);
+				} else if(j != parent[i]){ // i can reach j (which might be above i)
+					minT[i] = Math.min(minT[i], time[j]);
+				}
+			} else if (--depth >= 0) {
 				// j sub-tree has been fully explored
+				int j = i;
+				i = dfsNode[depth];
 				// propagates to i if subtrees of j have links to ancestors of i
 				minT[i] = Math.min(minT[i], minT[j]);
 				// propagates to i if subtrees of j include mandatory nodes
 				if(hasMandInSubtree.get(j)) hasMandInSubtree.set(i);
 
 				if(hasMandInSubtree.get(j)){
-					nbMandChilds ++;
+					dfsNbMandChilds[depth] ++;
 				}
 
 				// If the lowest vertex reachable from subtree under j is below i in DFS tree,
@@ -132,7 +162,7 @@ public class UGVarConnectivityHelper {
 				// root node ?
 				if(parent[i] == i){
 					// root has >1 child with mandatory nodes in their subtrees
-					if(nbMandChilds>1 && !g.getMandatoryNodes().contains(i))
+					if(dfsNbMandChilds[depth]>1 && !g.getMandatoryNodes().contains(i))
 						articulationPoints.add(i);
 
 				}else{
@@ -141,12 +171,24 @@ public class UGVarConnectivityHelper {
 						articulationPoints.add(i);
 				}
 			}
-			if(j != parent[i]){ // i can reach j (which might be above i)
-				minT[i] = Math.min(minT[i], time[j]);
-			}
 		}
 	}
 
+	/**
+	 * Pushes node i at the given depth of the DFS, its neighbors being stored in dfsNeighbors from index from on
+	 */
+	private void pushDFS(int depth, int i, int from) {
+		int size = g.copyPotSuccOrNeigh(i, neighbors);
+		if (from + size > dfsNeighbors.length) {
+			dfsNeighbors = Arrays.copyOf(dfsNeighbors, Math.max(from + size, 2 * dfsNeighbors.length));
+		}
+		System.arraycopy(neighbors, 0, dfsNeighbors, from, size);
+		dfsNode[depth] = i;
+		dfsNbMandChilds[depth] = 0;
+		dfsCursor[depth] = from;
+		dfsEnd[depth] = from + size;
+	}
+
 	public boolean isBiconnected() {
 		// connected ?
 		int root = g.getPotentialNodes().iterator().next();
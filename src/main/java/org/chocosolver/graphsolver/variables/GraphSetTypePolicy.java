@@ -0,0 +1,67 @@
+package org.chocosolver.graphsolver.variables;
+
+import org.chocosolver.util.objects.setDataStructures.SetType;
+
+/**
+ * Policy choosing the data structure (SetType) used to store the adjacency of each bound of a graph variable.
+ *
+ * - BITSET : n/8 bytes per node whatever its degree, constant time membership test,
+ * iteration scans the whole bitset (n/64 words)
+ * - LINKED_LIST : memory and iteration proportional to the degree, linear time membership test
+ *
+ * There is no recommended density threshold for hybrid policies : the break-even average degree depends on n
+ * and on the operation. On random graphs (JDK 8, single core, noisy figures) :
+ * - memory : lists are smaller up to an average degree of about n/60 (n=1000) to n/80 (n=10000)
+ * - iteration : lists are faster up to about n/30 (n=1000), but only up to n/1000 to n/600 (n=10000)
+ * - membership tests : bitsets are faster from an average degree of 4 on
+ * See SetTypeBenchmark to measure them on a given JVM before choosing a threshold.
+ *
+ * @since 18/10/2026.
+ */
+public interface GraphSetTypePolicy {
+
+	/**
+	 * Bitsets for both bounds (default of graph variable factories)
+	 */
+	GraphSetTypePolicy DENSE = fixed(SetType.BITSET, SetType.BITSET);
+
+	/**
+	 * Linked lists for both bounds, for large sparse graphs
+	 */
+	GraphSetTypePolicy SPARSE = fixed(SetType.LINKED_LIST, SetType.LINKED_LIST);
+
+	/**
+	 * Linked lists for the lower bound (mandatory arcs are few) and bitsets for the upper bound
+	 */
+	GraphSetTypePolicy SPARSE_LB = fixed(SetType.LINKED_LIST, SetType.BITSET);
+
+	/**
+	 * @param n           maximum number of nodes
+	 * @param nbArcs      number of arcs (edges) of the upper bound
+	 * @param directed    true iff the graph is directed
+	 * @param lowerBound  true for the lower bound, false for the upper bound
+	 * @return the SetType to use for the neighbors (successors and predecessors) of each node in the given bound
+	 */
+	SetType getSetType(int n, long nbArcs, boolean directed, boolean lowerBound);
+
+	/**
+	 * @return a policy always using lbType for the lower bound and ubType for the upper bound
+	 */
+	static GraphSetTypePolicy fixed(SetType lbType, SetType ubType) {
+		return (n, nbArcs, directed, lowerBound) -> lowerBound ? lbType : ubType;
+	}
+
+	/**
+	 * Policy switching representation according to the density of the upper bound (average degree / n).
+	 * Since the lower bound is a subgraph of the upper bound, it is sparse whenever the upper bound is.
+	 *
+	 * @param maxSparseDensity density under which linked lists are used
+	 * @return a policy using LINKED_LIST for sparse upper bounds and BITSET otherwise
+	 */
+	static GraphSetTypePolicy hybrid(double maxSparseDensity) {
+		return (n, nbArcs, directed, lowerBound) -> {
+			double averageDegree = (directed ? 1d : 2d) * nbArcs / Math.max(n, 1);
+			return averageDegree < maxSparseDensity * n ? SetType.LINKED_LIST : SetType.BITSET;
+		};
+	}
+}
@@ -0,0 +1,206 @@
+package org.chocosolver.graphsolver.variables;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Compact value of a graph variable : a node bitset plus its arcs, in CSR form (sorted successors,
+ * or neighbors in the undirected case, where each edge appears in both directions).
+ * Recording takes O(n+m) time and memory, m being the number of arcs of the solution,
+ * whereas GraphVar#getValue() allocates an n*n matrix.
+ * Arcs are indexed by their position in the CSR, from #firstArc(int) to #lastArc(int).
+ * <p>
+ * A solution is restored through GraphVar#instantiateTo(GraphSolution, ICause).
+ *
+ * @since 18/10/2026.
+ */
+public class GraphSolution {
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	private final int n;
+	private final boolean directed;
+	private final BitSet nodes;
+	private final int[] start;
+	private int[] heads, tails;
+	private int nbArcs; // number of entries in heads, where undirected edges count twice
+	private int nbArcsOrEdges;
+	private boolean exists;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	/**
+	 * Creates an empty solution for a graph variable of n nodes
+	 *
+	 * @param n        maximum number of nodes
+	 * @param directed true iff arcs are directed
+	 */
+	public GraphSolution(int n, boolean directed) {
+		this.n = n;
+		this.directed = directed;
+		this.nodes = new BitSet(n);
+		this.start = new int[n + 1];
+		this.heads = new int[0];
+		this.tails = new int[0];
+	}
+
+	/**
+	 * Creates an empty solution for g
+	 */
+	public GraphSolution(GraphVar g) {
+		this(g.getNbMaxNodes(), g.isDirected());
+	}
+
+	//***********************************************************************************
+	// RECORDING
+	//***********************************************************************************
+
+	/**
+	 * Records the lower bound of g, which is supposed to be instantiated, in O(n+m) time.
+	 * Arrays are reused from one record to the next.
+	 *
+	 * @param g a graph variable with the same number of nodes
+	 * @return this
+	 */
+	public GraphSolution record(GraphVar g) {
+		assert g.getNbMaxNodes() == n && g.isDirected() == directed;
+		int m = 0;
+		nodes.clear();
+		for (int i : g.getMandatoryNodes()) {
+			nodes.set(i);
+			m += g.getMandSuccOrNeighOf(i).size();
+		}
+		if (heads.length < m) {
+			heads = new int[m];
+			tails = new int[m];
+		}
+		int k = 0;
+		int nbLoops = 0;
+		for (int i = 0; i < n; i++) {
+			start[i] = k;
+			if (nodes.get(i)) {
+				int size = 0;
+				for (int j : g.getMandSuccOrNeighOf(i)) {
+					heads[k + size++] = j;
+					if (j == i) {
+						nbLoops++;
+					}
+				}
+				Arrays.sort(heads, k, k + size);
+				Arrays.fill(tails, k, k + size, i);
+				k += size;
+			}
+		}
+		start[n] = nbArcs = k;
+		nbArcsOrEdges = directed ? k : (k + nbLoops) / 2; // loops appear once
+		exists = true;
+		return this;
+	}
+
+	/**
+	 * @return a deep copy of this solution
+	 */
+	public GraphSolution copy() {
+		GraphSolution copy = new GraphSolution(n, directed);
+		copy.nodes.or(nodes);
+		System.arraycopy(start, 0, copy.start, 0, n + 1);
+		copy.heads = Arrays.copyOf(heads, nbArcs);
+		copy.tails = Arrays.copyOf(tails, nbArcs);
+		copy.nbArcs = nbArcs;
+		copy.nbArcsOrEdges = nbArcsOrEdges;
+		copy.exists = exists;
+		return copy;
+	}
+
+	//***********************************************************************************
+	// ACCESSORS
+	//***********************************************************************************
+
+	/**
+	 * @return true iff a solution has been recorded
+	 */
+	public boolean exists() {
+		return exists;
+	}
+
+	public int getNbMaxNodes() {
+		return n;
+	}
+
+	public boolean isDirected() {
+		return directed;
+	}
+
+	public boolean containsNode(int i) {
+		return nodes.get(i);
+	}
+
+	/**
+	 * @return the next node of the solution, starting from i (included), or -1 if none
+	 */
+	public int nextNode(int i) {
+		return i < n ? nodes.nextSetBit(i) : -1;
+	}
+
+	public int getNbNodes() {
+		return nodes.cardinality();
+	}
+
+	public boolean containsArc(int from, int to) {
+		return indexOf(from, to) >= 0;
+	}
+
+	/**
+	 * @return the index of arc (from,to), or -1 if it does not belong to the solution
+	 */
+	public int indexOf(int from, int to) {
+		int k = Arrays.binarySearch(heads, start[from], start[from + 1], to);
+		return k >= start[from] ? k : -1;
+	}
+
+	/**
+	 * @return the number of arcs (or edges in the undirected case)
+	 */
+	public int getNbArcs() {
+		return nbArcsOrEdges;
+	}
+
+	/**
+	 * @return the number of arc indices, where undirected edges (but loops) count twice
+	 */
+	public int getNbArcIndices() {
+		return nbArcs;
+	}
+
+	/**
+	 * @return the index of the first arc of i
+	 */
+	public int firstArc(int i) {
+		return start[i];
+	}
+
+	/**
+	 * @return the index following the last arc of i
+	 */
+	public int lastArc(int i) {
+		return start[i + 1];
+	}
+
+	/**
+	 * @return the tail of arc of index k
+	 */
+	public int getTail(int k) {
+		return tails[k];
+	}
+
+	/**
+	 * @return the head of arc of index k
+	 */
+	public int getHead(int k) {
+		return heads[k];
+	}
+}
@@ -27,8 +27,10 @@
 
 package org.chocosolver.graphsolver.variables;
 
+import org.chocosolver.graphsolver.util.GraphAnalysisCache;
 import org.chocosolver.graphsolver.variables.delta.GraphDelta;
 import org.chocosolver.graphsolver.variables.delta.GraphDeltaMonitor;
+import org.chocosolver.memory.IStateInt;
 import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -38,8 +40,11 @@ import org.chocosolver.solver.variables.impl.AbstractVariable;
 import org.chocosolver.util.iterators.EvtScheduler;
 import org.chocosolver.util.objects.graphs.IGraph;
 import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+import org.chocosolver.util.procedure.IntProcedure;
 
 import java.lang.reflect.Field;
+import java.util.Arrays;
 
 public abstract class GraphVar<E extends IGraph> extends AbstractVariable implements Variable {
 
@@ -53,6 +58,17 @@ public abstract class GraphVar<E extends IGraph> extends AbstractVariable implem
 	protected E UB, LB;
 	protected GraphDelta delta;
 	protected int n;
+	protected IStateInt nbModifications;
+	// number of arcs (or edges) of the upper and lower bounds
+	protected IStateInt nbPotArcs, nbMandArcs;
+	private GraphAnalysisCache analysisCache;
+	// private iterators for primitive iteration, per kind of neighborhood and node (lazily created)
+	private ISetIterator[][] primitiveIterators;
+	// one snapshot buffer per nesting level of forEach calls
+	private int[][] snapshots = new int[0][];
+	private int snapshotDepth;
+	// buffers of batch modifications (lazily created)
+	private int[] batch, incident;
 	///////////// Attributes related to Variable ////////////
 	protected boolean reactOnModification;
 
@@ -70,6 +86,9 @@ public abstract class GraphVar<E extends IGraph> extends AbstractVariable implem
 		this.LB = LB;
 		this.UB = UB;
 		this.n = UB.getNbMaxNodes();
+		this.nbModifications = solver.getEnvironment().makeInt(0);
+		this.nbPotArcs = solver.getEnvironment().makeInt(countArcs(UB));
+		this.nbMandArcs = solver.getEnvironment().makeInt(countArcs(LB));
 		assert n == LB.getNbMaxNodes();
 	}
 
@@ -77,24 +96,34 @@ public abstract class GraphVar<E extends IGraph> extends AbstractVariable implem
 	// METHODS
 	//***********************************************************************************
 
-	@Override
-	public boolean isInstantiated() {
-		if (getPotentialNodes().size() != getMandatoryNodes().size()) {
-			return false;
-		}
-		ISet suc;
-		for (int i : getUB().getNodes()) {
-			suc = UB.getSuccOrNeighOf(i);
-			if (suc.size() != getLB().getSuccOrNeighOf(i).size()) {
-				return false;
+	/**
+	 * @return the number of arcs (or edges, a loop being one edge) of a graph
+	 */
+	private static int countArcs(IGraph graph) {
+		int nbArcs = 0;
+		int nbLoops = 0;
+		// arcs may have been added to a bound without their endpoints
+		for (int i = 0; i < graph.getNbMaxNodes(); i++) {
+			nbArcs += graph.getSuccOrNeighOf(i).size();
+			if (graph.getSuccOrNeighOf(i).contains(i)) {
+				nbLoops++;
 			}
 		}
-		return true;
+		return graph.isDirected() ? nbArcs : (nbArcs + nbLoops) / 2;
+	}
+
+	/**
+	 * O(1) : compares the numbers of nodes and arcs of both bounds
+	 */
+	@Override
+	public boolean isInstantiated() {
+		return getPotentialNodes().size() == getMandatoryNodes().size() && nbPotArcs.get() == nbMandArcs.get();
 	}
 
 	/**
 	 * Remove node x from the domain
 	 * Removes x from the upper bound graph
+	 * Propagators are notified once for the removal of the arcs incident to x and once for the removal of x
 	 *
 	 * @param x     node's index
 	 * @param cause algorithm which is related to the removal
@@ -109,25 +138,48 @@ public abstract class GraphVar<E extends IGraph> extends AbstractVariable implem
 		} else if (!UB.getNodes().contains(x)) {
 			return false;
 		}
-		ISet nei = UB.getSuccOrNeighOf(x);
-		for (int i : nei) {
-			removeArc(x, i, cause);
-		}
-		nei = UB.getPredOrNeighOf(x);
-		for (int i : nei) {
-			removeArc(i, x, cause);
-		}
-		if (UB.removeNode(x)) {
-			if (reactOnModification) {
-				delta.add(x, GraphDelta.NR, cause);
-			}
-			GraphEventType e = GraphEventType.REMOVE_NODE;
-			notifyPropagators(e, cause);
+		notifyPropagators(GraphEventType.REMOVE_ARC, removeIncidentArcs(x, cause), cause);
+		if (doRemoveNode(x, cause)) {
+			notifyPropagators(GraphEventType.REMOVE_NODE, cause);
 			return true;
 		}
 		return false;
 	}
 
+	/**
+	 * Removes every node of nodes from the domain (see #removeNode(int, ICause)),
+	 * propagators are notified once for all removed arcs and once for all removed nodes.
+	 * Beware, the default iterator of nodes is used.
+	 *
+	 * @param nodes set of nodes' indices
+	 * @param cause algorithm which is related to the removal
+	 * @return true iff at least one removal has an effect
+	 * @throws ContradictionException if one of the nodes is mandatory
+	 */
+	public boolean removeNodes(ISet nodes, ICause cause) throws ContradictionException {
+		assert cause != null;
+		int[] batch = batchBuffer();
+		int size = copy(nodes, batch);
+		int nbArcs = 0;
+		int nbNodes = 0;
+		for (int k = 0; k < size; k++) {
+			int x = batch[k];
+			assert (x >= 0 && x < n);
+			if (LB.getNodes().contains(x)) {
+				this.contradiction(cause, "remove mandatory node");
+			}
+			if (UB.getNodes().contains(x)) {
+				nbArcs += removeIncidentArcs(x, cause);
+				if (doRemoveNode(x, cause)) {
+					nbNodes++;
+				}
+			}
+		}
+		notifyPropagators(GraphEventType.REMOVE_ARC, nbArcs, cause);
+		notifyPropagators(GraphEventType.REMOVE_NODE, nbNodes, cause);
+		return nbNodes > 0;
+	}
+
 	/**
 	 * Enforce the node x to belong to any solution
 	 * Adds x to the lower bound graph
@@ -139,19 +191,11 @@ public abstract class GraphVar<E extends IGraph> extends AbstractVariable implem
 	public boolean enforceNode(int x, ICause cause) throws ContradictionException {
 		assert cause != null;
 		assert (x >= 0 && x < n);
-		if (UB.getNodes().contains(x)) {
-			if (LB.addNode(x)) {
-				if (reactOnModification) {
-					delta.add(x, GraphDelta.NE, cause);
-				}
-				GraphEventType e = GraphEventType.ADD_NODE;
-				notifyPropagators(e, cause);
-				return true;
-			}
-			return false;
+		if (doEnforceNode(x, cause)) {
+			notifyPropagators(GraphEventType.ADD_NODE, cause);
+			return true;
 		}
-		this.contradiction(cause, "enforce node which is not in the domain");
-		return true;
+		return false;
 	}
 
 	/**
@@ -164,7 +208,39 @@ public abstract class GraphVar<E extends IGraph> extends AbstractVariable implem
 	 * @return true iff the removal has an effect
 	 * @throws ContradictionException if the arc was mandatory
 	 */
-	public abstract boolean removeArc(int x, int y, ICause cause) throws ContradictionException;
+	public boolean removeArc(int x, int y, ICause cause) throws ContradictionException {
+		assert cause != null;
+		if (doRemoveArc(x, y, cause)) {
+			notifyPropagators(GraphEventType.REMOVE_ARC, cause);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Removes arcs (or edges in case of undirected graph variable) (from,y), for every y in tos, from the domain
+	 * Propagators are notified once for all removed arcs.
+	 * Beware, the default iterator of tos is used, tos may be a neighborhood of this variable.
+	 *
+	 * @param from  node's index
+	 * @param tos   set of nodes' indices
+	 * @param cause algorithm which is related to the removal
+	 * @return true iff at least one removal has an effect
+	 * @throws ContradictionException if one of the arcs was mandatory
+	 */
+	public boolean removeArcs(int from, ISet tos, ICause cause) throws ContradictionException {
+		assert cause != null;
+		int[] batch = batchBuffer();
+		int size = copy(tos, batch);
+		int nbArcs = 0;
+		for (int k = 0; k < size; k++) {
+			if (doRemoveArc(from, batch[k], cause)) {
+				nbArcs++;
+			}
+		}
+		notifyPropagators(GraphEventType.REMOVE_ARC, nbArcs, cause);
+		return nbArcs > 0;
+	}
 
 	/**
 	 * Enforces arc (or edge in case of undirected graph variable) (x,y) to belong to any solution
@@ -175,7 +251,156 @@ public abstract class GraphVar<E extends IGraph> extends AbstractVariable implem
 	 * @param cause algorithm which is related to the removal
 	 * @return true iff the enforcing has an effect
 	 */
-	public abstract boolean enforceArc(int x, int y, ICause cause) throws ContradictionException;
+	public boolean enforceArc(int x, int y, ICause cause) throws ContradictionException {
+		assert cause != null;
+		enforceNode(x, cause);
+		enforceNode(y, cause);
+		if (doEnforceArc(x, y, cause)) {
+			notifyPropagators(GraphEventType.ADD_ARC, cause);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Enforces arcs (or edges in case of undirected graph variable) (from,y), for every y in tos,
+	 * to belong to any solution (as well as their endpoints)
+	 * Propagators are notified once for all enforced nodes and once for all enforced arcs.
+	 * Beware, the default iterator of tos is used.
+	 *
+	 * @param from  node's index
+	 * @param tos   set of nodes' indices
+	 * @param cause algorithm which is related to the modification
+	 * @return true iff at least one enforcing has an effect
+	 * @throws ContradictionException if one of the arcs is not in the domain
+	 */
+	public boolean enforceArcs(int from, ISet tos, ICause cause) throws ContradictionException {
+		assert cause != null;
+		int[] batch = batchBuffer();
+		int size = copy(tos, batch);
+		int nbNodes = 0;
+		int nbArcs = 0;
+		if (size > 0 && doEnforceNode(from, cause)) {
+			nbNodes++;
+		}
+		for (int k = 0; k < size; k++) {
+			if (doEnforceNode(batch[k], cause)) {
+				nbNodes++;
+			}
+			if (doEnforceArc(from, batch[k], cause)) {
+				nbArcs++;
+			}
+		}
+		notifyPropagators(GraphEventType.ADD_NODE, nbNodes, cause);
+		notifyPropagators(GraphEventType.ADD_ARC, nbArcs, cause);
+		return nbNodes + nbArcs > 0;
+	}
+
+	//***********************************************************************************
+	// DOMAIN MODIFICATIONS WITHOUT NOTIFICATION
+	//***********************************************************************************
+
+	/**
+	 * Removes (x,y) from the upper bound graph and records it in the delta, propagators are not notified
+	 * Implementations must maintain nbPotArcs.
+	 *
+	 * @return true iff the removal has an effect
+	 * @throws ContradictionException if the arc was mandatory
+	 */
+	protected abstract boolean doRemoveArc(int x, int y, ICause cause) throws ContradictionException;
+
+	/**
+	 * Adds (x,y) to the lower bound graph and records it in the delta, propagators are not notified.
+	 * Nodes x and y are assumed to be mandatory already. Implementations must maintain nbMandArcs.
+	 *
+	 * @return true iff the enforcing has an effect
+	 * @throws ContradictionException if the arc is not in the upper bound graph
+	 */
+	protected abstract boolean doEnforceArc(int x, int y, ICause cause) throws ContradictionException;
+
+	/**
+	 * Removes x, whose incident arcs have been removed, from the upper bound graph and records it in the delta
+	 */
+	private boolean doRemoveNode(int x, ICause cause) {
+		if (UB.removeNode(x)) {
+			if (reactOnModification) {
+				delta.add(x, GraphDelta.NR, cause);
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Adds x to the lower bound graph and records it in the delta
+	 *
+	 * @throws ContradictionException if x is not in the upper bound graph
+	 */
+	private boolean doEnforceNode(int x, ICause cause) throws ContradictionException {
+		if (UB.getNodes().contains(x)) {
+			if (LB.addNode(x)) {
+				if (reactOnModification) {
+					delta.add(x, GraphDelta.NE, cause);
+				}
+				return true;
+			}
+			return false;
+		}
+		this.contradiction(cause, "enforce node which is not in the domain");
+		return true;
+	}
+
+	/**
+	 * Removes arcs incident to x (x being removable), propagators are not notified
+	 *
+	 * @return the number of removed arcs
+	 */
+	private int removeIncidentArcs(int x, ICause cause) throws ContradictionException {
+		if (incident == null) {
+			incident = new int[n];
+		}
+		int nbArcs = 0;
+		int size = copyPotSuccOrNeigh(x, incident);
+		for (int k = 0; k < size; k++) {
+			if (doRemoveArc(x, incident[k], cause)) {
+				nbArcs++;
+			}
+		}
+		size = copyPotPredOrNeigh(x, incident);
+		for (int k = 0; k < size; k++) {
+			if (doRemoveArc(incident[k], x, cause)) {
+				nbArcs++;
+			}
+		}
+		return nbArcs;
+	}
+
+	private int[] batchBuffer() {
+		if (batch == null) {
+			batch = new int[n];
+		}
+		return batch;
+	}
+
+	private static int copy(ISet set, int[] dest) {
+		ISetIterator iter = set.iterator();
+		int size = 0;
+		while (iter.hasNext()) {
+			dest[size++] = iter.nextInt();
+		}
+		return size;
+	}
+
+	/**
+	 * Notifies propagators once for nbModifs modifications of the same type, if any
+	 * (see #getNbModifications())
+	 */
+	private void notifyPropagators(GraphEventType event, int nbModifs, ICause cause) throws ContradictionException {
+		if (nbModifs > 0) {
+			nbModifications.add(nbModifs);
+			super.notifyPropagators(event, cause);
+		}
+	}
 
 	//***********************************************************************************
 	// ACCESSORS
@@ -264,11 +489,189 @@ public abstract class GraphVar<E extends IGraph> extends AbstractVariable implem
 		return UB.getNodes();
 	}
 
+	/**
+	 * @return the number of arcs (or edges in case of undirected graph variable, a loop being one edge)
+	 * of the upper bound graph
+	 */
+	public int getNbPotArcs() {
+		return nbPotArcs.get();
+	}
+
+	/**
+	 * @return the number of arcs (or edges in case of undirected graph variable, a loop being one edge)
+	 * of the lower bound graph
+	 */
+	public int getNbMandArcs() {
+		return nbMandArcs.get();
+	}
+
+	/**
+	 * @return the number of modifications (removal or enforcing of a node or an arc)
+	 * the domain has undergone along the current branch of the search tree.
+	 * This counter is backtrackable and is increased upon notification of propagators,
+	 * by the number of modifications being notified (several ones for batch modifications).
+	 */
+	public int getNbModifications() {
+		return nbModifications.get();
+	}
+
+	/**
+	 * @return the structural analyses of this variable (connected components, articulation points, etc.),
+	 * computed lazily and shared among propagators
+	 */
+	public GraphAnalysisCache getAnalysisCache() {
+		if (analysisCache == null) {
+			analysisCache = new GraphAnalysisCache(this);
+		}
+		return analysisCache;
+	}
+
 	/**
 	 * @return true iff the graph is directed. It is undirected otherwise.
 	 */
 	public abstract boolean isDirected();
 
+	//***********************************************************************************
+	// PRIMITIVE ITERATION
+	//***********************************************************************************
+
+	// kinds of neighborhoods
+	private static final int MAND_SUCC = 0, POT_SUCC = 1, MAND_PRED = 2, POT_PRED = 3;
+
+	/**
+	 * Applies proc to every successor (if directed) or neighbor (if undirected) of vertex 'idx'
+	 * in the upper bound graph, without boxing nor allocation (once warmed up).
+	 * Neighbors are those of the time of the call : proc may remove arcs and may itself iterate over any
+	 * neighborhood of this variable (including through this method) without disturbing the iteration.
+	 *
+	 * @param idx  a vertex
+	 * @param proc procedure to apply to each neighbor
+	 * @throws ContradictionException if proc fails
+	 */
+	public void forEachPotSuccOrNeigh(int idx, IntProcedure proc) throws ContradictionException {
+		forEach(POT_SUCC, idx, proc);
+	}
+
+	/**
+	 * Applies proc to every successor (if directed) or neighbor (if undirected) of vertex 'idx'
+	 * in the lower bound graph, see #forEachPotSuccOrNeigh(int, IntProcedure)
+	 */
+	public void forEachMandSuccOrNeigh(int idx, IntProcedure proc) throws ContradictionException {
+		forEach(MAND_SUCC, idx, proc);
+	}
+
+	/**
+	 * Applies proc to every predecessor (if directed) or neighbor (if undirected) of vertex 'idx'
+	 * in the upper bound graph, see #forEachPotSuccOrNeigh(int, IntProcedure)
+	 */
+	public void forEachPotPredOrNeigh(int idx, IntProcedure proc) throws ContradictionException {
+		forEach(POT_PRED, idx, proc);
+	}
+
+	/**
+	 * Applies proc to every predecessor (if directed) or neighbor (if undirected) of vertex 'idx'
+	 * in the lower bound graph, see #forEachPotSuccOrNeigh(int, IntProcedure)
+	 */
+	public void forEachMandPredOrNeigh(int idx, IntProcedure proc) throws ContradictionException {
+		forEach(MAND_PRED, idx, proc);
+	}
+
+	/**
+	 * Copies successors (if directed) or neighbors (if undirected) of vertex 'idx' in the upper bound graph
+	 * into dest, without boxing nor allocation (once warmed up). Unlike for-each loops over ISet,
+	 * this does not use (hence does not reset) the default iterator of the set,
+	 * so it may safely be called within such a loop.
+	 *
+	 * @param idx  a vertex
+	 * @param dest array receiving neighbors from index 0 on,
+	 *             its length must be at least the number of neighbors (getNbMaxNodes() is always enough)
+	 * @return the number of neighbors copied into dest
+	 */
+	public int copyPotSuccOrNeigh(int idx, int[] dest) {
+		return copy(POT_SUCC, idx, dest);
+	}
+
+	/**
+	 * Copies successors (if directed) or neighbors (if undirected) of vertex 'idx' in the lower bound graph
+	 * into dest, see #copyPotSuccOrNeigh(int, int[])
+	 */
+	public int copyMandSuccOrNeigh(int idx, int[] dest) {
+		return copy(MAND_SUCC, idx, dest);
+	}
+
+	/**
+	 * Copies predecessors (if directed) or neighbors (if undirected) of vertex 'idx' in the upper bound graph
+	 * into dest, see #copyPotSuccOrNeigh(int, int[])
+	 */
+	public int copyPotPredOrNeigh(int idx, int[] dest) {
+		return copy(POT_PRED, idx, dest);
+	}
+
+	/**
+	 * Copies predecessors (if directed) or neighbors (if undirected) of vertex 'idx' in the lower bound graph
+	 * into dest, see #copyPotSuccOrNeigh(int, int[])
+	 */
+	public int copyMandPredOrNeigh(int idx, int[] dest) {
+		return copy(MAND_PRED, idx, dest);
+	}
+
+	private ISet neighborhood(int kind, int idx) {
+		switch (kind) {
+			case MAND_SUCC:
+				return getMandSuccOrNeighOf(idx);
+			case POT_SUCC:
+				return getPotSuccOrNeighOf(idx);
+			case MAND_PRED:
+				return getMandPredOrNeighOf(idx);
+			default:
+				return getPotPredOrNeighOf(idx);
+		}
+	}
+
+	private ISetIterator primitiveIterator(int kind, int idx) {
+		if (primitiveIterators == null) {
+			primitiveIterators = new ISetIterator[4][];
+		}
+		if (primitiveIterators[kind] == null) {
+			primitiveIterators[kind] = new ISetIterator[n];
+		}
+		ISetIterator iter = primitiveIterators[kind][idx];
+		if (iter == null) {
+			iter = primitiveIterators[kind][idx] = neighborhood(kind, idx).newIterator();
+		}
+		iter.reset();
+		return iter;
+	}
+
+	private int copy(int kind, int idx, int[] dest) {
+		ISetIterator iter = primitiveIterator(kind, idx);
+		int size = 0;
+		while (iter.hasNext()) {
+			dest[size++] = iter.nextInt();
+		}
+		return size;
+	}
+
+	private void forEach(int kind, int idx, IntProcedure proc) throws ContradictionException {
+		int depth = snapshotDepth++;
+		try {
+			if (depth == snapshots.length) {
+				snapshots = Arrays.copyOf(snapshots, depth + 1);
+			}
+			int size = neighborhood(kind, idx).size();
+			if (snapshots[depth] == null || snapshots[depth].length < size) {
+				snapshots[depth] = new int[Math.min(n, Math.max(size, 2 * (snapshots[depth] == null ? 8 : snapshots[depth].length)))];
+			}
+			int[] snapshot = snapshots[depth];
+			size = copy(kind, idx, snapshot);
+			for (int k = 0; k < size; k++) {
+				proc.execute(snapshot[k]);
+			}
+		} finally {
+			snapshotDepth--;
+		}
+	}
+
 
 	//***********************************************************************************
 	// VARIABLE STUFF
@@ -325,6 +728,12 @@ public abstract class GraphVar<E extends IGraph> extends AbstractVariable implem
 		return new GraphDeltaMonitor(delta, propagator);
 	}
 
+	@Override
+	public void notifyPropagators(IEventType event, ICause cause) throws ContradictionException {
+		nbModifications.add(1);
+		super.notifyPropagators(event, cause);
+	}
+
 	@Override
 	public void notifyMonitors(IEventType event) throws ContradictionException {
 		for (int i = mIdx - 1; i >= 0; i--) {
@@ -340,6 +749,7 @@ public abstract class GraphVar<E extends IGraph> extends AbstractVariable implem
 	 * @return the value of the graph variable represented through an adjacency matrix
 	 * plus a set of nodes (last row of the matrix).
 	 * This method is not supposed to be used except for restoring solutions.
+	 * It takes O(n^2) time and memory, see #getSolution() for a compact alternative.
 	 */
 	public boolean[][] getValue() {
 		int n = getUB().getNbMaxNodes();
@@ -380,6 +790,66 @@ public abstract class GraphVar<E extends IGraph> extends AbstractVariable implem
 		}
 	}
 
+	/**
+	 * @return the value of the graph variable, which must be instantiated, as a compact solution
+	 * (see GraphSolution#record(GraphVar) to reuse an existing one)
+	 */
+	public GraphSolution getSolution() {
+		return new GraphSolution(this).record(this);
+	}
+
+	/**
+	 * Instantiates <code>this</code> to solution.
+	 * Only elements whose status differs from the solution are modified, and propagators are notified
+	 * once per type of modification. This takes O(n+m) time, m being the number of potential arcs
+	 * of solution nodes.
+	 *
+	 * @param solution a solution recorded from a graph variable with the same nodes
+	 * @param cause    algorithm which is related to the modifications
+	 * @throws ContradictionException if the solution is not in the domain
+	 */
+	public void instantiateTo(GraphSolution solution, ICause cause) throws ContradictionException {
+		assert cause != null;
+		assert solution.getNbMaxNodes() == n && solution.isDirected() == isDirected();
+		int[] batch = batchBuffer();
+		int nbRemovedArcs = 0, nbRemovedNodes = 0, nbEnforcedNodes = 0, nbEnforcedArcs = 0;
+		int size = copy(UB.getNodes(), batch);
+		for (int k = 0; k < size; k++) {
+			int x = batch[k];
+			if (solution.containsNode(x)) {
+				if (doEnforceNode(x, cause)) {
+					nbEnforcedNodes++;
+				}
+			} else {
+				if (LB.getNodes().contains(x)) {
+					this.contradiction(cause, "remove mandatory node");
+				}
+				nbRemovedArcs += removeIncidentArcs(x, cause);
+				if (doRemoveNode(x, cause)) {
+					nbRemovedNodes++;
+				}
+			}
+		}
+		for (int i = solution.nextNode(0); i >= 0; i = solution.nextNode(i + 1)) {
+			size = copyPotSuccOrNeigh(i, batch);
+			for (int k = 0; k < size; k++) {
+				if (!solution.containsArc(i, batch[k]) && doRemoveArc(i, batch[k], cause)) {
+					nbRemovedArcs++;
+				}
+			}
+			for (int a = solution.firstArc(i); a < solution.lastArc(i); a++) {
+				int j = solution.getHead(a);
+				if ((isDirected() || i <= j) && doEnforceArc(i, j, cause)) {
+					nbEnforcedArcs++;
+				}
+			}
+		}
+		notifyPropagators(GraphEventType.REMOVE_ARC, nbRemovedArcs, cause);
+		notifyPropagators(GraphEventType.REMOVE_NODE, nbRemovedNodes, cause);
+		notifyPropagators(GraphEventType.ADD_NODE, nbEnforcedNodes, cause);
+		notifyPropagators(GraphEventType.ADD_ARC, nbEnforcedArcs, cause);
+	}
+
 	//***********************************************************************************
 	// GraphViz
 	//***********************************************************************************
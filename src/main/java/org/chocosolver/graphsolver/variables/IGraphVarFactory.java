@@ -1,6 +1,7 @@
 package org.chocosolver.graphsolver.variables;
 
 import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.util.CSRUndirectedGraph;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
@@ -40,8 +41,36 @@ public interface IGraphVarFactory {
 	 * @return a graph variable having n vertices
 	 */
 	default UndirectedGraphVar graphVar(String name, int n, boolean allNodes) {
-		UndirectedGraph lb = new UndirectedGraph(_me(), n, SetType.BITSET, allNodes);
-		UndirectedGraph ub = new UndirectedGraph(_me(), n, SetType.BITSET, allNodes);
+		return graphVar(name, n, allNodes, GraphSetTypePolicy.DENSE);
+	}
+
+	/**
+	 * Creates a graph variable comprised between an empty graph and K_n (complete graph of n vertices)
+	 *
+	 * @param name     name of the variable
+	 * @param n        Maximum number of vertices
+	 * @param allNodes If true then every vertex in [0,n-1] belongs to every solution.
+	 * @param lbType   data structure storing the neighbors of each vertex in the lower bound
+	 * @param ubType   data structure storing the neighbors of each vertex in the upper bound
+	 * @return a graph variable having n vertices
+	 */
+	default UndirectedGraphVar graphVar(String name, int n, boolean allNodes, SetType lbType, SetType ubType) {
+		return graphVar(name, n, allNodes, GraphSetTypePolicy.fixed(lbType, ubType));
+	}
+
+	/**
+	 * Creates a graph variable comprised between an empty graph and K_n (complete graph of n vertices)
+	 *
+	 * @param name     name of the variable
+	 * @param n        Maximum number of vertices
+	 * @param allNodes If true then every vertex in [0,n-1] belongs to every solution.
+	 * @param policy   policy choosing the data structures of the lower and upper bounds
+	 * @return a graph variable having n vertices
+	 */
+	default UndirectedGraphVar graphVar(String name, int n, boolean allNodes, GraphSetTypePolicy policy) {
+		long m = (long) n * (n + 1) / 2;
+		UndirectedGraph lb = new UndirectedGraph(_me(), n, policy.getSetType(n, m, false, true), allNodes);
+		UndirectedGraph ub = new UndirectedGraph(_me(), n, policy.getSetType(n, m, false, false), allNodes);
 		for (int i = 0; i < n; i++) {
 			if (!allNodes) {
 				ub.addNode(i);
@@ -53,6 +82,48 @@ public interface IGraphVarFactory {
 		return graphVar(name, lb, ub);
 	}
 
+	/**
+	 * Creates a graph variable comprised between an empty graph and the graph of n vertices formed by edges
+	 *
+	 * @param name     name of the variable
+	 * @param n        Maximum number of vertices
+	 * @param allNodes If true then every vertex in [0,n-1] belongs to every solution.
+	 * @param edges    potential edges, given as pairs {i,j} of vertices in [0,n-1]
+	 * @param policy   policy choosing the data structures of the lower and upper bounds
+	 *                 (e.g. GraphSetTypePolicy.hybrid(density) to adapt to the density of edges)
+	 * @return a graph variable having n vertices
+	 */
+	default UndirectedGraphVar graphVar(String name, int n, boolean allNodes, int[][] edges, GraphSetTypePolicy policy) {
+		UndirectedGraph lb = new UndirectedGraph(_me(), n, policy.getSetType(n, edges.length, false, true), allNodes);
+		UndirectedGraph ub = new UndirectedGraph(_me(), n, policy.getSetType(n, edges.length, false, false), allNodes);
+		if (!allNodes) {
+			for (int i = 0; i < n; i++) {
+				ub.addNode(i);
+			}
+		}
+		for (int[] e : edges) {
+			ub.addEdge(e[0], e[1]);
+		}
+		return graphVar(name, lb, ub);
+	}
+
+	/**
+	 * Creates a graph variable comprised between an empty graph and the graph of n vertices formed by edges,
+	 * whose bounds are stored as Compressed Sparse Row arrays built once from edges (see CSRUndirectedGraph).
+	 * Memory is linear in the number of edges and restoring the domain upon backtrack is O(1) per vertex.
+	 * Edges which are not given here can never be added to the bounds.
+	 *
+	 * @param name     name of the variable
+	 * @param n        Maximum number of vertices
+	 * @param allNodes If true then every vertex in [0,n-1] belongs to every solution.
+	 * @param edges    potential edges, given as pairs {i,j} of vertices in [0,n-1]
+	 * @return a graph variable having n vertices
+	 */
+	default UndirectedGraphVar csrGraphVar(String name, int n, boolean allNodes, int[][] edges) {
+		CSRUndirectedGraph ub = CSRUndirectedGraph.makeUB(_me(), n, edges);
+		return graphVar(name, ub.makeLB(allNodes), ub);
+	}
+
 	/**
 	 * Create an undirected graph variable named name
 	 * and whose domain is the graph interval [lb,ub]
@@ -88,8 +159,36 @@ public interface IGraphVarFactory {
 	 * @return a directed graph variable having n vertices
 	 */
 	default DirectedGraphVar digraphVar(String name, int n, boolean allNodes) {
-		DirectedGraph lb = new DirectedGraph(_me(), n, SetType.BITSET, allNodes);
-		DirectedGraph ub = new DirectedGraph(_me(), n, SetType.BITSET, allNodes);
+		return digraphVar(name, n, allNodes, GraphSetTypePolicy.DENSE);
+	}
+
+	/**
+	 * Creates a directed graph variable comprised between an empty graph and K_n (complete graph of n vertices)
+	 *
+	 * @param name     name of the variable
+	 * @param n        Maximum number of vertices
+	 * @param allNodes If true then every vertex in [0,n-1] belongs to every solution.
+	 * @param lbType   data structure storing the successors and predecessors of each vertex in the lower bound
+	 * @param ubType   data structure storing the successors and predecessors of each vertex in the upper bound
+	 * @return a directed graph variable having n vertices
+	 */
+	default DirectedGraphVar digraphVar(String name, int n, boolean allNodes, SetType lbType, SetType ubType) {
+		return digraphVar(name, n, allNodes, GraphSetTypePolicy.fixed(lbType, ubType));
+	}
+
+	/**
+	 * Creates a directed graph variable comprised between an empty graph and K_n (complete graph of n vertices)
+	 *
+	 * @param name     name of the variable
+	 * @param n        Maximum number of vertices
+	 * @param allNodes If true then every vertex in [0,n-1] belongs to every solution.
+	 * @param policy   policy choosing the data structures of the lower and upper bounds
+	 * @return a directed graph variable having n vertices
+	 */
+	default DirectedGraphVar digraphVar(String name, int n, boolean allNodes, GraphSetTypePolicy policy) {
+		long m = (long) n * n;
+		DirectedGraph lb = new DirectedGraph(_me(), n, policy.getSetType(n, m, true, true), allNodes);
+		DirectedGraph ub = new DirectedGraph(_me(), n, policy.getSetType(n, m, true, false), allNodes);
 		for (int i = 0; i < n; i++) {
 			if (!allNodes) {
 				ub.addNode(i);
@@ -101,6 +200,31 @@ public interface IGraphVarFactory {
 		return digraphVar(name, lb, ub);
 	}
 
+	/**
+	 * Creates a directed graph variable comprised between an empty graph and the graph of n vertices formed by arcs
+	 *
+	 * @param name     name of the variable
+	 * @param n        Maximum number of vertices
+	 * @param allNodes If true then every vertex in [0,n-1] belongs to every solution.
+	 * @param arcs     potential arcs, given as pairs {from,to} of vertices in [0,n-1]
+	 * @param policy   policy choosing the data structures of the lower and upper bounds
+	 *                 (e.g. GraphSetTypePolicy.hybrid(density) to adapt to the density of arcs)
+	 * @return a directed graph variable having n vertices
+	 */
+	default DirectedGraphVar digraphVar(String name, int n, boolean allNodes, int[][] arcs, GraphSetTypePolicy policy) {
+		DirectedGraph lb = new DirectedGraph(_me(), n, policy.getSetType(n, arcs.length, true, true), allNodes);
+		DirectedGraph ub = new DirectedGraph(_me(), n, policy.getSetType(n, arcs.length, true, false), allNodes);
+		if (!allNodes) {
+			for (int i = 0; i < n; i++) {
+				ub.addNode(i);
+			}
+		}
+		for (int[] a : arcs) {
+			ub.addArc(a[0], a[1]);
+		}
+		return digraphVar(name, lb, ub);
+	}
+
 	/**
 	 * Create a directed graph variable named name
 	 * and whose domain is the graph interval [lb,ub]
@@ -59,8 +59,7 @@ public class UndirectedGraphVar extends GraphVar<UndirectedGraph> {
 	//***********************************************************************************
 
 	@Override
-	public boolean removeArc(int x, int y, ICause cause) throws ContradictionException {
-		assert cause != null;
+	protected boolean doRemoveArc(int x, int y, ICause cause) throws ContradictionException {
 		if (LB.edgeExists(x, y)) {
 			this.contradiction(cause, "remove mandatory arc");
 			return false;
@@ -70,26 +69,21 @@ public class UndirectedGraphVar extends GraphVar<UndirectedGraph> {
 				delta.add(x, GraphDelta.AR_TAIL, cause);
 				delta.add(y, GraphDelta.AR_HEAD, cause);
 			}
-			GraphEventType e = GraphEventType.REMOVE_ARC;
-			notifyPropagators(e, cause);
+			nbPotArcs.add(-1);
 			return true;
 		}
 		return false;
 	}
 
 	@Override
-	public boolean enforceArc(int x, int y, ICause cause) throws ContradictionException {
-		assert cause != null;
-		enforceNode(x, cause);
-		enforceNode(y, cause);
+	protected boolean doEnforceArc(int x, int y, ICause cause) throws ContradictionException {
 		if (UB.edgeExists(x, y)) {
 			if (LB.addEdge(x, y)) {
 				if (reactOnModification) {
 					delta.add(x, GraphDelta.AE_TAIL, cause);
-					delta.add(y, GraphDelta.AE_HEAD, cause);
+				delta.add(y, GraphDelta.AE_HEAD, cause);
 				}
-				GraphEventType e = GraphEventType.ADD_ARC;
-				notifyPropagators(e, cause);
+				nbMandArcs.add(1);
 				return true;
 			}
 			return false;
@@ -59,6 +59,7 @@ public class GraphDeltaMonitor extends TimeStampedObject implements IDeltaMonito
 	@Override
 	public void freeze() {
 		if (needReset()) {
+			delta.lazyClear(); // sizes may refer to a previous world if nothing happened since
 			for (int i = 0; i < 4; i++) {
 				first[i] = 0;
 			}
@@ -1,6 +1,7 @@
 package org.chocosolver.checked;
 
 import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.util.ConnectivityFinder;
 import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -451,4 +452,37 @@ public class ConnectedTest {
 
         assertEquals(model.connected(graph).isSatisfied(), ESat.UNDEFINED);
     }
+
+    @Test(groups = "10s")
+    public void testConnectedAllSolutions() {
+        // every solution is connected and no connected graph is missed
+        for (boolean connected : new boolean[]{true, false}) {
+            int n = 5;
+            GraphModel model = new GraphModel();
+            UndirectedGraph GLB = new UndirectedGraph(model, n, SetType.BIPARTITESET, false);
+            UndirectedGraph GUB = new UndirectedGraph(model, n, SetType.BIPARTITESET, false);
+            for (int i = 0; i < n; i++) {
+                GUB.addNode(i);
+                for (int j = i + 1; j < n; j++) {
+                    GUB.addEdge(i, j);
+                }
+            }
+            UndirectedGraphVar graph = model.graphVar("G", GLB, GUB);
+            if (connected) {
+                model.connected(graph).post();
+            }
+            ConnectivityFinder cf = new ConnectivityFinder(graph.getLB());
+            int nbSols = 0;
+            while (model.getSolver().solve()) {
+                cf.findAllCC();
+                if (cf.getNBCC() <= 1) {
+                    nbSols++;
+                } else {
+                    Assert.assertFalse(connected);
+                }
+            }
+            // number of connected labelled graphs over any subset of 5 nodes
+            assertEquals(nbSols, 974);
+        }
+    }
 }
@@ -1,9 +1,12 @@
 package org.chocosolver.checked;
 
 import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.search.strategy.GraphSearch;
+import org.chocosolver.graphsolver.variables.DirectedGraphVar;
 import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.util.objects.graphs.DirectedGraph;
 import org.chocosolver.util.objects.graphs.UndirectedGraph;
 import org.chocosolver.util.objects.setDataStructures.SetType;
 import org.testng.Assert;
@@ -72,4 +75,29 @@ public class CycleTest {
 		s.printStatistics();
 		Assert.assertEquals(s.getSolutionCount(), 1);
 	}
+
+	@Test(groups = "1s")
+	public void testNoCircuitCount() {
+		// number of labelled directed acyclic graphs on 5 nodes (OEIS A003024)
+		int n = 5;
+		for (boolean enforce : new boolean[]{true, false}) {
+			for (int policy : new int[]{GraphSearch.LEX, GraphSearch.MIN_P_DEGREE, GraphSearch.MAX_P_DEGREE}) {
+				GraphModel m = new GraphModel();
+				DirectedGraph GLB = new DirectedGraph(m, n, SetType.BITSET, true);
+				DirectedGraph GUB = new DirectedGraph(m, n, SetType.BITSET, true);
+				for (int i = 0; i < n; i++) {
+					for (int j = 0; j < n; j++) {
+						GUB.addArc(i, j);
+					}
+				}
+				DirectedGraphVar g = m.digraphVar("g", GLB, GUB);
+				m.noCircuit(g).post();
+				Solver s = m.getSolver();
+				s.setSearch(new GraphSearch(g).configure(policy, enforce));
+				while (s.solve()) ;
+				Assert.assertEquals(s.getSolutionCount(), 29281);
+				Assert.assertEquals(s.getFailCount(), 0);
+			}
+		}
+	}
 }
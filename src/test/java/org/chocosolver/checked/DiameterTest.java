@@ -0,0 +1,169 @@
+package org.chocosolver.checked;
+
+import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.cstrs.basic.PropDiameter;
+import org.chocosolver.graphsolver.util.BitParallelBFS;
+import org.chocosolver.graphsolver.variables.GraphSetTypePolicy;
+import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.graphs.UndirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+public class DiameterTest {
+
+    @Test(groups = "1s")
+    public void testBitParallelBFS() {
+        Random rd = new Random(0);
+        for (int n : new int[]{10, 70, 150}) {
+            for (double density : new double[]{0.01, 0.05, 0.3}) {
+                GraphModel model = new GraphModel();
+                List<int[]> edges = new ArrayList<>();
+                for (int i = 0; i < n; i++) {
+                    for (int j = i + 1; j < n; j++) {
+                        if (rd.nextDouble() < density) {
+                            edges.add(new int[]{i, j});
+                        }
+                    }
+                }
+                UndirectedGraphVar g = model.graphVar("g", n, false, edges.toArray(new int[0][]), GraphSetTypePolicy.DENSE);
+                int[] sources = new int[n];
+                for (int i = 0; i < n; i++) {
+                    sources[i] = i;
+                }
+                int[][] dist = new int[n][];
+                int[] ecc = new int[n];
+                BitParallelBFS bfs = new BitParallelBFS(g, false);
+                bfs.computeDistances(sources, n, dist, ecc);
+                int girth = n + 1;
+                for (int s = 0; s < n; s++) {
+                    int[] expected = g.getAnalysisCache().getDistancesFrom(s);
+                    Assert.assertEquals(dist[s], expected);
+                    int max = 0;
+                    for (int i = 0; i < n; i++) {
+                        max = Math.max(max, expected[i]);
+                    }
+                    Assert.assertEquals(ecc[s], max);
+                    // shortest cycle through each edge (s,j), without this edge
+                    for (int j : g.getPotNeighOf(s)) {
+                        if (s < j) {
+                            girth = Math.min(girth, 1 + shortestPathAvoiding(g, s, j));
+                        }
+                    }
+                }
+                Assert.assertEquals(bfs.computeGirth(), girth);
+            }
+        }
+    }
+
+    @Test(groups = "1s")
+    public void testIncrementalDiameter() throws ContradictionException {
+        // bounds of the diameter along random branches, compared to bounds computed from scratch
+        int n = 12;
+        Random rd = new Random(0);
+        GraphModel model = new GraphModel();
+        UndirectedGraph GLB = new UndirectedGraph(model, n, SetType.BITSET, false);
+        UndirectedGraph GUB = new UndirectedGraph(model, n, SetType.BITSET, false);
+        for (int i = 0; i < n; i++) {
+            GLB.addNode(i);
+            GUB.addNode(i);
+            for (int j = 0; j < i; j++) {
+                if (rd.nextInt(3) != 0) {
+                    GUB.addEdge(i, j);
+                }
+            }
+        }
+        UndirectedGraphVar g = model.graphVar("g", GLB, GUB);
+        IntVar d = model.intVar("d", 0, n);
+        new Constraint("diameter", new PropDiameter(g, d)).post();
+        Solver solver = model.getSolver();
+        IEnvironment environment = model.getEnvironment();
+        environment.worldPush();
+        int root = environment.getWorldIndex();
+        solver.propagate();
+        Deque<int[]> expected = new ArrayDeque<>();
+        expected.push(bounds(g, new int[]{0, n}));
+        for (int k = 0; k < 300; k++) {
+            if (environment.getWorldIndex() > root && rd.nextInt(3) == 0) {
+                environment.worldPop();
+                expected.pop();
+            } else {
+                environment.worldPush();
+                for (int p = 0; p < 2; p++) {
+                    int i = rd.nextInt(n);
+                    if (g.getPotNeighOf(i).size() > 0) {
+                        g.removeArc(i, g.getPotNeighOf(i).iterator().next(), Cause.Null);
+                    }
+                }
+                int[] b = bounds(g, expected.peek());
+                try {
+                    solver.propagate();
+                    expected.push(b);
+                } catch (ContradictionException e) {
+                    Assert.assertTrue(b[0] > b[1]);
+                    solver.getEngine().flush();
+                    environment.worldPop();
+                }
+            }
+            Assert.assertEquals(d.getLB(), expected.peek()[0]);
+            Assert.assertEquals(d.getUB(), expected.peek()[1]);
+        }
+    }
+
+    /**
+     * Bounds of the diameter deduced from BFS layers, intersected with previous bounds
+     */
+    private static int[] bounds(UndirectedGraphVar g, int[] previous) {
+        int n = g.getNbMaxNodes();
+        int lb = previous[0];
+        int ub = -1;
+        for (int i : g.getPotentialNodes()) {
+            int[] dist = g.getAnalysisCache().getDistancesFrom(i);
+            int depth = 0;
+            int count = 0;
+            for (int j = 0; j < n; j++) {
+                depth = Math.max(depth, dist[j]);
+                if (dist[j] >= 0) {
+                    count++;
+                }
+            }
+            // every node is mandatory
+            lb = Math.max(lb, count == n ? depth : depth + 1);
+            ub = Math.max(ub, depth + 1);
+        }
+        return new int[]{lb, Math.min(ub, previous[1])};
+    }
+
+    private static int shortestPathAvoiding(UndirectedGraphVar g, int from, int to) {
+        int n = g.getNbMaxNodes();
+        int[] dist = new int[n];
+        Arrays.fill(dist, -1);
+        int[] fifo = new int[n];
+        int first = 0, last = 0;
+        fifo[last++] = from;
+        dist[from] = 0;
+        while (first < last) {
+            int i = fifo[first++];
+            for (int j : g.getPotNeighOf(i)) {
+                if (dist[j] == -1 && !(i == from && j == to)) {
+                    dist[j] = dist[i] + 1;
+                    fifo[last++] = j;
+                }
+            }
+        }
+        return dist[to] < 0 ? n : dist[to];
+    }
+}
@@ -0,0 +1,81 @@
+package org.chocosolver.checked;
+
+import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.cstrs.symmbreaking.PropGirth;
+import org.chocosolver.graphsolver.util.BitParallelBFS;
+import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.graphs.UndirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+public class GirthTest {
+
+    @Test(groups = "1s")
+    public void testIncrementalGirth() throws ContradictionException {
+        // bounds of the girth along random branches, compared to girths computed from scratch
+        int n = 15;
+        Random rd = new Random(0);
+        GraphModel model = new GraphModel();
+        UndirectedGraph GLB = new UndirectedGraph(model, n, SetType.BITSET, false);
+        UndirectedGraph GUB = new UndirectedGraph(model, n, SetType.BITSET, false);
+        for (int i = 0; i < n; i++) {
+            GUB.addNode(i);
+            for (int j = 0; j <= i; j++) {
+                if (rd.nextInt(3) == 0) {
+                    GUB.addEdge(i, j);
+                }
+            }
+        }
+        UndirectedGraphVar g = model.graphVar("g", GLB, GUB);
+        IntVar girth = model.intVar("girth", 0, n + 1);
+        new Constraint("girth", new PropGirth(g, girth)).post();
+        Solver solver = model.getSolver();
+        IEnvironment environment = model.getEnvironment();
+        BitParallelBFS lb = new BitParallelBFS(g, true);
+        BitParallelBFS ub = new BitParallelBFS(g, false);
+        int[] cycle = new int[n];
+        environment.worldPush();
+        int root = environment.getWorldIndex();
+        solver.propagate();
+        for (int k = 0; k < 500; k++) {
+            if (environment.getWorldIndex() > root && rd.nextInt(3) == 0) {
+                environment.worldPop();
+            } else {
+                environment.worldPush();
+                for (int p = 0; p < 2; p++) {
+                    int i = rd.nextInt(n);
+                    int j = rd.nextInt(n);
+                    if (g.getPotNeighOf(i).contains(j) && !g.getMandNeighOf(i).contains(j)) {
+                        if (rd.nextBoolean()) {
+                            g.removeArc(i, j, Cause.Null);
+                        } else {
+                            g.enforceArc(i, j, Cause.Null);
+                        }
+                    }
+                }
+                solver.propagate();
+            }
+            Assert.assertEquals(girth.getUB(), lb.computeGirth());
+            int ubGirth = ub.computeGirth();
+            Assert.assertEquals(girth.getLB(), ubGirth);
+            // the shortest cycle is simple
+            int length = ub.getShortestCycle(cycle);
+            Assert.assertEquals(length == 0 ? n + 1 : length, ubGirth);
+            for (int c = 0; c < length; c++) {
+                Assert.assertTrue(g.getPotNeighOf(cycle[c]).contains(cycle[(c + 1) % length]));
+                for (int d = 0; d < c; d++) {
+                    Assert.assertNotEquals(cycle[c], cycle[d]);
+                }
+            }
+        }
+    }
+}
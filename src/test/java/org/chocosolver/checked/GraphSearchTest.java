@@ -0,0 +1,392 @@
+package org.chocosolver.checked;
+
+import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.search.GraphDecision;
+import org.chocosolver.graphsolver.search.lns.ClusterNeighborhood;
+import org.chocosolver.graphsolver.search.lns.CostNeighborhood;
+import org.chocosolver.graphsolver.search.lns.GraphNeighborhood;
+import org.chocosolver.graphsolver.search.lns.PathNeighborhood;
+import org.chocosolver.graphsolver.search.lns.RandomArcNeighborhood;
+import org.chocosolver.graphsolver.search.strategy.ArcStrategy;
+import org.chocosolver.graphsolver.search.strategy.GraphLastConflict;
+import org.chocosolver.graphsolver.search.strategy.GraphPhaseSaving;
+import org.chocosolver.graphsolver.search.strategy.GraphSearch;
+import org.chocosolver.graphsolver.search.strategy.GraphStrategy;
+import org.chocosolver.graphsolver.search.strategy.arcs.ActivityArc;
+import org.chocosolver.graphsolver.search.strategy.arcs.CHSArc;
+import org.chocosolver.graphsolver.search.strategy.arcs.LexArc;
+import org.chocosolver.graphsolver.search.strategy.arcs.WDegArc;
+import org.chocosolver.graphsolver.variables.DirectedGraphVar;
+import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.loop.monitors.ISearchMonitor;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.util.objects.graphs.DirectedGraph;
+import org.chocosolver.util.objects.graphs.UndirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+
+public class GraphSearchTest {
+
+	@Test(groups = "1s")
+	public void testIncrementalSelection() throws ContradictionException {
+		int n = 20;
+		Random rd = new Random(0);
+		int[][] costs = new int[n][n];
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				costs[i][j] = rd.nextInt(10);
+			}
+		}
+		for (int policy = GraphSearch.LEX; policy <= GraphSearch.MAX_COST; policy++) {
+			GraphModel m = new GraphModel();
+			IEnvironment env = m.getEnvironment();
+			DirectedGraph GLB = new DirectedGraph(m, n, SetType.LINKED_LIST, false);
+			DirectedGraph GUB = new DirectedGraph(m, n, SetType.BIPARTITESET, false);
+			for (int i = 0; i < n; i++) {
+				GUB.addNode(i);
+				for (int j = 0; j < n; j++) {
+					if (rd.nextInt(3) == 0) {
+						GUB.addArc(i, j);
+					}
+				}
+			}
+			DirectedGraphVar g = m.digraphVar("g", GLB, GUB);
+			boolean enforce = rd.nextBoolean();
+			GraphSearch search = new GraphSearch(g, costs).configure(policy, enforce);
+			env.worldPush();
+			int root = env.getWorldIndex();
+			for (int k = 0; k < 300; k++) {
+				if (g.isInstantiated() || (env.getWorldIndex() > root && rd.nextInt(4) == 0)) {
+					env.worldPopUntil(root + rd.nextInt(env.getWorldIndex() - root + 1));
+					continue;
+				}
+				// a fresh search computes the decision from scratch
+				GraphDecision expected = new GraphSearch(g, costs).configure(policy, enforce).getDecision();
+				GraphDecision decision = search.getDecision();
+				Assert.assertEquals(decision.toString(), expected.toString());
+				env.worldPush();
+				decision.apply();
+				modify(g, rd);
+			}
+		}
+	}
+
+	@Test(groups = "1s")
+	public void testLearningArcs() {
+		// hamiltonian cycles of a random graph, counted with every heuristic
+		boolean[][] edges = randomEdges(10, 0.5);
+		long expected = -1;
+		for (int h = 0; h < 4; h++) {
+			GraphModel m = new GraphModel();
+			UndirectedGraphVar g = cycleModel(m, edges);
+			ArcStrategy arcs = h == 0 ? new LexArc(g) : h == 1 ? new WDegArc(g, 0.95) : h == 2 ? new ActivityArc(g) : new CHSArc(g);
+			Solver s = m.getSolver();
+			s.setSearch(new GraphStrategy(g, null, arcs, GraphStrategy.NodeArcPriority.ARCS));
+			while (s.solve()) {
+				Assert.assertEquals(g.getNbMandArcs(), 10);
+			}
+			if (h == 0) {
+				expected = s.getSolutionCount();
+				Assert.assertTrue(expected > 0 && s.getFailCount() > 0);
+			} else {
+				Assert.assertEquals(s.getSolutionCount(), expected);
+			}
+			// removing the search strategy unplugs learning arc strategies
+			if (arcs instanceof ISearchMonitor) {
+				Assert.assertTrue(s.getSearchMonitors().contains((ISearchMonitor) arcs));
+				s.hardReset();
+				Assert.assertFalse(s.getSearchMonitors().contains((ISearchMonitor) arcs));
+			}
+		}
+	}
+
+	@Test(groups = "1s")
+	public void testLearningArcScores() {
+		// incremental selections are checked against a scan of all undecided arcs, with restarts
+		boolean[][] edges = randomEdges(14, 0.5);
+		for (int h = 0; h < 3; h++) {
+			GraphModel m = new GraphModel();
+			UndirectedGraphVar g = cycleModel(m, edges);
+			ArcStrategy arcs;
+			if (h == 0) {
+				arcs = new WDegArc(g, 0.95) {
+					@Override
+					public boolean computeNextArc() {
+						return checkBestScore(super.computeNextArc(), g, this, this::getWeight);
+					}
+				};
+			} else if (h == 1) {
+				arcs = new ActivityArc(g) {
+					@Override
+					public boolean computeNextArc() {
+						return checkBestScore(super.computeNextArc(), g, this, this::getWeight);
+					}
+				};
+			} else {
+				arcs = new CHSArc(g) {
+					@Override
+					public boolean computeNextArc() {
+						return checkBestScore(super.computeNextArc(), g, this, this::getWeight);
+					}
+				};
+			}
+			Solver s = m.getSolver();
+			s.setSearch(new GraphStrategy(g, null, arcs, GraphStrategy.NodeArcPriority.ARCS));
+			s.setLubyRestart(2, new FailCounter(m, 1), 1000);
+			s.limitFail(2000);
+			while (s.solve()) {
+				Assert.assertEquals(g.getNbMandArcs(), 14);
+			}
+			Assert.assertTrue(s.getRestartCount() > 0);
+		}
+	}
+
+	private static boolean checkBestScore(boolean found, GraphVar g, ArcStrategy<?> arcs, IntToDoubleFunction weight) {
+		int n = g.getNbMaxNodes();
+		double best = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			for (int j : g.getPotSuccOrNeighOf(i)) {
+				if (i <= j && !g.getMandSuccOrNeighOf(i).contains(j)) {
+					best = Math.max(best, score(g, weight, i, j));
+				}
+			}
+		}
+		Assert.assertEquals(found, best != Double.NEGATIVE_INFINITY);
+		if (found) {
+			Assert.assertEquals(score(g, weight, arcs.getFrom(), arcs.getTo()), best, 0);
+		}
+		return found;
+	}
+
+	private static double score(GraphVar g, IntToDoubleFunction weight, int i, int j) {
+		int d = g.getPotSuccOrNeighOf(i).size() - g.getMandSuccOrNeighOf(i).size()
+				+ g.getPotSuccOrNeighOf(j).size() - g.getMandSuccOrNeighOf(j).size();
+		return (weight.applyAsDouble(i) + weight.applyAsDouble(j)) / d;
+	}
+
+	@Test(groups = "1s")
+	public void testLastConflictAndPhaseSaving() {
+		boolean[][] edges = randomEdges(12, 0.6);
+		long expected = -1;
+		for (int h = 0; h < 4; h++) {
+			GraphModel m = new GraphModel();
+			UndirectedGraphVar g = cycleModel(m, edges);
+			AbstractStrategy<GraphVar> search = new GraphStrategy(g, null, new LexArc(g), GraphStrategy.NodeArcPriority.ARCS);
+			if (h % 2 == 1) {
+				search = new GraphLastConflict(g, search, 3);
+			}
+			if (h >= 2) {
+				search = new GraphPhaseSaving(g, search);
+			}
+			Solver s = m.getSolver();
+			s.setSearch(search);
+			while (s.solve()) {
+				Assert.assertEquals(g.getNbMandArcs(), 12);
+			}
+			if (h == 0) {
+				expected = s.getSolutionCount();
+				Assert.assertTrue(expected > 0 && s.getFailCount() > 0);
+			} else {
+				Assert.assertEquals(s.getSolutionCount(), expected);
+			}
+		}
+	}
+
+	@Test(groups = "1s")
+	public void testNeighborhoods() throws ContradictionException {
+		int n = 20;
+		int[][] costs = new int[n][n];
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				costs[i][j] = Math.abs(i - j);
+			}
+		}
+		for (int h = 0; h < 4; h++) {
+			GraphModel m = new GraphModel();
+			IEnvironment env = m.getEnvironment();
+			UndirectedGraph GLB = new UndirectedGraph(m, n, SetType.LINKED_LIST, true);
+			UndirectedGraph GUB = new UndirectedGraph(m, n, SetType.BIPARTITESET, true);
+			for (int i = 0; i < n; i++) {
+				for (int j = i + 1; j < n; j++) {
+					GUB.addEdge(i, j);
+				}
+			}
+			UndirectedGraphVar g = m.graphVar("g", GLB, GUB);
+			int size = 5;
+			GraphNeighborhood nb = h == 0 ? new RandomArcNeighborhood(g, size, 0) : h == 1 ? new PathNeighborhood(g, size, 0)
+					: h == 2 ? new ClusterNeighborhood(g, size, 0) : new CostNeighborhood(g, costs, size, 0);
+			// solution : hamiltonian cycle 0,1,...,n-1
+			env.worldPush();
+			for (int i = 0; i < n; i++) {
+				g.enforceArc(i, (i + 1) % n, Cause.Null);
+			}
+			nb.recordSolution();
+			env.worldPop();
+			for (int k = 0; k < 10; k++) {
+				env.worldPush();
+				nb.fixSomeVariables();
+				if (h == 2) {
+					// whole nodes are added to the ball, so that a few more edges may be relaxed
+					Assert.assertTrue(g.getNbMandArcs() <= n - size);
+				} else {
+					Assert.assertEquals(g.getNbMandArcs(), n - size);
+				}
+				for (int i = 0; i < n; i++) {
+					for (int j : g.getMandNeighOf(i)) {
+						Assert.assertTrue(j == (i + 1) % n || i == (j + 1) % n);
+					}
+				}
+				if (h == 1) {
+					// relaxed edges are consecutive
+					int nbIsolated = 0;
+					for (int i = 0; i < n; i++) {
+						if (g.getMandNeighOf(i).isEmpty()) {
+							nbIsolated++;
+						}
+					}
+					Assert.assertEquals(nbIsolated, size - 1);
+				}
+				env.worldPop();
+			}
+		}
+	}
+
+	private static boolean[][] randomEdges(int n, double density) {
+		Random rd = new Random(0);
+		boolean[][] edges = new boolean[n][n];
+		for (int i = 0; i < n; i++) {
+			for (int j = i + 1; j < n; j++) {
+				edges[i][j] = rd.nextDouble() < density;
+			}
+		}
+		return edges;
+	}
+
+	private static UndirectedGraphVar cycleModel(GraphModel m, boolean[][] edges) {
+		int n = edges.length;
+		UndirectedGraph GLB = new UndirectedGraph(m, n, SetType.LINKED_LIST, true);
+		UndirectedGraph GUB = new UndirectedGraph(m, n, SetType.BIPARTITESET, true);
+		for (int i = 0; i < n; i++) {
+			GLB.addNode(i);
+			for (int j = i + 1; j < n; j++) {
+				if (edges[i][j]) {
+					GUB.addEdge(i, j);
+				}
+			}
+		}
+		UndirectedGraphVar g = m.graphVar("g", GLB, GUB);
+		m.cycle(g).post();
+		return g;
+	}
+
+	@Test(groups = "1s")
+	public void testFirstDecisionBelowRoot() throws ContradictionException {
+		int n = 12;
+		Random rd = new Random(0);
+		int[][] costs = new int[n][n];
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				costs[i][j] = rd.nextInt(10);
+			}
+		}
+		for (int policy = GraphSearch.LEX; policy <= GraphSearch.MAX_COST; policy++) {
+			GraphModel m = new GraphModel();
+			IEnvironment env = m.getEnvironment();
+			DirectedGraph GLB = new DirectedGraph(m, n, SetType.LINKED_LIST, true);
+			DirectedGraph GUB = new DirectedGraph(m, n, SetType.BIPARTITESET, true);
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					GUB.addArc(i, j);
+				}
+			}
+			DirectedGraphVar g = m.digraphVar("g", GLB, GUB);
+			GraphSearch search = new GraphSearch(g, costs).configure(policy, true);
+			env.worldPush();
+			int root = env.getWorldIndex();
+			// arcs decided by another strategy before the first decision of the graph search
+			env.worldPush();
+			for (int k = 0; k < 20; k++) {
+				modify(g, rd);
+			}
+			Assert.assertEquals(search.getDecision().toString(),
+					new GraphSearch(g, costs).configure(policy, true).getDecision().toString());
+			env.worldPopUntil(root);
+			// arcs decided in that branch are candidates again
+			while (!g.isInstantiated()) {
+				GraphDecision expected = new GraphSearch(g, costs).configure(policy, true).getDecision();
+				GraphDecision decision = search.getDecision();
+				Assert.assertNotNull(decision);
+				Assert.assertEquals(decision.toString(), expected.toString());
+				env.worldPush();
+				decision.buildNext();
+				decision.apply();
+			}
+		}
+	}
+
+	@Test(groups = "1s")
+	public void testRestart() throws ContradictionException {
+		int n = 12;
+		Random rd = new Random(0);
+		int[][] costs = new int[n][n];
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				costs[i][j] = rd.nextInt(10);
+			}
+		}
+		for (int policy = GraphSearch.LEX; policy <= GraphSearch.MAX_COST; policy++) {
+			GraphModel m = new GraphModel();
+			IEnvironment env = m.getEnvironment();
+			DirectedGraph GLB = new DirectedGraph(m, n, SetType.LINKED_LIST, true);
+			DirectedGraph GUB = new DirectedGraph(m, n, SetType.BIPARTITESET, true);
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					GUB.addArc(i, j);
+				}
+			}
+			DirectedGraphVar g = m.digraphVar("g", GLB, GUB);
+			GraphSearch search = new GraphSearch(g, costs).configure(policy, true);
+			env.worldPush();
+			int root = env.getWorldIndex();
+			for (int restart = 0; restart < 3; restart++) {
+				// the first decision of each run is computed in a world above which the search restarts
+				env.worldPush();
+				for (int k = 0; k < 10 * (restart + 1) && !g.isInstantiated(); k++) {
+					GraphDecision expected = new GraphSearch(g, costs).configure(policy, true).getDecision();
+					GraphDecision decision = search.getDecision();
+					Assert.assertEquals(decision.toString(), expected.toString());
+					env.worldPush();
+					decision.buildNext();
+					decision.apply();
+					modify(g, rd);
+				}
+				env.worldPopUntil(root);
+			}
+		}
+	}
+
+	private static void modify(GraphVar g, Random rd) throws ContradictionException {
+		int n = g.getNbMaxNodes();
+		for (int k = 0; k < 3; k++) {
+			int i = rd.nextInt(n);
+			int j = rd.nextInt(n);
+			if (g.getPotSuccOrNeighOf(i).contains(j) && !g.getMandSuccOrNeighOf(i).contains(j)) {
+				if (rd.nextBoolean()) {
+					g.removeArc(i, j, Cause.Null);
+				} else {
+					g.enforceArc(i, j, Cause.Null);
+				}
+			}
+		}
+	}
+}
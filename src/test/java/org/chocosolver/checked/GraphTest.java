@@ -2,17 +2,32 @@ package org.chocosolver.checked;
 
 
 import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.GraphModelSolution;
+import org.chocosolver.graphsolver.util.ConnectivityFinder;
+import org.chocosolver.graphsolver.util.GraphAnalysisCache;
+import org.chocosolver.graphsolver.util.UGVarConnectivityFinder;
+import org.chocosolver.graphsolver.variables.DirectedGraphVar;
+import org.chocosolver.graphsolver.variables.GraphSetTypePolicy;
+import org.chocosolver.graphsolver.variables.GraphSolution;
+import org.chocosolver.graphsolver.variables.GraphVar;
 import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.graphs.UndirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.SetFactory;
 import org.chocosolver.util.objects.setDataStructures.SetType;
 import org.chocosolver.util.tools.ArrayUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.Random;
+
 /**
  * @author Jean-Guillaume Fages
  * @since 22/11/14
@@ -69,4 +84,380 @@ public class GraphTest {
         Assert.assertEquals(model.getSolver().isFeasible(), ESat.TRUE);
         System.out.println(model.getSolver().toOneLineString());
     }
+
+    @Test(groups = "1s")
+    public void testAnalysisCache() throws ContradictionException {
+        // connected components of the cache must match a computation from scratch, whatever the backtracks
+        int n = 20;
+        Random rd = new Random(0);
+        GraphModel model = new GraphModel();
+        UndirectedGraph LB = new UndirectedGraph(model, n, SetType.BITSET, false);
+        UndirectedGraph UB = new UndirectedGraph(model, n, SetType.BITSET, false);
+        for (int i = 0; i < n; i++) {
+            UB.addNode(i);
+            for (int j = i + 1; j < n; j++) {
+                if (rd.nextDouble() < 0.2) {
+                    UB.addEdge(i, j);
+                }
+            }
+        }
+        UndirectedGraphVar g = model.graphVar("g", LB, UB);
+        GraphAnalysisCache cache = g.getAnalysisCache();
+        IEnvironment environment = model.getEnvironment();
+        int depth = 0;
+        for (int k = 0; k < 500; k++) {
+            if (depth > 0 && rd.nextInt(3) == 0) {
+                environment.worldPop();
+                depth--;
+            } else {
+                environment.worldPush();
+                depth++;
+                for (int m = rd.nextInt(4); m >= 0; m--) {
+                    int i = rd.nextInt(n);
+                    int j = rd.nextInt(n);
+                    if (rd.nextInt(10) == 0) {
+                        if (!g.getMandatoryNodes().contains(i)) {
+                            g.removeNode(i, Cause.Null);
+                        }
+                    } else if (g.getPotNeighOf(i).contains(j) && !g.getMandNeighOf(i).contains(j)) {
+                        if (rd.nextBoolean()) {
+                            g.removeArc(i, j, Cause.Null);
+                        } else {
+                            g.enforceArc(i, j, Cause.Null);
+                        }
+                    }
+                }
+            }
+            for (boolean lb : new boolean[]{true, false}) {
+                ConnectivityFinder cached = cache.getConnectedComponents(lb);
+                ConnectivityFinder scratch = new ConnectivityFinder(lb ? g.getLB() : g.getUB());
+                scratch.findAllCC();
+                Assert.assertEquals(cached.getNBCC(), scratch.getNBCC());
+                Assert.assertEquals(cached.getSizeMinCC(), scratch.getSizeMinCC());
+                Assert.assertEquals(cached.getSizeMaxCC(), scratch.getSizeMaxCC());
+                int[] ccOf = cached.getNodeCC();
+                for (int i : (lb ? g.getMandatoryNodes() : g.getPotentialNodes()).toArray()) {
+                    for (int j : (lb ? g.getMandatoryNodes() : g.getPotentialNodes()).toArray()) {
+                        Assert.assertEquals(ccOf[i] == ccOf[j], scratch.getNodeCC()[i] == scratch.getNodeCC()[j]);
+                    }
+                    Assert.assertEquals(cached.getSizeCC()[ccOf[i]], scratch.getSizeCC()[scratch.getNodeCC()[i]]);
+                }
+            }
+        }
+        // components are built once, then updated from the delta across every world
+        for (boolean lb : new boolean[]{true, false}) {
+            Assert.assertEquals(((UGVarConnectivityFinder) cache.getConnectedComponents(lb)).getNbRebuilds(), 1);
+        }
+    }
+
+    @Test(groups = "1s")
+    public void testSetTypePolicy() {
+        // hybrid policy : sparse bounds for large sparse graphs, bitsets for dense ones
+        GraphSetTypePolicy hybrid = GraphSetTypePolicy.hybrid(0.01);
+        Assert.assertEquals(hybrid.getSetType(50000, 100000, false, false), SetType.LINKED_LIST);
+        Assert.assertEquals(hybrid.getSetType(50000, 100000, true, true), SetType.LINKED_LIST);
+        Assert.assertEquals(hybrid.getSetType(100, 4950, false, false), SetType.BITSET);
+        // the data structure must not change the solution set
+        int n = 7;
+        int[][] edges = new int[][]{{0, 1}, {1, 2}, {2, 3}, {3, 4}, {4, 5}, {5, 6}, {6, 0}, {0, 3}, {2, 5}};
+        long nbSols = -1;
+        for (GraphSetTypePolicy policy : new GraphSetTypePolicy[]{
+                GraphSetTypePolicy.DENSE, GraphSetTypePolicy.SPARSE, GraphSetTypePolicy.SPARSE_LB, hybrid}) {
+            GraphModel model = new GraphModel();
+            UndirectedGraphVar g = model.graphVar("g", n, false, edges, policy);
+            Assert.assertEquals(g.getPotentialNodes().size(), n);
+            model.connected(g).post();
+            while (model.getSolver().solve()) ;
+            if (nbSols == -1) {
+                nbSols = model.getSolver().getSolutionCount();
+            }
+            Assert.assertEquals(model.getSolver().getSolutionCount(), nbSols);
+        }
+        Assert.assertTrue(nbSols > 0);
+    }
+
+    @Test(groups = "1s")
+    public void testCSRGraphVar() throws ContradictionException {
+        // a CSR-backed variable must behave as a standard one, whatever the backtracks
+        int n = 30;
+        Random rd = new Random(0);
+        int[][] edges = new int[120][];
+        for (int k = 0; k < edges.length; k++) {
+            edges[k] = new int[]{rd.nextInt(n), rd.nextInt(n)};
+        }
+        GraphModel model = new GraphModel();
+        UndirectedGraphVar csr = model.csrGraphVar("csr", n, false, edges);
+        UndirectedGraphVar ref = model.graphVar("ref", n, false, edges, GraphSetTypePolicy.DENSE);
+        Assert.assertEquals(csr.getNbMaxNodes(), n);
+        Assert.assertEquals(csr.getLB().getNbMaxNodes(), n);
+        IEnvironment environment = model.getEnvironment();
+        int depth = 0;
+        for (int k = 0; k < 1000; k++) {
+            if (depth > 0 && rd.nextInt(3) == 0) {
+                environment.worldPop();
+                depth--;
+            } else {
+                environment.worldPush();
+                depth++;
+                for (int m = rd.nextInt(4); m >= 0; m--) {
+                    int i = rd.nextInt(n);
+                    int j = rd.nextInt(n);
+                    if (rd.nextInt(10) == 0) {
+                        if (!ref.getMandatoryNodes().contains(i)) {
+                            Assert.assertEquals(csr.removeNode(i, Cause.Null), ref.removeNode(i, Cause.Null));
+                        }
+                    } else if (ref.getPotNeighOf(i).contains(j) && !ref.getMandNeighOf(i).contains(j)) {
+                        if (rd.nextBoolean()) {
+                            Assert.assertTrue(csr.removeArc(i, j, Cause.Null));
+                            Assert.assertTrue(ref.removeArc(i, j, Cause.Null));
+                        } else {
+                            Assert.assertTrue(csr.enforceArc(i, j, Cause.Null));
+                            Assert.assertTrue(ref.enforceArc(i, j, Cause.Null));
+                        }
+                    }
+                }
+            }
+            Assert.assertEquals(csr.getPotentialNodes().size(), ref.getPotentialNodes().size());
+            Assert.assertEquals(csr.getMandatoryNodes().size(), ref.getMandatoryNodes().size());
+            for (int i = 0; i < n; i++) {
+                Assert.assertEquals(csr.getPotNeighOf(i).size(), ref.getPotNeighOf(i).size());
+                Assert.assertEquals(csr.getMandNeighOf(i).size(), ref.getMandNeighOf(i).size());
+                for (int j : csr.getPotNeighOf(i)) {
+                    Assert.assertTrue(ref.getPotNeighOf(i).contains(j));
+                }
+                for (int j : csr.getMandNeighOf(i)) {
+                    Assert.assertTrue(ref.getMandNeighOf(i).contains(j));
+                }
+            }
+        }
+        // same solutions
+        long[] nbSols = new long[2];
+        for (int k = 0; k < 2; k++) {
+            GraphModel m = new GraphModel();
+            UndirectedGraphVar g = k == 0 ? m.csrGraphVar("g", 7, false, new int[][]{{0, 1}, {1, 2}, {2, 3}, {3, 4}, {4, 5}, {5, 6}, {6, 0}, {0, 3}, {2, 5}})
+                    : m.graphVar("g", 7, false, new int[][]{{0, 1}, {1, 2}, {2, 3}, {3, 4}, {4, 5}, {5, 6}, {6, 0}, {0, 3}, {2, 5}}, GraphSetTypePolicy.DENSE);
+            m.nbConnectedComponents(g, m.intVar(1, 2)).post();
+            while (m.getSolver().solve()) ;
+            nbSols[k] = m.getSolver().getSolutionCount();
+        }
+        Assert.assertEquals(nbSols[0], nbSols[1]);
+    }
+
+    @Test(groups = "1s")
+    public void testPrimitiveIteration() throws ContradictionException {
+        int n = 30;
+        Random rd = new Random(0);
+        GraphModel model = new GraphModel();
+        DirectedGraphVar g = model.digraphVar("g", n, false);
+        for (int k = 0; k < 200; k++) {
+            int i = rd.nextInt(n);
+            int j = rd.nextInt(n);
+            if (g.getMandSuccOf(i).contains(j)) {
+                continue;
+            }
+            if (rd.nextBoolean()) {
+                g.removeArc(i, j, Cause.Null);
+            } else if (g.getPotSuccOf(i).contains(j)) {
+                g.enforceArc(i, j, Cause.Null);
+            }
+        }
+        int[] buffer = new int[n];
+        for (int i = 0; i < n; i++) {
+            // copies do not disturb for-each loops over the same set
+            int nb = 0;
+            for (int j : g.getPotSuccOf(i)) {
+                Assert.assertEquals(g.copyPotSuccOrNeigh(i, buffer), g.getPotSuccOf(i).size());
+                nb++;
+            }
+            Assert.assertEquals(nb, g.getPotSuccOf(i).size());
+            Assert.assertEquals(g.copyMandPredOrNeigh(i, buffer), g.getMandPredOf(i).size());
+            for (int k = 0; k < g.getMandPredOf(i).size(); k++) {
+                Assert.assertTrue(g.getMandPredOf(i).contains(buffer[k]));
+            }
+        }
+        // nested forEach calls with removals
+        int[] count = new int[1];
+        for (int i = 0; i < n; i++) {
+            int size = g.getPotSuccOf(i).size();
+            int from = i;
+            count[0] = 0;
+            g.forEachPotSuccOrNeigh(i, j -> {
+                count[0]++;
+                g.forEachPotSuccOrNeigh(from, k -> Assert.assertTrue(g.getPotSuccOf(from).contains(k)));
+                if (!g.getMandSuccOf(from).contains(j)) {
+                    g.removeArc(from, j, Cause.Null);
+                }
+            });
+            Assert.assertEquals(count[0], size);
+            Assert.assertEquals(g.getPotSuccOf(i).size(), g.getMandSuccOf(i).size());
+        }
+    }
+
+    @Test(groups = "1s")
+    public void testDeepArticulationPoints() throws ContradictionException {
+        // a long path, too deep for a recursive DFS
+        int n = 50000;
+        GraphModel model = new GraphModel();
+        int[][] edges = new int[n - 1][];
+        for (int i = 0; i < n - 1; i++) {
+            edges[i] = new int[]{i, i + 1};
+        }
+        UndirectedGraphVar g = model.graphVar("g", n, false, edges, GraphSetTypePolicy.SPARSE);
+        g.enforceNode(0, Cause.Null);
+        g.enforceNode(n - 1, Cause.Null);
+        model.connected(g).post();
+        model.getSolver().propagate();
+        Assert.assertEquals(g.getMandatoryNodes().size(), n);
+    }
+
+    @Test(groups = "1s")
+    public void testBatchModifications() throws ContradictionException {
+        int n = 6;
+        int[][] edges = new int[n * (n - 1) / 2][];
+        for (int i = 0, k = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                edges[k++] = new int[]{i, j};
+            }
+        }
+        GraphModel model = new GraphModel();
+        UndirectedGraphVar g = model.graphVar("g", n, false, edges, GraphSetTypePolicy.DENSE);
+        int[] nbEvents = new int[1];
+        g.addMonitor((var, evt) -> nbEvents[0]++);
+        // one event for incident edges, one for the node
+        Assert.assertTrue(g.removeNode(0, Cause.Null));
+        Assert.assertEquals(nbEvents[0], 2);
+        Assert.assertEquals(g.getNbModifications(), 6);
+        ISet nodes = SetFactory.makeBitSet(0);
+        nodes.add(1);
+        nodes.add(2);
+        Assert.assertTrue(g.removeNodes(nodes, Cause.Null));
+        Assert.assertEquals(nbEvents[0], 4);
+        Assert.assertEquals(g.getNbModifications(), 6 + 7 + 2);
+        Assert.assertTrue(g.removeArcs(3, g.getPotNeighOf(3), Cause.Null));
+        Assert.assertEquals(nbEvents[0], 5);
+        Assert.assertEquals(g.getPotNeighOf(3).size(), 0);
+        Assert.assertFalse(g.removeArcs(3, g.getPotentialNodes(), Cause.Null));
+        Assert.assertEquals(nbEvents[0], 5);
+        nodes.clear();
+        nodes.add(5);
+        Assert.assertTrue(g.enforceArcs(4, nodes, Cause.Null));
+        Assert.assertEquals(nbEvents[0], 7);
+        Assert.assertEquals(g.getMandatoryNodes().size(), 2);
+        Assert.assertTrue(g.getMandNeighOf(5).contains(4));
+        try {
+            g.removeNodes(nodes, Cause.Null);
+            Assert.fail();
+        } catch (ContradictionException ignored) {
+        }
+    }
+
+    @Test(groups = "1s")
+    public void testArcCounters() throws ContradictionException {
+        int n = 12;
+        Random rd = new Random(0);
+        for (boolean directed : new boolean[]{true, false}) {
+            GraphModel model = new GraphModel();
+            int[][] arcs = new int[60][];
+            for (int k = 0; k < arcs.length; k++) {
+                arcs[k] = new int[]{rd.nextInt(n), rd.nextInt(n)};
+            }
+            GraphVar g = directed ? model.digraphVar("g", n, false, arcs, GraphSetTypePolicy.DENSE)
+                    : model.graphVar("g", n, false, arcs, GraphSetTypePolicy.DENSE);
+            IEnvironment environment = model.getEnvironment();
+            for (int k = 0; k < 500; k++) {
+                if (environment.getWorldIndex() > 0 && rd.nextInt(3) == 0) {
+                    environment.worldPop();
+                } else {
+                    environment.worldPush();
+                    int i = rd.nextInt(n);
+                    int j = rd.nextInt(n);
+                    if (rd.nextInt(10) == 0) {
+                        if (!g.getMandatoryNodes().contains(i)) {
+                            g.removeNode(i, Cause.Null);
+                        }
+                    } else if (g.getPotSuccOrNeighOf(i).contains(j) && !g.getMandSuccOrNeighOf(i).contains(j)) {
+                        if (rd.nextBoolean()) {
+                            g.removeArc(i, j, Cause.Null);
+                        } else {
+                            g.enforceArc(i, j, Cause.Null);
+                        }
+                    }
+                }
+                int nbPot = 0;
+                int nbMand = 0;
+                for (int i = 0; i < n; i++) {
+                    for (int j = directed ? 0 : i; j < n; j++) {
+                        if (g.getPotSuccOrNeighOf(i).contains(j)) nbPot++;
+                        if (g.getMandSuccOrNeighOf(i).contains(j)) nbMand++;
+                    }
+                }
+                Assert.assertEquals(g.getNbPotArcs(), nbPot);
+                Assert.assertEquals(g.getNbMandArcs(), nbMand);
+                Assert.assertEquals(g.isInstantiated(), nbPot == nbMand && g.getPotentialNodes().size() == g.getMandatoryNodes().size());
+            }
+        }
+    }
+
+    @Test(groups = "1s")
+    public void testGraphSolution() throws ContradictionException {
+        int n = 10;
+        Random rd = new Random(0);
+        for (boolean directed : new boolean[]{true, false}) {
+            GraphModel model = new GraphModel();
+            int[][] arcs = new int[40][];
+            for (int k = 0; k < arcs.length; k++) {
+                arcs[k] = new int[]{rd.nextInt(n), rd.nextInt(n)};
+            }
+            GraphVar g = directed ? model.digraphVar("g", n, false, arcs, GraphSetTypePolicy.DENSE)
+                    : model.graphVar("g", n, false, arcs, GraphSetTypePolicy.DENSE);
+            IntVar x = model.intVar("x", 0, 5);
+            GraphModelSolution solution = new GraphModelSolution(model);
+            IEnvironment environment = model.getEnvironment();
+            for (int s = 0; s < 5; s++) {
+                // random instantiation
+                environment.worldPush();
+                x.instantiateTo(rd.nextInt(6), Cause.Null);
+                for (int i = 0; i < n; i++) {
+                    if (rd.nextInt(4) == 0) {
+                        g.removeNode(i, Cause.Null);
+                    }
+                }
+                for (int i : g.getPotentialNodes()) {
+                    g.enforceNode(i, Cause.Null);
+                    for (int j : g.getPotSuccOrNeighOf(i).toArray()) {
+                        if (!g.getMandSuccOrNeighOf(i).contains(j)) {
+                            if (rd.nextBoolean()) {
+                                g.removeArc(i, j, Cause.Null);
+                            } else {
+                                g.enforceArc(i, j, Cause.Null);
+                            }
+                        }
+                    }
+                }
+                Assert.assertTrue(g.isInstantiated());
+                boolean[][] value = g.getValue();
+                int valueX = x.getValue();
+                GraphSolution gs = g.getSolution();
+                Assert.assertEquals(gs.getNbArcs(), g.getNbMandArcs());
+                Assert.assertEquals(gs.getNbNodes(), g.getMandatoryNodes().size());
+                solution.record();
+                GraphModelSolution copy = solution.copySolution();
+                environment.worldPop();
+                // restore from the compact solution
+                environment.worldPush();
+                g.instantiateTo(gs, Cause.Null);
+                Assert.assertTrue(g.isInstantiated());
+                Assert.assertEquals(g.getValue(), value);
+                environment.worldPop();
+                // restore from the model solution copy
+                environment.worldPush();
+                copy.restore();
+                Assert.assertTrue(g.isInstantiated());
+                Assert.assertEquals(g.getValue(), value);
+                Assert.assertEquals(x.getValue(), valueX);
+                Assert.assertEquals(copy.getGraphSolution(g).getNbArcs(), gs.getNbArcs());
+                environment.worldPop();
+            }
+        }
+    }
 }
@@ -0,0 +1,204 @@
+package org.chocosolver.checked;
+
+import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.cstrs.cost.trees.lagrangian.IncrementalArcSort;
+import org.chocosolver.graphsolver.cstrs.cost.tsp.heap.HeapType;
+import org.chocosolver.graphsolver.cstrs.cost.tsp.heap.ISimpleHeap;
+import org.chocosolver.graphsolver.cstrs.cost.tsp.lagrangian.MultiplierSnapshots;
+import org.chocosolver.graphsolver.cstrs.cost.tsp.lagrangian.PropLagrOneTree;
+import org.chocosolver.graphsolver.util.EdgeIndex;
+import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.samples.tsp.TSP_Utils;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.graphs.UndirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class LagrangianTest {
+
+    @Test(groups = "1s")
+    public void testWarmStartedTSP() {
+        for (int seed = 0; seed < 3; seed++) {
+            int[][] costs = TSP_Utils.generateRandomCosts(10, seed, 100);
+            int opt = solveTSP(costs, 0, true, 1, HeapType.FAST_BINARY)[0];
+            // early stops : starting from the multipliers of the parent node saves iterations per optimization
+            int[] warm = solveTSP(costs, 1, true, 1, HeapType.FAST_BINARY);
+            int[] cold = solveTSP(costs, 1, false, 1, HeapType.FAST_BINARY);
+            Assert.assertEquals(warm[0], opt);
+            Assert.assertEquals(cold[0], opt);
+            Assert.assertTrue(warm[1] / (double) warm[2] < cold[1] / (double) cold[2],
+                    warm[1] + "/" + warm[2] + " >= " + cold[1] + "/" + cold[2]);
+            // whole schedule (default), with or without warm start
+            Assert.assertEquals(solveTSP(costs, 1, true, Double.NEGATIVE_INFINITY, HeapType.FAST_BINARY)[0], opt);
+            Assert.assertEquals(solveTSP(costs, 1, false, Double.NEGATIVE_INFINITY, HeapType.FAST_BINARY)[0], opt);
+        }
+    }
+
+    @Test(groups = "1s")
+    public void testMultiplierSnapshots() {
+        IEnvironment env = new GraphModel().getEnvironment();
+        MultiplierSnapshots snapshots = new MultiplierSnapshots(env, 2);
+        double[] values = new double[2];
+        Assert.assertFalse(snapshots.restore(values));
+        // parent node
+        env.worldPush();
+        snapshots.save(new double[]{1, 1});
+        // first child
+        env.worldPush();
+        Assert.assertTrue(snapshots.restore(values));
+        Assert.assertEquals(values, new double[]{1, 1});
+        snapshots.save(new double[]{2, 2});
+        env.worldPush();
+        Assert.assertTrue(snapshots.restore(values));
+        Assert.assertEquals(values, new double[]{2, 2});
+        env.worldPop();
+        env.worldPop();
+        // sibling : same depth as the first child, restores the parent vector
+        env.worldPush();
+        Assert.assertTrue(snapshots.restore(values));
+        Assert.assertEquals(values, new double[]{1, 1});
+        snapshots.save(new double[]{3, 3});
+        Assert.assertTrue(snapshots.restore(values));
+        Assert.assertEquals(values, new double[]{3, 3});
+        env.worldPop();
+        env.worldPop();
+        Assert.assertFalse(snapshots.restore(values));
+    }
+
+    @Test(groups = "1s")
+    public void testIncrementalArcSort() {
+        int n = 30;
+        Random rd = new Random(0);
+        UndirectedGraph g = new UndirectedGraph(n, SetType.BITSET, false);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                g.addEdge(i, j);
+            }
+        }
+        EdgeIndex edges = new EdgeIndex(g);
+        int m = edges.getNbEdges();
+        double[] base = new double[m];
+        for (int e = 0; e < m; e++) {
+            base[e] = rd.nextInt(100);
+        }
+        double[] penalities = new double[n];
+        double[] costs = new double[m];
+        IncrementalArcSort sort = new IncrementalArcSort(edges);
+        int[] arcs = new int[m];
+        for (int k = 0; k < 200; k++) {
+            // small or large multiplier changes, some edges removed
+            double scale = rd.nextInt(5) == 0 ? 50 : 1;
+            for (int i = 0; i < n; i++) {
+                penalities[i] += (rd.nextDouble() - 0.5) * scale;
+            }
+            int size = 0;
+            for (int e = 0; e < m; e++) {
+                costs[e] = base[e] + penalities[edges.getFrom(e)] + penalities[edges.getTo(e)];
+                if (rd.nextInt(10) != 0) {
+                    arcs[size++] = e;
+                }
+            }
+            int[] expected = Arrays.copyOf(arcs, size);
+            sort.sort(arcs, size, costs);
+            for (int i = 1; i < size; i++) {
+                Assert.assertTrue(costs[arcs[i - 1]] <= costs[arcs[i]]);
+            }
+            int[] sorted = Arrays.copyOf(arcs, size);
+            Arrays.sort(sorted);
+            Assert.assertEquals(sorted, expected);
+        }
+    }
+
+    @Test(groups = "1s")
+    public void testHeaps() {
+        int n = 50;
+        for (HeapType type : HeapType.values()) {
+            Random rd = new Random(0);
+            ISimpleHeap heap = type.make(n);
+            // reference : value of each element in the heap, NaN if absent
+            double[] values = new double[n];
+            Arrays.fill(values, Double.NaN);
+            for (int k = 0; k < 5000; k++) {
+                int r = rd.nextInt(10);
+                if (r < 6) {
+                    int e = rd.nextInt(n);
+                    double v = rd.nextInt(100);
+                    boolean updated = Double.isNaN(values[e]) || v < values[e];
+                    Assert.assertEquals(heap.addOrUpdateElement(e, v), updated, type.name());
+                    if (updated) {
+                        values[e] = v;
+                    }
+                } else if (r < 9) {
+                    double min = Double.POSITIVE_INFINITY;
+                    for (double v : values) {
+                        if (!Double.isNaN(v)) {
+                            min = Math.min(min, v);
+                        }
+                    }
+                    Assert.assertEquals(heap.isEmpty(), min == Double.POSITIVE_INFINITY, type.name());
+                    if (!heap.isEmpty()) {
+                        int e = heap.removeFirstElement();
+                        Assert.assertEquals(values[e], min, type.name());
+                        values[e] = Double.NaN;
+                    }
+                } else if (rd.nextInt(20) == 0) {
+                    heap.clear();
+                    Arrays.fill(values, Double.NaN);
+                }
+            }
+        }
+    }
+
+    @Test(groups = "1s")
+    public void testHeapTypesTSP() {
+        int[][] costs = TSP_Utils.generateRandomCosts(12, 0, 100);
+        int opt = solveTSP(costs, 0, true, 1, HeapType.FAST_BINARY)[0];
+        for (HeapType type : HeapType.values()) {
+            Assert.assertEquals(solveTSP(costs, 1, true, 1, type)[0], opt, type.name());
+        }
+    }
+
+    /**
+     * @return the optimal cost, the number of Held-Karp iterations and the number of subgradient optimizations
+     */
+    private static int[] solveTSP(int[][] costs, int lagrMode, boolean warmStart, double minImprovement, HeapType heap) {
+        int n = costs.length;
+        GraphModel model = new GraphModel();
+        UndirectedGraph GLB = new UndirectedGraph(model, n, SetType.LINKED_LIST, true);
+        UndirectedGraph GUB = new UndirectedGraph(model, n, SetType.BIPARTITESET, true);
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                GUB.addEdge(i, j);
+            }
+        }
+        UndirectedGraphVar g = model.graphVar("G", GLB, GUB);
+        IntVar cost = model.intVar("obj", 0, 100 * n, true);
+        Constraint tsp = model.tsp(g, cost, costs, lagrMode);
+        tsp.post();
+        PropLagrOneTree hk = null;
+        for (Propagator p : tsp.getPropagators()) {
+            if (p instanceof PropLagrOneTree) {
+                hk = (PropLagrOneTree) p;
+                hk.setWarmStart(warmStart);
+                hk.setMinImprovement(minImprovement);
+                hk.setHeapType(heap);
+            }
+        }
+        model.setObjective(Model.MINIMIZE, cost);
+        Solver solver = model.getSolver();
+        int best = -1;
+        while (solver.solve()) {
+            best = cost.getValue();
+        }
+        return hk == null ? new int[]{best, 0, 0} : new int[]{best, (int) hk.getNbIterations(), (int) hk.getNbRelaxations()};
+    }
+}
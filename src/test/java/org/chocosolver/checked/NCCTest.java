@@ -1,6 +1,7 @@
 package org.chocosolver.checked;
 
 import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.util.ConnectivityFinder;
 import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.exception.ContradictionException;
@@ -515,6 +516,36 @@ public class NCCTest {
 		Assert.assertTrue(m.getSolver().solve());
 	}
 
+    @Test(groups = "10s")
+    public void testSharedConnectivityFinders() {
+        // nbCC and sizeMaxCC share the incremental finders of the graph variable
+        int n = 5;
+        GraphModel m = new GraphModel();
+        UndirectedGraph GLB = new UndirectedGraph(m, n, SetType.BIPARTITESET, false);
+        UndirectedGraph GUB = new UndirectedGraph(m, n, SetType.BIPARTITESET, false);
+        for (int i = 0; i < n; i++) {
+            GUB.addNode(i);
+            for (int j = i + 1; j < n; j++) {
+                GUB.addEdge(i, j);
+            }
+        }
+        UndirectedGraphVar graph = m.graphVar("G", GLB, GUB);
+        IntVar nbCC = m.intVar("nbCC", 0, n);
+        IntVar sizeMaxCC = m.intVar("sizeMaxCC", 0, n);
+        m.nbConnectedComponents(graph, nbCC).post();
+        m.sizeMaxConnectedComponents(graph, sizeMaxCC).post();
+        ConnectivityFinder cf = new ConnectivityFinder(graph.getLB());
+        int nbSols = 0;
+        while (m.getSolver().solve()) {
+            cf.findAllCC();
+            assertEquals(nbCC.getValue(), cf.getNBCC());
+            assertEquals(sizeMaxCC.getValue(), cf.getSizeMaxCC());
+            nbSols++;
+        }
+        // number of graphs over any subset of 5 nodes
+        assertEquals(nbSols, 1450);
+    }
+
     private static void add_neighbors(UndirectedGraph g, int x, int... list) {
         for (int y : list)
             g.addEdge(x, y);
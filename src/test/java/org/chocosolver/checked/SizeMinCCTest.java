@@ -5,14 +5,20 @@ import org.chocosolver.graphsolver.GraphModel;
 import org.chocosolver.graphsolver.util.ConnectivityFinder;
 import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
 import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.objects.graphs.UndirectedGraph;
 import org.chocosolver.util.objects.setDataStructures.SetType;
 import org.testng.Assert;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.IntStream;
@@ -325,4 +331,47 @@ public class SizeMinCCTest {
 			}
 		}
 	}
+
+	@Test
+	public void testAllocationFree() throws ContradictionException {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean)
+				|| !((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+			throw new SkipException("Thread allocated memory measurement is not supported");
+		}
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+		int N = 30;
+		GraphModel model = new GraphModel();
+		UndirectedGraph GLB = new UndirectedGraph(model, N, SetType.BIPARTITESET, false);
+		UndirectedGraph GUB = new UndirectedGraph(model, N, SetType.BIPARTITESET, false);
+		for (int i = 0; i < N; i++) {
+			GUB.addNode(i);
+			for (int j = i + 1; j < N; j++) {
+				GUB.addEdge(i, j);
+			}
+		}
+		for (int i : new int[] {0, 1, 2, 5, 6}) {
+			GLB.addNode(i);
+		}
+		GLB.addEdge(0, 1);
+		UndirectedGraphVar g = model.graphVar("g", GLB, GUB);
+		IntVar sizeMinCC = model.intVar(3, 10);
+		Constraint c = model.sizeMinConnectedComponents(g, sizeMinCC);
+		c.post();
+		model.getSolver().propagate();
+		Propagator prop = c.getPropagator(0);
+		int mask = PropagatorEventType.FULL_PROPAGATION.getMask();
+		// warm up, so that buffers reach their final capacity
+		for (int k = 0; k < 1000; k++) {
+			prop.propagate(mask);
+		}
+		long tid = Thread.currentThread().getId();
+		long before = threadBean.getThreadAllocatedBytes(tid);
+		for (int k = 0; k < 1000; k++) {
+			prop.propagate(mask);
+		}
+		long allocated = threadBean.getThreadAllocatedBytes(tid) - before;
+		Assert.assertTrue(allocated < 1000, allocated + " bytes allocated by 1000 propagations");
+	}
 }
@@ -0,0 +1,144 @@
+package org.chocosolver.checked;
+
+import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.cstrs.basic.PropTransitivity;
+import org.chocosolver.graphsolver.variables.DirectedGraphVar;
+import org.chocosolver.graphsolver.variables.GraphVar;
+import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.util.objects.graphs.DirectedGraph;
+import org.chocosolver.util.objects.graphs.UndirectedGraph;
+import org.chocosolver.util.objects.setDataStructures.SetType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+public class TransitivityTest {
+
+    @Test(groups = "1s")
+    public void testSolutionCount() {
+        int n = 4;
+        // irreflexive relations such that (a,b) + (b,c) implies (a,c) for a != c
+        long expected = 0;
+        for (int r = 0; r < 1 << n * n; r++) {
+            boolean ok = true;
+            for (int a = 0; a < n && ok; a++) {
+                ok = (r & 1 << a * n + a) == 0;
+                for (int b = 0; b < n && ok; b++) {
+                    for (int c = 0; c < n && ok; c++) {
+                        ok = a == c || (r & 1 << a * n + b) == 0 || (r & 1 << b * n + c) == 0 || (r & 1 << a * n + c) != 0;
+                    }
+                }
+            }
+            if (ok) {
+                expected++;
+            }
+        }
+        for (boolean wordParallel : new boolean[]{false, true}) {
+            Assert.assertEquals(countSolutions(n, true, wordParallel), expected);
+            // partitions of 5 nodes into cliques (Bell number)
+            Assert.assertEquals(countSolutions(5, false, wordParallel), 52);
+        }
+    }
+
+    @Test(groups = "1s")
+    public void testWordParallelFixPoint() throws ContradictionException {
+        // both filtering modes reach the same fix point along random branches
+        int n = 70;
+        for (boolean directed : new boolean[]{true, false}) {
+            Random rd = new Random(0);
+            GraphVar[] g = new GraphVar[2];
+            IEnvironment[] env = new IEnvironment[2];
+            Solver[] solver = new Solver[2];
+            for (int m = 0; m < 2; m++) {
+                GraphModel model = new GraphModel();
+                g[m] = completeGraph(model, n, directed);
+                new Constraint("transitivity", new PropTransitivity<>(g[m], m == 1)).post();
+                env[m] = model.getEnvironment();
+                solver[m] = model.getSolver();
+                env[m].worldPush();
+                solver[m].propagate();
+            }
+            for (int k = 0; k < 200; k++) {
+                if (env[0].getWorldIndex() > 1 && rd.nextInt(3) == 0) {
+                    env[0].worldPop();
+                    env[1].worldPop();
+                    continue;
+                }
+                int i = rd.nextInt(n);
+                int j = rd.nextInt(n);
+                if (i == j || !g[0].getPotSuccOrNeighOf(i).contains(j) || g[0].getMandSuccOrNeighOf(i).contains(j)) {
+                    continue;
+                }
+                boolean enforce = rd.nextInt(3) == 0;
+                boolean[] failed = new boolean[2];
+                for (int m = 0; m < 2; m++) {
+                    env[m].worldPush();
+                    try {
+                        if (enforce) {
+                            g[m].enforceArc(i, j, Cause.Null);
+                        } else {
+                            g[m].removeArc(i, j, Cause.Null);
+                        }
+                        solver[m].propagate();
+                    } catch (ContradictionException e) {
+                        solver[m].getEngine().flush();
+                        failed[m] = true;
+                    }
+                }
+                Assert.assertEquals(failed[1], failed[0]);
+                if (failed[0]) {
+                    env[0].worldPop();
+                    env[1].worldPop();
+                    continue;
+                }
+                for (int x = 0; x < n; x++) {
+                    Assert.assertEquals(g[1].getMandSuccOrNeighOf(x).size(), g[0].getMandSuccOrNeighOf(x).size());
+                    Assert.assertEquals(g[1].getPotSuccOrNeighOf(x).size(), g[0].getPotSuccOrNeighOf(x).size());
+                    for (int y : g[0].getPotSuccOrNeighOf(x)) {
+                        Assert.assertTrue(g[1].getPotSuccOrNeighOf(x).contains(y));
+                        Assert.assertEquals(g[1].getMandSuccOrNeighOf(x).contains(y), g[0].getMandSuccOrNeighOf(x).contains(y));
+                    }
+                }
+            }
+        }
+    }
+
+    private static long countSolutions(int n, boolean directed, boolean wordParallel) {
+        GraphModel model = new GraphModel();
+        GraphVar g = completeGraph(model, n, directed);
+        new Constraint("transitivity", new PropTransitivity<>(g, wordParallel)).post();
+        Solver solver = model.getSolver();
+        while (solver.solve()) ;
+        return solver.getSolutionCount();
+    }
+
+    private static GraphVar completeGraph(GraphModel model, int n, boolean directed) {
+        if (directed) {
+            DirectedGraph GLB = new DirectedGraph(model, n, SetType.LINKED_LIST, true);
+            DirectedGraph GUB = new DirectedGraph(model, n, SetType.BITSET, true);
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    if (i != j) {
+                        GUB.addArc(i, j);
+                    }
+                }
+            }
+            return model.digraphVar("g", GLB, GUB);
+        } else {
+            UndirectedGraph GLB = new UndirectedGraph(model, n, SetType.LINKED_LIST, true);
+            UndirectedGraph GUB = new UndirectedGraph(model, n, SetType.BITSET, true);
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    GUB.addEdge(i, j);
+                }
+            }
+            return model.graphVar("g", GLB, GUB);
+        }
+    }
+}
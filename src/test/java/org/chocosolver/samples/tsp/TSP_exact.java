@@ -28,10 +28,13 @@
 package org.chocosolver.samples.tsp;
 
 import org.chocosolver.graphsolver.GraphModel;
+import org.chocosolver.graphsolver.cstrs.cost.tsp.lagrangian.PropLagrOneTree;
 import org.chocosolver.graphsolver.search.strategy.GraphSearch;
 import org.chocosolver.graphsolver.variables.UndirectedGraphVar;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.objects.graphs.UndirectedGraph;
 import org.chocosolver.util.objects.setDataStructures.SetType;
@@ -87,7 +90,14 @@ public class TSP_exact {
 		UndirectedGraphVar graph = model.graphVar("G", GLB, GUB);
 
         // constraints (TSP basic model + lagrangian relaxation)
-		model.tsp(graph, totalCost, costMatrix, 1).post();
+		Constraint tsp = model.tsp(graph, totalCost, costMatrix, 1);
+		tsp.post();
+		PropLagrOneTree hk = null;
+		for (Propagator p : tsp.getPropagators()) {
+			if (p instanceof PropLagrOneTree) {
+				hk = (PropLagrOneTree) p;
+			}
+		}
 
 
 		Solver solver = model.getSolver();
@@ -108,5 +118,7 @@ public class TSP_exact {
 				System.out.println("no solution found");
 			}
 		}
+		System.out.println("Held-Karp : " + hk.getNbIterations() + " iterations (" + hk.getNbRelaxations() + " relaxations, "
+				+ hk.getNbSprints() + " sprints, " + hk.getNbEarlyStops() + " early stops) over " + solver.getNodeCount() + " nodes");
     }
 }